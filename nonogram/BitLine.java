@@ -0,0 +1,373 @@
+package nonogram;
+
+import java.util.Arrays;
+
+/**
+ * The cell states of a single row or column packed into two bit masks, one for FULL
+ * cells and one for EMPTY cells (a cell in neither is UNKNOWN).
+ *
+ * Bit i of word i/64 holds cell i, so a line of up to 64 cells is a single long per
+ * mask and longer lines use one long per 64 cells.  Range queries, comparisons and
+ * copies work a word at a time.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class BitLine {
+	/**
+	 * Constructor, all cells UNKNOWN
+	 *
+	 * @param length the number of cells in the line
+	 */
+	public BitLine(int length) {
+		if (length < 1)
+			throw new IllegalArgumentException("length must be at least 1");
+		this.length = length;
+		this.full   = new long[(length + 63) >>> 6];
+		this.empty  = new long[full.length];
+	}
+
+	/**
+	 * Copy constructor
+	 *
+	 * @param other the line to copy
+	 */
+	public BitLine(BitLine other) {
+		this.length = other.length;
+		this.full   = Arrays.copyOf(other.full, other.full.length);
+		this.empty  = Arrays.copyOf(other.empty, other.empty.length);
+	}
+
+	/**
+	 * Retrieve the number of cells in the line
+	 *
+	 * @return the length
+	 */
+	public int length() {
+		return length;
+	}
+
+	/**
+	 * Retrieve the state of a cell
+	 *
+	 * @param i the cell index
+	 * @return the cell state (FULL, EMPTY or UNKNOWN)
+	 */
+	public int get(int i) {
+		long bit = 1L << i;
+		if ((full[i >>> 6] & bit) != 0)
+			return Nonogram.FULL;
+		else if ((empty[i >>> 6] & bit) != 0)
+			return Nonogram.EMPTY;
+		else
+			return Nonogram.UNKNOWN;
+	}
+
+	/**
+	 * Is a cell FULL?
+	 *
+	 * @param i the cell index
+	 * @return true if the cell is FULL, otherwise false
+	 */
+	public boolean isFull(int i) {
+		return (full[i >>> 6] & (1L << i)) != 0;
+	}
+
+	/**
+	 * Is a cell EMPTY?
+	 *
+	 * @param i the cell index
+	 * @return true if the cell is EMPTY, otherwise false
+	 */
+	public boolean isEmpty(int i) {
+		return (empty[i >>> 6] & (1L << i)) != 0;
+	}
+
+	/**
+	 * Set the state of a cell
+	 *
+	 * @param i the cell index
+	 * @param state the new state (FULL, EMPTY or UNKNOWN)
+	 */
+	public void set(int i, int state) {
+		int  w   = i >>> 6;
+		long bit = 1L << i;
+		full[w]  &= ~bit;
+		empty[w] &= ~bit;
+		if (state == Nonogram.FULL)
+			full[w] |= bit;
+		else if (state == Nonogram.EMPTY)
+			empty[w] |= bit;
+	}
+
+	/**
+	 * Set the state of a range of cells
+	 *
+	 * @param from the first cell of the range
+	 * @param to one past the last cell of the range
+	 * @param state the new state (FULL, EMPTY or UNKNOWN)
+	 */
+	public void setRange(int from, int to, int state) {
+		if (from >= to)
+			return;
+		int first = from >>> 6;
+		int last  = (to - 1) >>> 6;
+		for (int w=first; w<=last; w++) {
+			long bits = -1L;
+			if (w == first)
+				bits &= -1L << from;
+			if (w == last)
+				bits &= -1L >>> -to;
+			full[w]  &= ~bits;
+			empty[w] &= ~bits;
+			if (state == Nonogram.FULL)
+				full[w] |= bits;
+			else if (state == Nonogram.EMPTY)
+				empty[w] |= bits;
+		}
+	}
+
+	/**
+	 * Set every cell to UNKNOWN
+	 */
+	public void clear() {
+		Arrays.fill(full, 0L);
+		Arrays.fill(empty, 0L);
+	}
+
+	/**
+	 * Copy the cell states of another line of the same length into this one
+	 *
+	 * @param other the line to copy
+	 */
+	public void copyFrom(BitLine other) {
+		if (other.length != length)
+			throw new IllegalArgumentException("lengths differ (" + other.length + "!=" + length + ")");
+		System.arraycopy(other.full, 0, full, 0, full.length);
+		System.arraycopy(other.empty, 0, empty, 0, empty.length);
+	}
+
+	/**
+	 * Is any cell in a range FULL?
+	 *
+	 * @param from the first cell of the range
+	 * @param to one past the last cell of the range
+	 * @return true if a cell in [from, to) is FULL, otherwise false
+	 */
+	public boolean hasFull(int from, int to) {
+		return anySet(full, from, to);
+	}
+
+	/**
+	 * Is any cell in a range EMPTY?
+	 *
+	 * @param from the first cell of the range
+	 * @param to one past the last cell of the range
+	 * @return true if a cell in [from, to) is EMPTY, otherwise false
+	 */
+	public boolean hasEmpty(int from, int to) {
+		return anySet(empty, from, to);
+	}
+
+	/**
+	 * Find the first FULL cell at or after a given cell
+	 *
+	 * @param from the cell to start from
+	 * @return the index of the FULL cell, or -1 if there is none
+	 */
+	public int nextFull(int from) {
+		return nextSet(full, from);
+	}
+
+	/**
+	 * Find the first cell that is not FULL at or after a given cell
+	 *
+	 * @param from the cell to start from
+	 * @return the index of the cell, or length if there is none
+	 */
+	public int nextNotFull(int from) {
+		if (from >= length)
+			return length;
+		int  w    = from >>> 6;
+		long word = ~full[w] & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				int i = (w << 6) + Long.numberOfTrailingZeros(word);
+				return (i < length) ? i : length;
+			}
+			if (++w == full.length)
+				return length;
+			word = ~full[w];
+		}
+	}
+
+	/**
+	 * Find the first UNKNOWN cell at or after a given cell
+	 *
+	 * @param from the cell to start from
+	 * @return the index of the UNKNOWN cell, or -1 if there is none
+	 */
+	public int nextUnknown(int from) {
+		if (from >= length)
+			return -1;
+		int  w    = from >>> 6;
+		long word = ~(full[w] | empty[w]) & (-1L << from);
+		while (true) {
+			if (word != 0) {
+				int i = (w << 6) + Long.numberOfTrailingZeros(word);
+				return (i < length) ? i : -1;
+			}
+			if (++w == full.length)
+				return -1;
+			word = ~(full[w] | empty[w]);
+		}
+	}
+
+	/**
+	 * Count the UNKNOWN cells
+	 *
+	 * @return the number of UNKNOWN cells
+	 */
+	public int countUnknown() {
+		int known = 0;
+		for (int w=0; w<full.length; w++)
+			known += Long.bitCount(full[w] | empty[w]);
+		return length - known;
+	}
+
+	/**
+	 * Retrieve the FULL mask word holding cells 64w to 64w+63
+	 *
+	 * @param w the word index
+	 * @return the FULL mask word
+	 */
+	public long fullWord(int w) {
+		return full[w];
+	}
+
+	/**
+	 * Retrieve the EMPTY mask word holding cells 64w to 64w+63
+	 *
+	 * @param w the word index
+	 * @return the EMPTY mask word
+	 */
+	public long emptyWord(int w) {
+		return empty[w];
+	}
+
+	/**
+	 * Retrieve the number of words in each mask
+	 *
+	 * @return the number of words
+	 */
+	public int words() {
+		return full.length;
+	}
+
+	/**
+	 * Copy both masks into an array, the FULL words followed by the EMPTY words
+	 *
+	 * @param dst the array to write (at least 2 x words() long)
+	 */
+	void writeWords(long[] dst) {
+		System.arraycopy(full, 0, dst, 0, full.length);
+		System.arraycopy(empty, 0, dst, full.length, empty.length);
+	}
+
+	/**
+	 * Set both masks from an array written by writeWords
+	 *
+	 * @param src the FULL words followed by the EMPTY words
+	 */
+	void readWords(long[] src) {
+		System.arraycopy(src, 0, full, 0, full.length);
+		System.arraycopy(src, full.length, empty, 0, empty.length);
+	}
+
+	/**
+	 * Do two lines hold the same cell states?
+	 *
+	 * @param o the other object
+	 * @return true if o is a BitLine with the same length and cell states, otherwise false
+	 */
+	@Override
+	public boolean equals(Object o) {
+		if (!(o instanceof BitLine))
+			return false;
+		BitLine other = (BitLine) o;
+		return (length == other.length) && Arrays.equals(full, other.full) && Arrays.equals(empty, other.empty);
+	}
+
+	/**
+	 * Hash code consistent with equals
+	 *
+	 * @return the hash code
+	 */
+	@Override
+	public int hashCode() {
+		return 31 * (31 * length + Arrays.hashCode(full)) + Arrays.hashCode(empty);
+	}
+
+	/**
+	 * String representation of the line, consisting of the sequence of cell states
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		char[] chars = new char[length];
+		for (int i=0; i<length; i++)
+			chars[i] = (char) ('0' + get(i));
+		return new String(chars);
+	}
+
+	/**
+	 * Is any bit in a range of a mask set?
+	 *
+	 * @param mask the mask words
+	 * @param from the first bit of the range
+	 * @param to one past the last bit of the range
+	 * @return true if a bit in [from, to) is set, otherwise false
+	 */
+	private static boolean anySet(long[] mask, int from, int to) {
+		if (from >= to)
+			return false;
+		int  first     = from >>> 6;
+		int  last      = (to - 1) >>> 6;
+		long firstMask = -1L << from;
+		long lastMask  = -1L >>> -to;
+		if (first == last)
+			return (mask[first] & firstMask & lastMask) != 0;
+		if ((mask[first] & firstMask) != 0)
+			return true;
+		for (int w=first+1; w<last; w++)
+			if (mask[w] != 0)
+				return true;
+		return (mask[last] & lastMask) != 0;
+	}
+
+	/**
+	 * Find the first set bit of a mask at or after a given bit
+	 *
+	 * @param mask the mask words
+	 * @param from the bit to start from
+	 * @return the index of the set bit, or -1 if there is none
+	 */
+	private int nextSet(long[] mask, int from) {
+		if (from >= length)
+			return -1;
+		int  w    = from >>> 6;
+		long word = mask[w] & (-1L << from);
+		while (true) {
+			if (word != 0)
+				return (w << 6) + Long.numberOfTrailingZeros(word);
+			if (++w == mask.length)
+				return -1;
+			word = mask[w];
+		}
+	}
+
+	private int    length = 0;
+	private long[] full   = null; // bit set if the cell is FULL
+	private long[] empty  = null; // bit set if the cell is EMPTY
+}
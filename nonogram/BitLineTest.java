@@ -0,0 +1,101 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test class BitLineTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class BitLineTest
+{
+    BitLine line = null;
+
+    /**
+     * Default constructor for test class BitLineTest
+     */
+    public BitLineTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        // long enough to need three words per mask
+        line = new BitLine(150);
+    }
+
+    @Test
+    public void testInitiallyUnknown() {
+        assertEquals(150, line.length());
+        assertEquals(3, line.words());
+        assertEquals(150, line.countUnknown());
+        assertEquals(Nonogram.UNKNOWN, line.get(149));
+    }
+
+    @Test
+    public void testSetAndGet() {
+        line.set(0, Nonogram.FULL);
+        line.set(64, Nonogram.EMPTY);
+        line.set(149, Nonogram.FULL);
+        assertEquals(Nonogram.FULL, line.get(0));
+        assertEquals(Nonogram.EMPTY, line.get(64));
+        assertEquals(Nonogram.FULL, line.get(149));
+        line.set(0, Nonogram.UNKNOWN);
+        assertEquals(Nonogram.UNKNOWN, line.get(0));
+        assertEquals(148, line.countUnknown());
+    }
+
+    @Test
+    public void testRangesAcrossWords() {
+        line.setRange(60, 130, Nonogram.FULL);
+        assertFalse(line.hasFull(0, 60));
+        assertTrue(line.hasFull(59, 61));
+        assertTrue(line.hasFull(129, 150));
+        assertFalse(line.hasFull(130, 150));
+        assertFalse(line.hasEmpty(0, 150));
+        assertEquals(60, line.nextFull(0));
+        assertEquals(130, line.nextNotFull(60));
+        assertEquals(130, line.nextUnknown(60));
+    }
+
+    @Test
+    public void testCopyAndEquals() {
+        line.set(100, Nonogram.FULL);
+        BitLine copy = new BitLine(line);
+        assertEquals(line, copy);
+        copy.set(100, Nonogram.EMPTY);
+        assertNotEquals(line, copy);
+        copy.copyFrom(line);
+        assertEquals(line, copy);
+    }
+
+    @Test
+    public void testLineSolverOnLongLine() {
+        // a block of 100 in 150 cells must cover cells 50 to 99
+        BitLine result = new BitLine(150);
+        assertTrue(new LineSolver().solve(new int[] {100}, line, result));
+        assertEquals(Nonogram.UNKNOWN, result.get(49));
+        assertEquals(50, result.nextFull(0));
+        assertEquals(100, result.nextNotFull(50));
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
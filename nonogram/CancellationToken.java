@@ -0,0 +1,42 @@
+package nonogram;
+
+/**
+ * A flag that asks a running solver to stop as soon as it can.
+ *
+ * The token is cancelled from any thread (for example the Swing event dispatch
+ * thread, or a batch job's watchdog) and polled by the solver between line solves,
+ * so a solver stops promptly and returns the best partial grid it has.  A token
+ * cannot be reset; use a new one for each piece of work.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class CancellationToken {
+	/**
+	 * Ask the work using this token to stop
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	/**
+	 * Has the token been cancelled?
+	 *
+	 * @return true if cancel has been called, otherwise false
+	 */
+	public boolean isCancelled() {
+		return cancelled;
+	}
+
+	/**
+	 * String representation of the token (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		return cancelled ? "CancellationToken(cancelled)" : "CancellationToken()";
+	}
+
+	private volatile boolean cancelled = false;
+}
@@ -3,6 +3,11 @@ package nonogram;
 /**
  * A cell in a Nonogram puzzle.
  * 
+ * The puzzle does not keep Cell objects (its grid is packed into bit masks); a Cell is
+ * a value holding one square's position and state, such as those passed to listeners
+ * when a cell changes.  Changing a Cell's state does not change the puzzle - use
+ * Nonogram.setState for that.
+ * 
  * @author Dr Mark C. Sinclair
  * @version September 2022
  */
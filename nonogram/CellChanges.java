@@ -0,0 +1,112 @@
+package nonogram;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The cells changed together by one update of a Nonogram puzzle (a single cell for
+ * setState, or many for Nonogram.applyAll and Nonogram.clear), passed to listeners as
+ * a single event instead of one per square.
+ *
+ * Each changed cell is listed once, with its state at the end of the update, in the
+ * order it was first changed.  The rows and columns holding those cells are listed in
+ * increasing order.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class CellChanges {
+	/**
+	 * Constructor
+	 *
+	 * @param cells the changed cells, with their new states, each listed once
+	 */
+	CellChanges(List<Cell> cells) {
+		int[] rowList = new int[cells.size()];
+		int[] colList = new int[cells.size()];
+		for (int i=0; i<rowList.length; i++) {
+			rowList[i] = cells.get(i).getRow();
+			colList[i] = cells.get(i).getCol();
+		}
+		this.cells = Collections.unmodifiableList(cells);
+		this.rows  = distinct(rowList);
+		this.cols  = distinct(colList);
+	}
+
+	/**
+	 * Constructor, for a single changed cell
+	 *
+	 * @param cell the changed cell, with its new state
+	 */
+	CellChanges(Cell cell) {
+		this.cells = Collections.singletonList(cell);
+		this.rows  = new int[] {cell.getRow()};
+		this.cols  = new int[] {cell.getCol()};
+	}
+
+	/**
+	 * Retrieve the changed cells
+	 *
+	 * @return the cells, with their new states (unmodifiable)
+	 */
+	public List<Cell> getCells() {
+		return cells;
+	}
+
+	/**
+	 * Retrieve the rows holding a changed cell
+	 *
+	 * @return the row numbers, in increasing order
+	 */
+	public int[] getRows() {
+		return rows.clone();
+	}
+
+	/**
+	 * Retrieve the columns holding a changed cell
+	 *
+	 * @return the column numbers, in increasing order
+	 */
+	public int[] getCols() {
+		return cols.clone();
+	}
+
+	/**
+	 * Retrieve the number of changed cells
+	 *
+	 * @return the number of cells
+	 */
+	public int size() {
+		return cells.size();
+	}
+
+	/**
+	 * String representation of the changes (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		return "CellChanges(" + cells.size() + " cells, " + rows.length + " rows, " + cols.length + " cols)";
+	}
+
+	/**
+	 * Sort an array and drop repeated values
+	 *
+	 * @param values the values (sorted in place)
+	 * @return the distinct values, in increasing order
+	 */
+	private static int[] distinct(int[] values) {
+		Arrays.sort(values);
+		int n = 0;
+		for (int i=0; i<values.length; i++)
+			if ((n == 0) || (values[i] != values[n-1]))
+				values[n++] = values[i];
+		return Arrays.copyOf(values, n);
+	}
+
+	private List<Cell> cells = null;
+	private int[]      rows  = null;
+	private int[]      cols  = null;
+}
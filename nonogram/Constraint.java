@@ -1,33 +1,42 @@
 package nonogram;
 
-import java.util.Arrays;
+import java.util.ArrayList;
 
 /**
  * A cell constraint (either row or column) in a Nonogram puzzle.
  * 
+ * The constraint holds no cells of its own: it is a view over the packed row or
+ * column line of its puzzle (looked up on each use, as the puzzle replaces a line it
+ * shares with a snapshot), so it always sees the current cell states.  It takes no
+ * locks itself; to read a line while another thread plays, go through the puzzle
+ * (e.g. Nonogram.getRowStates).  The cached sequence is tagged with the line's
+ * version, so a sequence read while the line was being written is never served once
+ * the write has finished.
+ * 
  * @author Dr Mark C. Sinclair
  * @version September 2022
  */
 public class Constraint {
 	/**
-	 * Constructor
+	 * Constructor, a view over one row or column of a puzzle's grid
 	 * 
 	 * @param pat the pattern of contiguous full cells that the cells should match
-	 * @param cells the cells to which the pattern applies
+	 * @param ng the puzzle whose cells the pattern applies to
+	 * @param isRow true for a row constraint, false for a column constraint
+	 * @param index the row or column number
 	 */
-	public Constraint(NGPattern pat, Cell[] cells) {
+	Constraint(NGPattern pat, Nonogram ng, boolean isRow, int index) {
 		if (pat == null)
 			throw new IllegalArgumentException("pat cannot be null");
-		if (cells == null)
-			throw new IllegalArgumentException("cells cannot be null");
-		if (cells.length < Nonogram.MIN_SIZE)
-			throw new IllegalArgumentException("cells cannot be shorter than " + Nonogram.MIN_SIZE);
-		if (!Cell.checkSameNonogram(cells))
-			throw new IllegalArgumentException("cells must all be from the same Nonogram");
-		if (pat.getMaxLen() != cells.length)
-			throw new IllegalArgumentException("pat maxLen ("+pat.getMaxLen()+") must match length of cells array ("+cells.length+")");
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		BitLine line = isRow ? ng.getRowLine(index) : ng.getColLine(index);
+		if (pat.getMaxLen() != line.length())
+			throw new IllegalArgumentException("pat maxLen ("+pat.getMaxLen()+") must match length of line ("+line.length()+")");
 		this.pat   = pat;
-		this.cells = Arrays.copyOf(cells, cells.length);
+		this.ng    = ng;
+		this.isRow = isRow;
+		this.index = index;
 	}
 	
 	/**
@@ -36,7 +45,7 @@ public class Constraint {
 	 * @return true if valid, otherwise false
 	 */
 	public boolean isValid() {
-		return pat.isValid(getSequence());
+		return pat.isValid(getLine());
 	}
 	
 	/**
@@ -45,7 +54,7 @@ public class Constraint {
 	 * @return true if the cells solve the pattern, otherwise false
 	 */
 	public boolean isSolved() {
-		return pat.isSolved(getSequence());
+		return pat.isSolved(getLine());
 	}
 	
 	/**
@@ -90,14 +99,90 @@ public class Constraint {
 	 * @return the sequence of cell state values
 	 */
 	public String getSequence() {
-		// seq could be cached, but is this worthwhile?
-		StringBuffer sb = new StringBuffer();
-		for (Cell c : cells)
-			sb.append(c);
-		String seq = sb.toString();
-		if (pat.getMaxLen() != seq.length())
-			throw new NonogramException("cells sequence length ("+seq.length()+") must match pat maxLen ("+pat.getMaxLen()+")");
-		return seq;
+		// cached until a cell in the line changes (see cellChanged); the version is read
+		// before the line, so a sequence cached from a line being changed is out of date
+		// by the time the change is finished
+		long     v      = version;
+		Sequence cached = seq;
+		if ((cached != null) && (cached.version == v))
+			return cached.text;
+		String s = getLine().toString();
+		if (pat.getMaxLen() != s.length())
+			throw new NonogramException("cells sequence length ("+s.length()+") must match pat maxLen ("+pat.getMaxLen()+")");
+		seq = new Sequence(v, s);
+		return s;
+	}
+	
+	/**
+	 * Note that a cell in the line has changed (after changing it), so the cached
+	 * sequence is out of date.  Only the puzzle's writer calls this.
+	 */
+	void cellChanged() {
+		version++;
+	}
+	
+	/**
+	 * A cached sequence and the line version it was read at
+	 */
+	private static class Sequence {
+		Sequence(long version, String text) {
+			this.version = version;
+			this.text    = text;
+		}
+		
+		private final long   version;
+		private final String text;
+	}
+	
+	/**
+	 * Retrieve the cell states as an integer array
+	 * 
+	 * @return the cell states (EMPTY, FULL or UNKNOWN)
+	 */
+	public int[] getStates() {
+		BitLine line   = getLine();
+		int[]   states = new int[line.length()];
+		for (int i=0; i<states.length; i++)
+			states[i] = line.get(i);
+		return states;
+	}
+	
+	/**
+	 * Retrieve the pattern of contiguous full cells for this constraint
+	 * 
+	 * @return the pattern
+	 */
+	NGPattern getPattern() {
+		return pat;
+	}
+	
+	/**
+	 * Retrieve the packed cell states this constraint is a view of (shared with the puzzle, not a copy)
+	 * 
+	 * @return the line of cell states
+	 */
+	BitLine getLine() {
+		return isRow ? ng.getRowLine(index) : ng.getColLine(index);
+	}
+	
+	/**
+	 * Line solve the constraint, finding every UNKNOWN cell that is forced FULL or EMPTY
+	 * by the pattern and the current cell states
+	 * 
+	 * @return the forced cell assignments (possibly none), or null if the cells cannot satisfy the pattern
+	 */
+	public ArrayList<Assign> deduce() {
+		BitLine line   = getLine();
+		BitLine result = new BitLine(line.length());
+		if (!new LineSolver().solve(pat.getNums(), line, result))
+			return null;
+		ArrayList<Assign> forced = new ArrayList<>();
+		for (int i=line.nextUnknown(0); i>=0; i=line.nextUnknown(i+1)) {
+			int state = result.get(i);
+			if (state != Nonogram.UNKNOWN)
+				forced.add(isRow ? new Assign(index, i, state) : new Assign(i, index, state));
+		}
+		return forced;
 	}
 	
 	/**
@@ -110,9 +195,10 @@ public class Constraint {
 			throw new IllegalArgumentException("seq cannot be null");
 		if (seq.isEmpty())
 			throw new IllegalArgumentException("seq cannot be empty");
-		if (seq.length() != cells.length)
-			throw new IllegalArgumentException("seq length ("+seq.length()+") must match length of cells array ("+cells.length+")");
-		for (int i=0; i<cells.length; i++) {
+		if (seq.length() != pat.getMaxLen())
+			throw new IllegalArgumentException("seq length ("+seq.length()+") must match length of line ("+pat.getMaxLen()+")");
+		ArrayList<Assign> moves = new ArrayList<>(seq.length());
+		for (int i=0; i<seq.length(); i++) {
 			int state = Nonogram.UNKNOWN;
 			try {
 				state = Integer.parseInt(seq.substring(i, i+1));
@@ -121,8 +207,9 @@ public class Constraint {
 			}
 			if (!Cell.isValidState(state))
 				throw new IllegalArgumentException("invalid state (" + state + ") in s["+ i +"]");
-			cells[i].setState(state);
+			moves.add(isRow ? new Assign(index, i, state) : new Assign(i, index, state));
 		}
+		ng.applyAll(moves);   // under the puzzle's write lock, and notifying its listeners
 	}
 	
   /**
@@ -149,6 +236,10 @@ public class Constraint {
 		return sb.toString();
 	}
 	
-	private NGPattern pat   = null;
-	private Cell[]    cells = null;
+	private NGPattern         pat     = null;
+	private Nonogram          ng      = null;
+	private boolean           isRow   = true;
+	private int               index   = 0;
+	private volatile Sequence seq     = null;   // the cached sequence, or null if none yet
+	private volatile long     version = 0L;     // incremented whenever a cell in the line changes
 }
@@ -0,0 +1,208 @@
+package nonogram;
+
+/**
+ * The difficulty of a Nonogram puzzle, given by the hardest solving technique it needs,
+ * together with the solver effort measured while grading it.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class DifficultyGrade {
+	/**
+	 * Constructor
+	 *
+	 * @param name the name of the puzzle (usually its file name)
+	 * @param numRows the number of rows
+	 * @param numCols the number of columns
+	 * @param technique the hardest technique needed (OVERLAP, LINE, PROBING, SEARCH or UNSOLVED)
+	 * @param unique true if the puzzle is known to have exactly one solution
+	 * @param lineSolves the number of line solves performed
+	 * @param probes the number of probes (trial assignments) made
+	 * @param nodes the number of search nodes explored
+	 * @param maxDepth the maximum search depth reached
+	 * @param elapsedMillis the time taken to grade in milliseconds
+	 */
+	public DifficultyGrade(String name, int numRows, int numCols, int technique, boolean unique,
+			long lineSolves, long probes, long nodes, int maxDepth, long elapsedMillis) {
+		if ((technique < OVERLAP) || (technique > UNSOLVED))
+			throw new IllegalArgumentException("invalid technique (" + technique + ")");
+		this.name          = name;
+		this.numRows       = numRows;
+		this.numCols       = numCols;
+		this.technique     = technique;
+		this.unique        = unique;
+		this.lineSolves    = lineSolves;
+		this.probes        = probes;
+		this.nodes         = nodes;
+		this.maxDepth      = maxDepth;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * Retrieve the name of the puzzle
+	 *
+	 * @return the name
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Retrieve the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	public int getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * Retrieve the number of columns
+	 *
+	 * @return the number of columns
+	 */
+	public int getNumCols() {
+		return numCols;
+	}
+
+	/**
+	 * Retrieve the hardest technique needed to solve the puzzle
+	 *
+	 * @return OVERLAP, LINE, PROBING, SEARCH or UNSOLVED
+	 */
+	public int getTechnique() {
+		return technique;
+	}
+
+	/**
+	 * Is the puzzle known to have exactly one solution?
+	 *
+	 * @return true if the solution is unique, otherwise false
+	 */
+	public boolean isUnique() {
+		return unique;
+	}
+
+	/**
+	 * Retrieve the number of line solves performed
+	 *
+	 * @return the number of line solves
+	 */
+	public long getLineSolves() {
+		return lineSolves;
+	}
+
+	/**
+	 * Retrieve the number of probes made
+	 *
+	 * @return the number of probes
+	 */
+	public long getProbes() {
+		return probes;
+	}
+
+	/**
+	 * Retrieve the number of search nodes explored
+	 *
+	 * @return the number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Retrieve the maximum search depth reached
+	 *
+	 * @return the maximum depth
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Retrieve the time taken to grade
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * Retrieve the player-facing difficulty level, from the technique needed and the size:
+	 * easy needs only overlap on at most EASY_MAX_CELLS cells, medium needs at most line
+	 * solving on at most MEDIUM_MAX_CELLS cells, and anything else is hard.  A puzzle with
+	 * more than one solution has no level, as it cannot be played to its goal.
+	 *
+	 * @return "easy", "medium" or "hard" (or null if the puzzle could not be solved or its solution is not unique)
+	 */
+	public String getLevel() {
+		int size = numRows*numCols;
+		if ((technique == UNSOLVED) || !unique)
+			return null;
+		else if ((technique == OVERLAP) && (size <= EASY_MAX_CELLS))
+			return "easy";
+		else if ((technique <= LINE) && (size <= MEDIUM_MAX_CELLS))
+			return "medium";
+		else
+			return "hard";
+	}
+
+	/**
+	 * Retrieve the name of a technique
+	 *
+	 * @param technique the technique
+	 * @return the name
+	 */
+	public static String techniqueName(int technique) {
+		switch (technique) {
+			case OVERLAP:  return "OVERLAP";
+			case LINE:     return "LINE";
+			case PROBING:  return "PROBING";
+			case SEARCH:   return "SEARCH";
+			case UNSOLVED: return "UNSOLVED";
+			default:       throw new IllegalArgumentException("invalid technique (" + technique + ")");
+		}
+	}
+
+	/**
+	 * String representation of the grade (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer("DifficultyGrade(");
+		sb.append(name);
+		sb.append("," + numRows + "x" + numCols);
+		sb.append("," + techniqueName(technique));
+		sb.append(unique ? ",unique" : "");
+		sb.append(",lineSolves=" + lineSolves);
+		sb.append(",probes=" + probes);
+		sb.append(",nodes=" + nodes);
+		sb.append(",maxDepth=" + maxDepth);
+		sb.append(",ms=" + elapsedMillis);
+		sb.append(")");
+		return sb.toString();
+	}
+
+	public static final int OVERLAP  = 0; // simple overlap of the extreme block placements
+	public static final int LINE     = 1; // full line solving
+	public static final int PROBING  = 2; // one-cell trial assignments with propagation
+	public static final int SEARCH   = 3; // depth-first search
+	public static final int UNSOLVED = 4; // no solution, or the time budget ran out
+
+	public static final int EASY_MAX_CELLS   = 100;
+	public static final int MEDIUM_MAX_CELLS = 300;
+
+	private String  name          = null;
+	private int     numRows       = 0;
+	private int     numCols       = 0;
+	private int     technique     = UNSOLVED;
+	private boolean unique        = false;
+	private long    lineSolves    = 0;
+	private long    probes        = 0;
+	private long    nodes         = 0;
+	private int     maxDepth      = 0;
+	private long    elapsedMillis = 0;
+}
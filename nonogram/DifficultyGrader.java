@@ -0,0 +1,392 @@
+package nonogram;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Grades the difficulty of Nonogram puzzles by the solving techniques they need.
+ *
+ * The techniques are tried from the simplest up, each continuing from where the
+ * previous one got stuck:
+ * <ul>
+ * <li>OVERLAP - each line is packed as far left and as far right as its known cells
+ *     allow, and cells covered by the same block in both placements are FULL while
+ *     cells no block can reach are EMPTY</li>
+ * <li>LINE - full line solving (every placement of every line is considered)</li>
+ * <li>PROBING - each UNKNOWN cell is tried both ways with line solving, and a state
+ *     that leads to a contradiction is ruled out</li>
+ * <li>SEARCH - depth-first search, which also checks that the solution is unique</li>
+ * </ul>
+ * The solver effort is recorded alongside the grade.  Whole catalogues can be graded
+ * in parallel.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class DifficultyGrader {
+	/**
+	 * Grade a puzzle from its clues alone (the current cell states are ignored)
+	 *
+	 * @param ng the puzzle to grade (it is not modified)
+	 * @param name the name to record in the grade
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @return the grade
+	 */
+	public static DifficultyGrade grade(Nonogram ng, String name, long timeBudgetMillis) {
+		return grade(ng, name, timeBudgetMillis, null);
+	}
+
+	/**
+	 * Grade a puzzle from its clues alone (the current cell states are ignored), stopping
+	 * when a time budget runs out or a token is cancelled
+	 *
+	 * @param ng the puzzle to grade (it is not modified)
+	 * @param name the name to record in the grade
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the grade, UNSOLVED (with the effort so far) if grading was stopped
+	 */
+	public static DifficultyGrade grade(Nonogram ng, String name, long timeBudgetMillis, CancellationToken token) {
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		if (timeBudgetMillis < 0)
+			throw new IllegalArgumentException("timeBudgetMillis cannot be negative");
+		long start    = System.nanoTime();
+		long deadline = (timeBudgetMillis > 0) ? start + timeBudgetMillis*1000000L : 0;
+		int  numRows  = ng.getNumRows();
+		int  numCols  = ng.getNumCols();
+
+		long[] overlapSolves = new long[1];
+		int technique;
+		if (solveByOverlap(ng, overlapSolves, deadline, token)) {
+			technique = DifficultyGrade.OVERLAP;
+		} else {
+			technique = DifficultyGrade.LINE;
+		}
+		NonogramSolver solver = new NonogramSolver(ng);
+		solver.clearStates();
+		solver.startLimits(remainingMillis(deadline), token);
+		boolean unique = false;
+		long    probes = 0;
+		if (!solver.propagateAll()) {
+			technique = DifficultyGrade.UNSOLVED;
+		} else if (solver.isComplete()) {
+			unique = true;
+		} else {
+			long[] probeCount = new long[1];
+			int    probed     = probe(solver, probeCount);
+			probes = probeCount[0];
+			if ((probed < 0) || solver.wasStopped()) {
+				technique = DifficultyGrade.UNSOLVED;
+			} else if (solver.isComplete()) {
+				technique = DifficultyGrade.PROBING;
+				unique    = true;
+			} else {
+				SolutionCount count = solver.countSolutions(2, remainingMillis(deadline), token);
+				if (count.isUnknown() || (count.getCount() == 0)) {
+					technique = DifficultyGrade.UNSOLVED;
+				} else {
+					technique = DifficultyGrade.SEARCH;
+					unique    = count.isUnique();
+				}
+			}
+		}
+		solver.endLimits();
+		return new DifficultyGrade(name, numRows, numCols, technique, unique,
+				overlapSolves[0] + solver.getLineSolves(), probes, solver.getNodes(), solver.getMaxDepth(),
+				(System.nanoTime() - start) / 1000000L);
+	}
+
+	/**
+	 * Calculate the time left before a deadline, as a time budget for a solver
+	 *
+	 * @param deadline System.nanoTime() deadline, 0 for none
+	 * @return the milliseconds left (at least 1), or 0 if there is no deadline
+	 */
+	private static long remainingMillis(long deadline) {
+		if (deadline == 0)
+			return 0;
+		return Math.max(1, (deadline - System.nanoTime()) / 1000000L);
+	}
+
+	/**
+	 * Grade a puzzle file
+	 *
+	 * @param file the .non file
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @return the grade, named after the file path
+	 * @throws FileNotFoundException if the file cannot be opened
+	 */
+	public static DifficultyGrade grade(File file, long timeBudgetMillis) throws FileNotFoundException {
+		Scanner scnr = new Scanner(file, "UTF-8");
+		try {
+			return grade(new Nonogram(scnr), file.getPath(), timeBudgetMillis);
+		} finally {
+			scnr.close();
+		}
+	}
+
+	/**
+	 * Grade many puzzle files in parallel.  Files that cannot be read or parsed are left out.
+	 *
+	 * @param files the .non files
+	 * @param threads the number of threads to grade with
+	 * @param timeBudgetMillis the time allowed for each puzzle in milliseconds (0 for no limit)
+	 * @return the grades, in the same order as the files
+	 */
+	public static ArrayList<DifficultyGrade> gradeAll(File[] files, int threads, long timeBudgetMillis) {
+		if (files == null)
+			throw new IllegalArgumentException("files cannot be null");
+		if (threads < 1)
+			throw new IllegalArgumentException("threads must be at least 1");
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			ArrayList<Future<DifficultyGrade>> futures = new ArrayList<>();
+			for (File file : files)
+				futures.add(pool.submit(() -> grade(file, timeBudgetMillis)));
+			ArrayList<DifficultyGrade> grades = new ArrayList<>();
+			for (int i=0; i<files.length; i++) {
+				try {
+					grades.add(futures.get(i).get());
+				} catch (ExecutionException e) {
+					Nonogram.trace("cannot grade " + files[i] + ": " + e.getCause());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			return grades;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * Grade every .non file in a directory in parallel
+	 *
+	 * @param dir the directory
+	 * @param threads the number of threads to grade with
+	 * @param timeBudgetMillis the time allowed for each puzzle in milliseconds (0 for no limit)
+	 * @return the grades, in file name order
+	 */
+	public static ArrayList<DifficultyGrade> gradeDirectory(File dir, int threads, long timeBudgetMillis) {
+		File[] files = dir.listFiles((d, n) -> n.endsWith(".non"));
+		if (files == null)
+			throw new IllegalArgumentException(dir + " is not a directory");
+		Arrays.sort(files);
+		return gradeAll(files, threads, timeBudgetMillis);
+	}
+
+	/**
+	 * Grade the .non files in a directory (default nons) and print the grades as a table
+	 *
+	 * @param args the directory, optionally followed by the time budget per puzzle in milliseconds
+	 */
+	public static void main(String[] args) {
+		File dir    = new File((args.length > 0) ? args[0] : "nons");
+		long budget = (args.length > 1) ? Long.parseLong(args[1]) : 10000;
+		int  cpus   = Runtime.getRuntime().availableProcessors();
+		System.out.println("name,rows,cols,technique,level,unique,lineSolves,probes,nodes,maxDepth,ms");
+		for (DifficultyGrade g : gradeDirectory(dir, cpus, budget))
+			System.out.println(g.getName() + "," + g.getNumRows() + "," + g.getNumCols() + "," +
+					DifficultyGrade.techniqueName(g.getTechnique()) + "," + g.getLevel() + "," + g.isUnique() + "," +
+					g.getLineSolves() + "," + g.getProbes() + "," + g.getNodes() + "," + g.getMaxDepth() + "," +
+					g.getElapsedMillis());
+	}
+
+	/**
+	 * Try to solve a puzzle with the simple overlap technique alone
+	 *
+	 * @param ng the puzzle
+	 * @param solves counts the line passes made (element 0 is incremented)
+	 * @param deadline System.nanoTime() deadline, 0 for none
+	 * @param token the cancellation token (or null for none)
+	 * @return true if overlap alone solves the puzzle, otherwise false (including when stopped)
+	 */
+	private static boolean solveByOverlap(Nonogram ng, long[] solves, long deadline, CancellationToken token) {
+		int numRows = ng.getNumRows();
+		int numCols = ng.getNumCols();
+		int[][] grid = new int[numRows][numCols];
+		for (int[] row : grid)
+			Arrays.fill(row, Nonogram.UNKNOWN);
+		boolean changed = true;
+		while (changed) {
+			if (((token != null) && token.isCancelled()) || ((deadline != 0) && (System.nanoTime() - deadline > 0)))
+				return false;
+			changed = false;
+			for (int row=0; row<numRows; row++) {
+				int[] cells = Arrays.copyOf(grid[row], numCols);
+				solves[0]++;
+				if (!overlap(ng.getRowNums(row), cells))
+					return false;
+				if (!Arrays.equals(cells, grid[row])) {
+					grid[row] = cells;
+					changed = true;
+				}
+			}
+			for (int col=0; col<numCols; col++) {
+				int[] cells = new int[numRows];
+				for (int row=0; row<numRows; row++)
+					cells[row] = grid[row][col];
+				solves[0]++;
+				if (!overlap(ng.getColNums(col), cells))
+					return false;
+				for (int row=0; row<numRows; row++) {
+					if (grid[row][col] != cells[row]) {
+						grid[row][col] = cells[row];
+						changed = true;
+					}
+				}
+			}
+		}
+		for (int[] row : grid)
+			for (int state : row)
+				if (state == Nonogram.UNKNOWN)
+					return false;
+		return true;
+	}
+
+	/**
+	 * Apply the simple overlap technique to one line, updating its cells in place
+	 *
+	 * @param nums the pattern of contiguous full cells
+	 * @param cells the cell states (updated)
+	 * @return true if the line can be placed, false on a contradiction
+	 */
+	private static boolean overlap(int[] nums, int[] cells) {
+		int   n      = cells.length;
+		int[] left   = leftmost(nums, cells);
+		if (left == null)
+			return false;
+		int[] revNums  = new int[nums.length];
+		int[] revCells = new int[n];
+		for (int i=0; i<nums.length; i++)
+			revNums[i] = nums[nums.length - 1 - i];
+		for (int i=0; i<n; i++)
+			revCells[i] = cells[n - 1 - i];
+		int[] revLeft = leftmost(revNums, revCells);
+		if (revLeft == null)
+			return false;
+		int[] right = new int[nums.length];
+		for (int b=0; b<nums.length; b++)
+			right[b] = n - revLeft[nums.length - 1 - b] - nums[b];
+		boolean[] reachable = new boolean[n];
+		for (int b=0; b<nums.length; b++) {
+			// FULL where the leftmost and rightmost placements of the block overlap
+			for (int i=right[b]; i<left[b]+nums[b]; i++)
+				cells[i] = Nonogram.FULL;
+			for (int i=left[b]; i<right[b]+nums[b]; i++)
+				reachable[i] = true;
+		}
+		for (int i=0; i<n; i++)
+			if (!reachable[i])
+				cells[i] = Nonogram.EMPTY;
+		return true;
+	}
+
+	/**
+	 * Find the leftmost placement of the blocks that agrees with the known cells
+	 *
+	 * @param nums the pattern of contiguous full cells
+	 * @param cells the cell states
+	 * @return the start of each block, or null if there is no placement
+	 */
+	private static int[] leftmost(int[] nums, int[] cells) {
+		int[]       starts = new int[nums.length];
+		boolean[][] failed = new boolean[nums.length + 1][cells.length + 2];
+		return place(nums, cells, 0, 0, starts, failed) ? starts : null;
+	}
+
+	/**
+	 * Place blocks b onwards as far left as possible, starting at or after a given cell
+	 *
+	 * @param nums the pattern of contiguous full cells
+	 * @param cells the cell states
+	 * @param b the first block to place
+	 * @param from the first cell the block may start at
+	 * @param starts receives the start of each block
+	 * @param failed memo of (block, from) pairs that have no placement
+	 * @return true if the blocks could be placed, otherwise false
+	 */
+	private static boolean place(int[] nums, int[] cells, int b, int from, int[] starts, boolean[][] failed) {
+		int n = cells.length;
+		if (failed[b][from])
+			return false;
+		if (b == nums.length) {
+			for (int i=from; i<n; i++)
+				if (cells[i] == Nonogram.FULL) {
+					failed[b][from] = true;
+					return false;
+				}
+			return true;
+		}
+		for (int p=from; p+nums[b]<=n; p++) {
+			boolean fits = (p+nums[b] == n) || (cells[p+nums[b]] != Nonogram.FULL);
+			for (int i=p; fits && (i<p+nums[b]); i++)
+				if (cells[i] == Nonogram.EMPTY)
+					fits = false;
+			if (fits && place(nums, cells, b+1, Math.min(n, p+nums[b]+1), starts, failed)) {
+				starts[b] = p;
+				return true;
+			}
+			// the block cannot start beyond a FULL cell it would leave uncovered
+			if (cells[p] == Nonogram.FULL)
+				break;
+		}
+		failed[b][from] = true;
+		return false;
+	}
+
+	/**
+	 * Probe UNKNOWN cells until no probe rules anything out or the puzzle is complete
+	 *
+	 * @param solver the propagated solver (updated), with any deadline and token already set
+	 * @param probes counts the probes made (element 0 is incremented)
+	 * @return the number of cells settled by probing, or -1 on a contradiction (if the solver
+	 *         is stopped, the cells settled so far)
+	 */
+	private static int probe(NonogramSolver solver, long[] probes) {
+		int numCells = solver.getNumRows() * solver.getNumCols();
+		int settled  = 0;
+		boolean progress = true;
+		while (progress && !solver.isComplete()) {
+			progress = false;
+			for (int cell=0; cell<numCells; cell++) {
+				if (solver.getState(cell / solver.getNumCols(), cell % solver.getNumCols()) != Nonogram.UNKNOWN)
+					continue;
+				int mark = solver.getTrailSize();
+				probes[0]++;
+				boolean fullOk = solver.assume(cell, Nonogram.FULL);
+				solver.undo(mark);
+				probes[0]++;
+				boolean emptyOk = solver.assume(cell, Nonogram.EMPTY);
+				if (solver.wasStopped()) {
+					// a probe cut short proves nothing
+					solver.undo(mark);
+					return settled;
+				}
+				if (fullOk && emptyOk) {
+					solver.undo(mark);
+				} else if (fullOk) {
+					solver.undo(mark);
+					solver.assume(cell, Nonogram.FULL);
+					settled++;
+					progress = true;
+				} else if (emptyOk) {
+					settled++; // keep the EMPTY deductions
+					progress = true;
+				} else {
+					return -1;
+				}
+			}
+		}
+		return settled;
+	}
+}
@@ -0,0 +1,74 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class DifficultyGraderTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class DifficultyGraderTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class DifficultyGraderTest
+     */
+    public DifficultyGraderTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testGradeTechniques() {
+        DifficultyGrade grade = DifficultyGrader.grade(tiny, "tiny", 0);
+        assertEquals(DifficultyGrade.OVERLAP, grade.getTechnique());
+        assertEquals("easy", grade.getLevel());
+        assertTrue(grade.isUnique());
+        Nonogram probing = new Nonogram(new Scanner("width 6\nheight 6\nrows\n1\n1,3\n1,2\n1,3\n2\n2,1\ncolumns\n1,1\n1,1,1\n1,1\n5\n3\n1,1\n"));
+        grade = DifficultyGrader.grade(probing, "probing", 0);
+        assertEquals(DifficultyGrade.PROBING, grade.getTechnique());
+        assertTrue(grade.getProbes() > 0);
+        Nonogram search = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        grade = DifficultyGrader.grade(search, "search", 0);
+        assertEquals(DifficultyGrade.SEARCH, grade.getTechnique());
+        assertFalse(grade.isUnique());
+        assertNull(grade.getLevel());   // several solutions, so not playable at any level
+    }
+
+    @Test
+    public void testGradeDirectory() {
+        ArrayList<DifficultyGrade> grades = DifficultyGrader.gradeDirectory(new File("nons"), 2, 10000);
+        assertEquals(3, grades.size());
+        assertEquals("hard", grades.get(0).getLevel());   // 6.non
+        assertEquals("medium", grades.get(1).getLevel()); // test15.non
+        assertEquals("easy", grades.get(2).getLevel());   // tiny.non
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,132 @@
+package nonogram;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import javax.swing.SwingUtilities;
+
+/**
+ * A NonogramListener that passes events on to another listener on the Swing event
+ * dispatch thread, coalesced.
+ *
+ * Events arriving from any thread are merged into one pending batch - a cell changed
+ * twice is listed once with its latest state, and a line or the puzzle reports only its
+ * latest status - and a single flush is queued on the EDT for the whole burst.  A burst
+ * of moves made while the EDT is busy (for example by one click handler, or by a
+ * background thread) therefore reaches the target as one repaint batch.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class EdtCoalescer implements NonogramListener {
+	/**
+	 * Constructor
+	 *
+	 * @param target the listener to deliver the coalesced events to (on the EDT)
+	 */
+	public EdtCoalescer(NonogramListener target) {
+		if (target == null)
+			throw new IllegalArgumentException("target cannot be null");
+		this.target = target;
+	}
+
+	/**
+	 * Add changed cells to the pending batch
+	 *
+	 * @param changes the changed cells
+	 */
+	@Override
+	public synchronized void cellsChanged(CellChanges changes) {
+		for (Cell cell : changes.getCells()) {
+			long key = ((long) cell.getRow() << 32) | cell.getCol();
+			cells.remove(key);   // keep the cells in the order they were last changed
+			cells.put(key, cell);
+		}
+		schedule();
+	}
+
+	/**
+	 * Add a line status to the pending batch
+	 *
+	 * @param isRow true for a row, false for a column
+	 * @param index the row or column number
+	 * @param valid true if the line can still satisfy its pattern
+	 * @param solved true if the line's FULL cells match its pattern exactly
+	 */
+	@Override
+	public synchronized void lineStatusChanged(boolean isRow, int index, boolean valid, boolean solved) {
+		long key = ((isRow ? 0L : 1L) << 32) | index;
+		lines.remove(key);
+		lines.put(key, (valid ? 1 : 0) | (solved ? 2 : 0));
+		schedule();
+	}
+
+	/**
+	 * Add the puzzle solved status to the pending batch
+	 *
+	 * @param solved true if every row and column is solved
+	 */
+	@Override
+	public synchronized void solvedChanged(boolean solved) {
+		this.solved = solved;
+		schedule();
+	}
+
+	/**
+	 * Stop delivering events, dropping any that are pending
+	 */
+	public synchronized void cancel() {
+		cancelled = true;
+		cells.clear();
+		lines.clear();
+		solved = null;
+	}
+
+	/**
+	 * Queue a flush on the EDT, unless one is already queued
+	 */
+	private void schedule() {
+		if (!scheduled && !cancelled) {
+			scheduled = true;
+			SwingUtilities.invokeLater(this::flush);
+		}
+	}
+
+	/**
+	 * Deliver the pending batch to the target (on the EDT): the cells, then the lines,
+	 * then the puzzle solved status
+	 */
+	private void flush() {
+		ArrayList<Cell> cellBatch;
+		ArrayList<Long> lineKeys;
+		ArrayList<Integer> lineFlags;
+		Boolean solvedNow;
+		synchronized (this) {
+			scheduled = false;
+			if (cancelled)
+				return;
+			cellBatch = new ArrayList<>(cells.values());
+			lineKeys  = new ArrayList<>(lines.keySet());
+			lineFlags = new ArrayList<>(lines.values());
+			solvedNow = solved;
+			cells.clear();
+			lines.clear();
+			solved = null;
+		}
+		if (!cellBatch.isEmpty())
+			target.cellsChanged(new CellChanges(cellBatch));
+		for (int i=0; i<lineKeys.size(); i++) {
+			long key   = lineKeys.get(i);
+			int  flags = lineFlags.get(i);
+			target.lineStatusChanged((key >>> 32) == 0, (int) key, (flags & 1) != 0, (flags & 2) != 0);
+		}
+		if (solvedNow != null)
+			target.solvedChanged(solvedNow);
+	}
+
+	private NonogramListener               target    = null;
+	private LinkedHashMap<Long, Cell>      cells     = new LinkedHashMap<>();   // pending cells by position
+	private LinkedHashMap<Long, Integer>   lines     = new LinkedHashMap<>();   // pending line status flags by line
+	private Boolean                        solved    = null;    // pending solved status, or null if none
+	private boolean                        scheduled = false;   // a flush is queued on the EDT
+	private boolean                        cancelled = false;
+}
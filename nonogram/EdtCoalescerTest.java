@@ -0,0 +1,78 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class EdtCoalescerTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class EdtCoalescerTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class EdtCoalescerTest
+     */
+    public EdtCoalescerTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testEdtCoalescerBatchesBurst() throws Exception {
+        ArrayList<CellChanges> batches = new ArrayList<>();
+        ArrayList<Boolean> solved = new ArrayList<>();
+        tiny.addListener(new EdtCoalescer(new NonogramListener() {
+            @Override
+            public void cellsChanged(CellChanges changes) {
+                assertTrue(javax.swing.SwingUtilities.isEventDispatchThread());
+                batches.add(changes);
+            }
+
+            @Override
+            public void solvedChanged(boolean isSolved) {
+                solved.add(isSolved);
+            }
+        }));
+        String goal = tiny.getGoal();
+        // a burst of moves made by one event handler
+        javax.swing.SwingUtilities.invokeAndWait(() -> {
+            tiny.setState(0, 0, Nonogram.EMPTY);
+            for (int i=0; i<goal.length(); i++)
+                tiny.setState(i / 5, i % 5, goal.charAt(i) - '0');
+        });
+        javax.swing.SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(1, batches.size());
+        assertEquals(25, batches.get(0).size());
+        assertEquals(Nonogram.FULL, batches.get(0).getCells().get(24).getState());
+        assertEquals(Arrays.asList(true), solved);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,256 @@
+package nonogram;
+
+/**
+ * An immutable view of the cell states of a Nonogram puzzle at one moment, taken with
+ * Nonogram.snapshot.
+ *
+ * A snapshot shares the puzzle's packed row and column lines rather than copying them:
+ * taking one costs O(1).  The puzzle's next change copies its arrays of line references
+ * (one reference per row and column), and a line itself only when it next changes it
+ * (copy-on-write).  Background work such as hinting, checking for mistakes or saving
+ * can therefore use a consistent grid, on any thread, while the player carries on
+ * making moves.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public final class GridSnapshot {
+	/**
+	 * Constructor (see Nonogram.snapshot)
+	 *
+	 * @param def the puzzle definition
+	 * @param rowLines the puzzle's row lines, which it will no longer change
+	 * @param colLines the puzzle's column lines, which it will no longer change
+	 * @param hash the Zobrist hash of the cell states
+	 */
+	GridSnapshot(PuzzleDefinition def, BitLine[] rowLines, BitLine[] colLines, long hash) {
+		this.def      = def;
+		this.rowLines = rowLines;
+		this.colLines = colLines;
+		this.hash     = hash;
+	}
+
+	/**
+	 * Retrieve the puzzle definition (clues, goal and metadata)
+	 *
+	 * @return the definition
+	 */
+	public PuzzleDefinition getDefinition() {
+		return def;
+	}
+
+	/**
+	 * Retrieve the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	public int getNumRows() {
+		return rowLines.length;
+	}
+
+	/**
+	 * Retrieve the number of columns
+	 *
+	 * @return the number of columns
+	 */
+	public int getNumCols() {
+		return colLines.length;
+	}
+
+	/**
+	 * Retrieve the state of an individual cell
+	 *
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @return the cell state
+	 */
+	public int getState(int row, int col) {
+		checkRow(row);
+		checkCol(col);
+		return rowLines[row].get(col);
+	}
+
+	/**
+	 * Retrieve the cell states of a given row
+	 *
+	 * @param row the desired row
+	 * @return the row cell states
+	 */
+	public int[] getRowStates(int row) {
+		checkRow(row);
+		return states(rowLines[row]);
+	}
+
+	/**
+	 * Retrieve the cell states of a given column
+	 *
+	 * @param col the desired column
+	 * @return the column cell states
+	 */
+	public int[] getColStates(int col) {
+		checkCol(col);
+		return states(colLines[col]);
+	}
+
+	/**
+	 * Retrieve the cell states for a given row as a sequence string
+	 *
+	 * @param row the desired row
+	 * @return the row cell states
+	 */
+	public String getRowSequence(int row) {
+		checkRow(row);
+		return rowLines[row].toString();
+	}
+
+	/**
+	 * Retrieve the cell states for a given column as a sequence string
+	 *
+	 * @param col the desired column
+	 * @return the column cell states
+	 */
+	public String getColSequence(int col) {
+		checkCol(col);
+		return colLines[col].toString();
+	}
+
+	/**
+	 * Is a given row of cells valid against its pattern?
+	 *
+	 * @param row the desired row
+	 * @return true if the row is valid, otherwise false
+	 */
+	public boolean isRowValid(int row) {
+		checkRow(row);
+		return def.getRowPattern(row).isValid(rowLines[row]);
+	}
+
+	/**
+	 * Is a given column of cells valid against its pattern?
+	 *
+	 * @param col the desired column
+	 * @return true if the column is valid, otherwise false
+	 */
+	public boolean isColValid(int col) {
+		checkCol(col);
+		return def.getColPattern(col).isValid(colLines[col]);
+	}
+
+	/**
+	 * Is a given row of cells solved?
+	 *
+	 * @param row the desired row
+	 * @return true if the row is solved, otherwise false
+	 */
+	public boolean isRowSolved(int row) {
+		checkRow(row);
+		return def.getRowPattern(row).isSolved(rowLines[row]);
+	}
+
+	/**
+	 * Is a given column of cells solved?
+	 *
+	 * @param col the desired column
+	 * @return true if the column is solved, otherwise false
+	 */
+	public boolean isColSolved(int col) {
+		checkCol(col);
+		return def.getColPattern(col).isSolved(colLines[col]);
+	}
+
+	/**
+	 * Are all rows and columns, and therefore the whole puzzle, solved?  (Every line is
+	 * checked, as a snapshot keeps no line status.)
+	 *
+	 * @return true if all rows and columns are solved, otherwise false
+	 */
+	public boolean isSolved() {
+		for (int row=0; row<rowLines.length; row++)
+			if (!def.getRowPattern(row).isSolved(rowLines[row]))
+				return false;
+		for (int col=0; col<colLines.length; col++)
+			if (!def.getColPattern(col).isSolved(colLines[col]))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Retrieve the Zobrist hash of the cell states (see Nonogram.getHash)
+	 *
+	 * @return the hash
+	 */
+	public long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Retrieve the packed cell states of a given row (shared, so never to be changed)
+	 *
+	 * @param row the desired row
+	 * @return the row line
+	 */
+	BitLine getRowLine(int row) {
+		return rowLines[row];
+	}
+
+	/**
+	 * Retrieve the packed cell states of a given column (shared, so never to be changed)
+	 *
+	 * @param col the desired column
+	 * @return the column line
+	 */
+	BitLine getColLine(int col) {
+		return colLines[col];
+	}
+
+	/**
+	 * String representation of all the cell states, row by row, in the form taken by
+	 * Nonogram.setStatesByString (e.g. to save a game in progress)
+	 *
+	 * @return the cell states string
+	 */
+	public String toStatesString() {
+		StringBuffer sb = new StringBuffer(rowLines.length * colLines.length);
+		for (BitLine line : rowLines)
+			sb.append(line);
+		return sb.toString();
+	}
+
+	/**
+	 * Check a row number
+	 *
+	 * @param row the row
+	 */
+	private void checkRow(int row) {
+		if ((row < 0)  || (row >= rowLines.length))
+			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + rowLines.length);
+	}
+
+	/**
+	 * Check a column number
+	 *
+	 * @param col the column
+	 */
+	private void checkCol(int col) {
+		if ((col < 0)  || (col >= colLines.length))
+			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + colLines.length);
+	}
+
+	/**
+	 * Unpack the cell states of a line
+	 *
+	 * @param line the line
+	 * @return the cell states
+	 */
+	private static int[] states(BitLine line) {
+		int[] states = new int[line.length()];
+		for (int i=0; i<states.length; i++)
+			states[i] = line.get(i);
+		return states;
+	}
+
+	private final PuzzleDefinition def;
+	private final BitLine[]        rowLines;
+	private final BitLine[]        colLines;
+	private final long             hash;
+}
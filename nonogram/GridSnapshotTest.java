@@ -0,0 +1,83 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class GridSnapshotTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class GridSnapshotTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class GridSnapshotTest
+     */
+    public GridSnapshotTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testSnapshotIsCopyOnWrite() {
+        tiny.setState(0, 0, Nonogram.FULL);
+        GridSnapshot snap = tiny.snapshot();
+        assertSame(tiny.getRowLine(2), snap.getRowLine(2));
+
+        // a move copies only its own row and column; the snapshot keeps the old states
+        tiny.setState(0, 1, Nonogram.EMPTY);
+        assertEquals(Nonogram.UNKNOWN, snap.getState(0, 1));
+        assertEquals(Nonogram.EMPTY, tiny.getState(0, 1));
+        assertNotSame(tiny.getRowLine(0), snap.getRowLine(0));
+        assertNotSame(tiny.getColLine(1), snap.getColLine(1));
+        assertSame(tiny.getRowLine(2), snap.getRowLine(2));
+        assertSame(tiny.getColLine(0), snap.getColLine(0));
+        assertEquals("12222" + "2".repeat(20), snap.toStatesString());
+        assertNotEquals(snap.getHash(), tiny.getHash());
+
+        // the copied lines are the puzzle's own from then on
+        BitLine row = tiny.getRowLine(0);
+        tiny.setState(0, 2, Nonogram.EMPTY);
+        assertSame(row, tiny.getRowLine(0));
+        assertEquals("10022", tiny.getRowSequence(0));
+        assertEquals("12222", snap.getRowSequence(0));
+
+        // background work on a snapshot sees the grid as it was
+        tiny.setStatesByString(tiny.getGoal());
+        GridSnapshot solved = tiny.snapshot();
+        tiny.clear();
+        assertTrue(solved.isSolved());
+        assertFalse(tiny.isSolved());
+        assertEquals(tiny.getGoal(), solved.toStatesString());
+        assertNull(new HintFinder(solved).find(0));
+        assertEquals(SolverResult.SOLVED, new NonogramSolver(solved).solve().getStatus());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,86 @@
+package nonogram;
+
+/**
+ * A hint for the next move in a Nonogram puzzle: a cell assignment that follows from
+ * the current cell states of a single row or column, together with that line.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class Hint {
+	/**
+	 * Constructor
+	 *
+	 * @param move the deducible cell assignment
+	 * @param isRow true if the assignment follows from a row, false if from a column
+	 */
+	public Hint(Assign move, boolean isRow) {
+		if (move == null)
+			throw new IllegalArgumentException("move cannot be null");
+		if (move.getState() == Nonogram.UNKNOWN)
+			throw new IllegalArgumentException("move cannot be to UNKNOWN");
+		this.move  = move;
+		this.isRow = isRow;
+	}
+
+	/**
+	 * Retrieve the deducible cell assignment
+	 *
+	 * @return the move
+	 */
+	public Assign getMove() {
+		return move;
+	}
+
+	/**
+	 * Does the assignment follow from a row (rather than a column)?
+	 *
+	 * @return true for a row, false for a column
+	 */
+	public boolean isRow() {
+		return isRow;
+	}
+
+	/**
+	 * Retrieve the index of the row or column the assignment follows from
+	 *
+	 * @return the row (if isRow) or column index
+	 */
+	public int getLine() {
+		return isRow ? move.getRow() : move.getCol();
+	}
+
+	/**
+	 * Human readable description of the hint, suitable for showing to a player.  Rows and
+	 * columns are numbered from 1, as the player sees them.
+	 *
+	 * @return the description
+	 */
+	public String getMessage() {
+		StringBuffer sb = new StringBuffer(isRow ? "Row " : "Column ");
+		sb.append(getLine() + 1);
+		sb.append(": cell (");
+		sb.append(move.getRow() + 1);
+		sb.append(",");
+		sb.append(move.getCol() + 1);
+		sb.append(") must be ");
+		sb.append((move.getState() == Nonogram.FULL) ? "full" : "empty");
+		return sb.toString();
+	}
+
+	/**
+	 * String representation of the hint (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer("Hint(");
+		sb.append(move);
+		sb.append(isRow ? ",row)" : ",col)");
+		return sb.toString();
+	}
+
+	private Assign  move  = null;
+	private boolean isRow = false;
+}
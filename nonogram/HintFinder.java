@@ -0,0 +1,149 @@
+package nonogram;
+
+import java.util.Arrays;
+
+/**
+ * Finds the cheapest single deducible move in a Nonogram puzzle.
+ *
+ * The finder works on a snapshot of the cell states taken when it is constructed, so
+ * the search may run on a background thread while the puzzle carries on changing (the
+ * GUI takes the snapshot, in O(1), on the event dispatch thread).  Rows and columns
+ * are line solved one at a time, cheapest first (line length times number of blocks),
+ * and the first line that forces an UNKNOWN cell gives the hint.  Lines that cannot satisfy their clue (a
+ * player mistake) are skipped.  The search gives up when the time budget runs out, and
+ * wasStopped tells that apart from there being no hint.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class HintFinder {
+	/**
+	 * Constructor, taking a snapshot of the current cell states of a puzzle
+	 *
+	 * @param ng the puzzle (it is not modified)
+	 */
+	public HintFinder(Nonogram ng) {
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		init(ng.snapshot());
+	}
+
+	/**
+	 * Constructor, from a snapshot of a puzzle
+	 *
+	 * @param snap the snapshot
+	 */
+	public HintFinder(GridSnapshot snap) {
+		if (snap == null)
+			throw new IllegalArgumentException("snap cannot be null");
+		init(snap);
+	}
+
+	/**
+	 * Take the clues and cell states of a snapshot (the finder only reads the lines,
+	 * so it shares them rather than copying)
+	 *
+	 * @param snap the snapshot
+	 */
+	private void init(GridSnapshot snap) {
+		PuzzleDefinition def = snap.getDefinition();
+		numRows = snap.getNumRows();
+		numCols = snap.getNumCols();
+		nums    = new int[numRows + numCols][];
+		lines   = new BitLine[numRows + numCols];
+		for (int row=0; row<numRows; row++) {
+			nums[row]  = def.getRowPattern(row).getNums();
+			lines[row] = snap.getRowLine(row);
+		}
+		for (int col=0; col<numCols; col++) {
+			nums[numRows + col]  = def.getColPattern(col).getNums();
+			lines[numRows + col] = snap.getColLine(col);
+		}
+	}
+
+	/**
+	 * Find the cheapest deducible move
+	 *
+	 * @param budgetMillis the time budget in milliseconds (0 or less for no limit)
+	 * @return the hint, or null if no single line forces a cell or the budget ran out
+	 */
+	public Hint find(long budgetMillis) {
+		return find(budgetMillis, null);
+	}
+
+	/**
+	 * Find the cheapest deducible move, giving up when a time budget runs out or a token is cancelled
+	 *
+	 * @param budgetMillis the time budget in milliseconds (0 or less for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the hint, or null if no single line forces a cell or the search was stopped
+	 */
+	public Hint find(long budgetMillis, CancellationToken token) {
+		long deadline = (budgetMillis > 0) ? System.nanoTime() + budgetMillis * 1000000L : 0;
+		LineSolver solver = new LineSolver();
+		BitLine rowResult = new BitLine(numCols);
+		BitLine colResult = new BitLine(numRows);
+		stopped = false;
+		for (int line : cheapestFirst()) {
+			if (((deadline != 0) && (System.nanoTime() - deadline > 0)) || ((token != null) && token.isCancelled())) {
+				stopped = true;
+				return null;
+			}
+			BitLine cells = lines[line];
+			if (cells.nextUnknown(0) < 0)
+				continue;
+			boolean isRow  = line < numRows;
+			BitLine result = isRow ? rowResult : colResult;
+			if (!solver.solve(nums[line], cells, result))
+				continue;
+			for (int w=0; w<cells.words(); w++) {
+				long newFull  = result.fullWord(w) & ~cells.fullWord(w);
+				long newEmpty = result.emptyWord(w) & ~cells.emptyWord(w);
+				long found    = newFull | newEmpty;
+				if (found == 0)
+					continue;
+				int i     = (w << 6) + Long.numberOfTrailingZeros(found);
+				int state = ((newFull & (found & -found)) != 0) ? Nonogram.FULL : Nonogram.EMPTY;
+				if (isRow)
+					return new Hint(new Assign(line, i, state), true);
+				else
+					return new Hint(new Assign(i, line - numRows, state), false);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Was the last find stopped by its time budget or token before it had tried every line?
+	 *
+	 * @return true if it was stopped (so a null hint does not mean there is none), otherwise false
+	 */
+	public boolean wasStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Order the lines by the cost of line solving them (length times number of blocks)
+	 *
+	 * @return the line indexes (rows are 0..numRows-1, columns follow), cheapest first
+	 */
+	private int[] cheapestFirst() {
+		int    numLines = numRows + numCols;
+		long[] keys     = new long[numLines];
+		for (int line=0; line<numLines; line++) {
+			long cost = (long) lines[line].length() * nums[line].length;
+			keys[line] = (cost << 32) | line;
+		}
+		Arrays.sort(keys);
+		int[] order = new int[numLines];
+		for (int i=0; i<numLines; i++)
+			order[i] = (int) keys[i];
+		return order;
+	}
+
+	private int       numRows = -1;
+	private int       numCols = -1;
+	private int[][]   nums    = null; // clues by line (rows then columns)
+	private BitLine[] lines   = null; // cell states by line (rows then columns)
+	private boolean   stopped = false;
+}
@@ -0,0 +1,94 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class HintFinderTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class HintFinderTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class HintFinderTest
+     */
+    public HintFinderTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testHintAgreesWithGoal() {
+        String goal = tiny.getGoal();
+        // play hints until the puzzle is solved; every hint must match the solution
+        for (Hint hint = tiny.getHint(0); hint != null; hint = tiny.getHint(0)) {
+            Assign move = hint.getMove();
+            assertEquals(Nonogram.UNKNOWN, tiny.getState(move.getRow(), move.getCol()));
+            assertEquals(goal.charAt(move.getRow() * 5 + move.getCol()) - '0', move.getState());
+            tiny.setState(move);
+        }
+        assertTrue(tiny.isSolved());
+    }
+
+    @Test
+    public void testNoHintFromStuckOrWrongLines() {
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        assertNull(ng.getHint(50));
+        // row 0 now has two full cells, so it is skipped; the columns then force cells
+        ng.setState(0, 0, Nonogram.FULL);
+        ng.setState(0, 1, Nonogram.FULL);
+        Hint hint = ng.getHint(50);
+        assertNotNull(hint);
+        assertFalse(hint.isRow());
+    }
+
+    @Test
+    public void testMessageIsOneIndexed() {
+        assertEquals("Row 1: cell (1,4) must be full", new Hint(new Assign(0, 3, Nonogram.FULL), true).getMessage());
+        assertEquals("Column 4: cell (1,4) must be empty", new Hint(new Assign(0, 3, Nonogram.EMPTY), false).getMessage());
+    }
+
+    @Test
+    public void testStoppedIsToldApartFromNoHint() {
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        HintFinder finder = new HintFinder(ng);
+        assertNull(finder.find(0));
+        assertFalse(finder.wasStopped());
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        finder = new HintFinder(tiny);
+        assertNull(finder.find(0, token));
+        assertTrue(finder.wasStopped());
+        assertNotNull(finder.find(0));
+        assertFalse(finder.wasStopped());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,288 @@
+package nonogram;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of line solver results.
+ *
+ * Entries are keyed by the pattern of contiguous full cells (the clue) and the packed
+ * cell states of the line, so identical lines hit the cache whether they are in the
+ * same puzzle or a different one, as long as the same cache is used.  Contradictions
+ * are cached too.  The cache is safe to share between threads.
+ *
+ * The cache is split into segments, each an LRU map with its own lock and an equal
+ * share of the capacity, and a key always goes to the same segment.  Threads sharing
+ * the cache (such as the tasks of a ParallelSolver) then only contend when they touch
+ * the same segment, at the cost of the least recently used entry being chosen per
+ * segment rather than over the whole cache.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class LineSolveCache {
+	/**
+	 * Constructor
+	 *
+	 * @param capacity the maximum number of entries kept
+	 */
+	public LineSolveCache(int capacity) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("capacity must be at least 1");
+		int n = 1;
+		while ((2*n <= MAX_SEGMENTS) && (2*n*MIN_SEGMENT_CAPACITY <= capacity))
+			n *= 2;
+		this.capacity = capacity;
+		this.segments = new Segment[n];
+		for (int i=0; i<n; i++)
+			segments[i] = new Segment(capacity / n + ((i < capacity % n) ? 1 : 0));
+	}
+
+	/**
+	 * Solve a line, using the cached result if the same clue and line have been solved before
+	 *
+	 * @param solver the line solver to use on a miss
+	 * @param nums the pattern of contiguous full cells as an integer array
+	 * @param clueHash the hash of nums (from clueHash)
+	 * @param line the current cell states of the line
+	 * @param result the line to receive the deduced cell states
+	 * @return true if the line can satisfy the pattern, false on a contradiction
+	 */
+	public boolean solve(LineSolver solver, int[] nums, long clueHash, BitLine line, BitLine result) {
+		Key probe = probes.get();
+		probe.set(nums, clueHash, line);
+		Segment segment = segmentFor(probe.hash);
+		synchronized (segment) {
+			long[] cached = segment.get(probe);
+			if (cached != null) {
+				segment.hits++;
+				if (cached == CONTRADICTION)
+					return false;
+				result.readWords(cached);
+				return true;
+			}
+			segment.misses++;
+		}
+		Key     key = new Key(nums, clueHash, line);
+		boolean ok  = solver.solve(nums, line, result);
+		long[]  value;
+		if (ok) {
+			value = new long[2 * result.words()];
+			result.writeWords(value);
+		} else {
+			value = CONTRADICTION;
+		}
+		synchronized (segment) {
+			segment.put(key, value);
+		}
+		return ok;
+	}
+
+	/**
+	 * Find the segment holding a key
+	 *
+	 * @param hash the key's hash
+	 * @return the segment
+	 */
+	private Segment segmentFor(int hash) {
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+
+	/**
+	 * Retrieve the number of lookups answered from the cache
+	 *
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		long hits = 0;
+		for (Segment segment : segments)
+			synchronized (segment) {
+				hits += segment.hits;
+			}
+		return hits;
+	}
+
+	/**
+	 * Retrieve the number of lookups that had to be solved
+	 *
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		long misses = 0;
+		for (Segment segment : segments)
+			synchronized (segment) {
+				misses += segment.misses;
+			}
+		return misses;
+	}
+
+	/**
+	 * Retrieve the number of entries removed to keep within the capacity
+	 *
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		long evictions = 0;
+		for (Segment segment : segments)
+			synchronized (segment) {
+				evictions += segment.evictions;
+			}
+		return evictions;
+	}
+
+	/**
+	 * Retrieve the number of entries currently cached
+	 *
+	 * @return the number of entries
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments)
+			synchronized (segment) {
+				size += segment.size();
+			}
+		return size;
+	}
+
+	/**
+	 * Retrieve the number of segments the cache is split into
+	 *
+	 * @return the number of segments
+	 */
+	public int getSegments() {
+		return segments.length;
+	}
+
+	/**
+	 * Remove every entry and reset the counters
+	 */
+	public void clear() {
+		for (Segment segment : segments)
+			synchronized (segment) {
+				segment.clear();
+				segment.hits      = 0;
+				segment.misses    = 0;
+				segment.evictions = 0;
+			}
+	}
+
+	/**
+	 * String representation of the cache counters (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer("LineSolveCache(");
+		sb.append("size=" + size() + "/" + capacity);
+		sb.append(",segments=" + segments.length);
+		sb.append(",hits=" + getHits());
+		sb.append(",misses=" + getMisses());
+		sb.append(",evictions=" + getEvictions());
+		sb.append(")");
+		return sb.toString();
+	}
+
+	/**
+	 * Calculate a compact hash of a pattern of contiguous full cells
+	 *
+	 * @param nums the pattern as an integer array
+	 * @return the hash
+	 */
+	public static long clueHash(int[] nums) {
+		long h = 0xcbf29ce484222325L; // FNV-1a
+		for (int num : nums) {
+			h ^= num;
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+
+	/**
+	 * A cache key: the clue and the packed line cell states
+	 */
+	private static class Key {
+		/**
+		 * Constructor for a key to be stored (copies the line)
+		 */
+		Key(int[] nums, long clueHash, BitLine line) {
+			this.words = new long[2 * line.words()];
+			set(nums, clueHash, line);
+		}
+
+		/**
+		 * Constructor for the reusable lookup key
+		 */
+		Key() {
+			this.words = new long[0];
+		}
+
+		/**
+		 * Point the key at a clue and line, reusing the words array where possible
+		 */
+		void set(int[] nums, long clueHash, BitLine line) {
+			if (words.length != 2 * line.words())
+				words = new long[2 * line.words()];
+			line.writeWords(words);
+			this.nums   = nums;
+			this.length = line.length();
+			long h = clueHash * 31 + length;
+			for (long word : words)
+				h = h * 0x9e3779b97f4a7c15L + word;
+			this.hash = (int) (h ^ (h >>> 32));
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof Key))
+				return false;
+			Key other = (Key) o;
+			return (hash == other.hash) && (length == other.length) &&
+					Arrays.equals(words, other.words) && Arrays.equals(nums, other.nums);
+		}
+
+		private int[]  nums   = null;
+		private int    length = 0;
+		private long[] words  = null;
+		private int    hash   = 0;
+	}
+
+	/**
+	 * One segment: an LRU map with its own share of the capacity and its own counters,
+	 * guarded by its own monitor
+	 */
+	@SuppressWarnings("serial")
+	private static class Segment extends LinkedHashMap<Key, long[]> {
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, long[]> eldest) {
+			if (size() <= capacity)
+				return false;
+			evictions++;
+			return true;
+		}
+
+		private final int capacity;
+		private long      hits      = 0;
+		private long      misses    = 0;
+		private long      evictions = 0;
+	}
+
+	private static final long[] CONTRADICTION        = new long[0]; // marker value for an unsolvable line
+	private static final int    MAX_SEGMENTS         = 16;
+	private static final int    MIN_SEGMENT_CAPACITY = 64;          // smaller caches are split less
+
+	private final int              capacity;
+	private final Segment[]        segments;
+	private final ThreadLocal<Key> probes = ThreadLocal.withInitial(Key::new); // reused for lookups, one per thread
+}
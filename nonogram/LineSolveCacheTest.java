@@ -0,0 +1,91 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class LineSolveCacheTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class LineSolveCacheTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class LineSolveCacheTest
+     */
+    public LineSolveCacheTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testCachedSolveMatchesUncached() {
+        LineSolveCache cache = new LineSolveCache(100);
+        NonogramSolver solver = new NonogramSolver(tiny);
+        solver.setCache(cache);
+        assertEquals("1001111011110001010100001", solver.solve().toGoalString());
+        assertTrue(cache.getMisses() > 0);
+        // the same puzzle again is answered from the cache
+        long misses = cache.getMisses();
+        solver = new NonogramSolver(tiny);
+        solver.setCache(cache);
+        assertEquals("1001111011110001010100001", solver.solve().toGoalString());
+        assertEquals(misses, cache.getMisses());
+        assertTrue(cache.getHits() > 0);
+    }
+
+    @Test
+    public void testCacheEvicts() {
+        LineSolveCache cache = new LineSolveCache(2);
+        NonogramSolver solver = new NonogramSolver(tiny);
+        solver.setCache(cache);
+        solver.solve();
+        assertEquals(2, cache.size());
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    @Test
+    public void testSegmentedCacheSharedByParallelSearch() throws FileNotFoundException {
+        assertEquals(1, new LineSolveCache(100).getSegments());
+        LineSolveCache cache = new LineSolveCache(1000);
+        assertEquals(8, cache.getSegments());
+        Nonogram ng = new Nonogram(new Scanner(new File("nons/test15.non")));
+        String expected = new NonogramSolver(ng).search().toGoalString();
+        ParallelSolver solver = new ParallelSolver(ng, new java.util.concurrent.ForkJoinPool(4), true);
+        solver.setCache(cache);
+        assertEquals(expected, solver.search().toGoalString());
+        assertTrue(cache.size() <= 1000);
+        assertTrue(cache.getMisses() > 0);
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMisses());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,226 @@
+package nonogram;
+
+/**
+ * A line solver for a single row or column of a Nonogram puzzle.
+ *
+ * Given the pattern of contiguous full cells and the current cell states of a line,
+ * the solver finds every cell that is FULL in all placements of the blocks consistent
+ * with the line (and every cell that is EMPTY in all of them), or reports that no
+ * such placement exists.  It is a dynamic programme over (block, position) pairs and
+ * so runs in O(length x blocks) time.  Lines are held as BitLine masks, so checking
+ * that a block placement covers no EMPTY cell is a word operation.  The working
+ * buffers are kept between calls, so a LineSolver should not be shared between threads.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class LineSolver {
+	/**
+	 * Constructor
+	 */
+	public LineSolver() {
+	}
+
+	/**
+	 * Solve a line against a pattern, returning the line with all forced cells set
+	 *
+	 * @param pat the pattern of contiguous full cells
+	 * @param line the current cell states (EMPTY, FULL or UNKNOWN) of the line
+	 * @return the deduced cell states, or null if the line cannot satisfy the pattern
+	 */
+	public int[] solve(NGPattern pat, int[] line) {
+		if (pat == null)
+			throw new IllegalArgumentException("pat cannot be null");
+		if (line == null)
+			throw new IllegalArgumentException("line cannot be null");
+		if (line.length != pat.getMaxLen())
+			throw new IllegalArgumentException("line is incorrect length for pattern (" + line.length + "!=" + pat.getMaxLen()+")");
+		int[] result = new int[line.length];
+		if (!solve(pat.getNums(), line, result))
+			return null;
+		return result;
+	}
+
+	/**
+	 * Solve a line against a pattern, writing the deduced cell states into result
+	 *
+	 * @param nums the pattern of contiguous full cells as an integer array
+	 * @param line the current cell states (EMPTY, FULL or UNKNOWN) of the line
+	 * @param result the array to receive the deduced cell states (same length as line)
+	 * @return true if the line can satisfy the pattern, false on a contradiction
+	 */
+	public boolean solve(int[] nums, int[] line, int[] result) {
+		int n = line.length;
+		if ((in == null) || (in.length() != n)) {
+			in  = new BitLine(n);
+			out = new BitLine(n);
+		}
+		for (int i=0; i<n; i++)
+			in.set(i, line[i]);
+		if (!solve(nums, in, out))
+			return false;
+		for (int i=0; i<n; i++)
+			result[i] = out.get(i);
+		return true;
+	}
+
+	/**
+	 * Solve a packed line against a pattern, writing the deduced cell states into result
+	 *
+	 * @param nums the pattern of contiguous full cells as an integer array
+	 * @param line the current cell states of the line
+	 * @param result the line to receive the deduced cell states (same length as line, may not be line)
+	 * @return true if the line can satisfy the pattern, false on a contradiction
+	 */
+	public boolean solve(int[] nums, BitLine line, BitLine result) {
+		int n = line.length();
+		int k = nums.length;
+		result.copyFrom(line);
+		int unknown = line.countUnknown();
+		if (unknown == n)
+			return solveBlank(nums, n, result);
+		ensureCapacity(n, k);
+
+		// fwd[j][i]: the first i cells can hold exactly the first j blocks
+		int w = n + 1;
+		fwd[0] = true;
+		for (int i=1; i<=n; i++)
+			fwd[i] = fwd[i-1] && !line.isFull(i-1);
+		for (int j=1; j<=k; j++) {
+			int len = nums[j-1];
+			fwd[j*w] = false;
+			for (int i=1; i<=n; i++) {
+				boolean ok = !line.isFull(i-1) && fwd[j*w + i-1];
+				int s = i - len;
+				if (!ok && (s >= 0) && !line.hasEmpty(s, i)) {
+					if (j == 1)
+						ok = fwd[s];
+					else
+						ok = (s >= 1) && !line.isFull(s-1) && fwd[(j-1)*w + s-1];
+				}
+				fwd[j*w + i] = ok;
+			}
+		}
+		if (!fwd[k*w + n])
+			return false;
+		if (unknown == 0)
+			return true; // a complete line that fits the pattern has nothing left to deduce
+
+		// bwd[j][i]: the cells from i onwards can hold exactly blocks j..k-1
+		bwd[k*w + n] = true;
+		for (int i=n-1; i>=0; i--)
+			bwd[k*w + i] = bwd[k*w + i+1] && !line.isFull(i);
+		for (int j=k-1; j>=0; j--) {
+			int len = nums[j];
+			bwd[j*w + n] = false;
+			for (int i=n-1; i>=0; i--) {
+				boolean ok = !line.isFull(i) && bwd[j*w + i+1];
+				int e = i + len;
+				if (!ok && (e <= n) && !line.hasEmpty(i, e)) {
+					if (j == k-1)
+						ok = bwd[k*w + e];
+					else
+						ok = (e < n) && !line.isFull(e) && bwd[(j+1)*w + e+1];
+				}
+				bwd[j*w + i] = ok;
+			}
+		}
+
+		// mark the cells that can be full (covered by some legal block placement)
+		for (int i=0; i<=n; i++)
+			cover[i] = 0;
+		for (int j=0; j<k; j++) {
+			int len = nums[j];
+			for (int s=0; s+len<=n; s++) {
+				int e = s + len;
+				if (line.hasEmpty(s, e))
+					continue;
+				boolean left;
+				if (j == 0)
+					left = fwd[s];
+				else
+					left = (s >= 1) && !line.isFull(s-1) && fwd[j*w + s-1];
+				if (!left)
+					continue;
+				boolean right;
+				if (j == k-1)
+					right = bwd[k*w + e];
+				else
+					right = (e < n) && !line.isFull(e) && bwd[(j+1)*w + e+1];
+				if (right) {
+					cover[s]++;
+					cover[e]--;
+				}
+			}
+		}
+
+		// combine: an UNKNOWN cell is forced if it can only be one of FULL or EMPTY
+		int covered = 0;
+		int i       = 0;
+		for (int u=line.nextUnknown(0); u>=0; u=line.nextUnknown(u+1)) {
+			while (i <= u)
+				covered += cover[i++];
+			boolean canFull  = covered > 0;
+			boolean canEmpty = false;
+			for (int j=0; (j<=k) && !canEmpty; j++)
+				canEmpty = fwd[j*w + u] && bwd[j*w + u+1];
+			if (canFull && !canEmpty)
+				result.set(u, Nonogram.FULL);
+			else if (canEmpty && !canFull)
+				result.set(u, Nonogram.EMPTY);
+			else if (!canFull && !canEmpty)
+				return false; // cannot happen for a feasible line, but be safe
+		}
+		return true;
+	}
+
+	/**
+	 * Solve a line with no known cells.  Each block lies between its leftmost and
+	 * rightmost placements, so the overlap of the two is FULL; cells can only be
+	 * forced EMPTY when the blocks exactly fill the line.
+	 *
+	 * @param nums the pattern of contiguous full cells as an integer array
+	 * @param n the length of the line
+	 * @param result the line to receive the deduced cell states (all UNKNOWN on entry)
+	 * @return true if the line can satisfy the pattern, false if the pattern is too long
+	 */
+	private boolean solveBlank(int[] nums, int n, BitLine result) {
+		int minLen = nums.length - 1;
+		for (int len : nums)
+			minLen += len;
+		if (minLen > n)
+			return false;
+		int slack = n - minLen;
+		if (slack == 0)
+			result.setRange(0, n, Nonogram.EMPTY);
+		int left = 0; // leftmost start of the current block
+		for (int len : nums) {
+			if (len > slack)
+				result.setRange(left + slack, left + len, Nonogram.FULL);
+			left += len + 1;
+		}
+		return true;
+	}
+
+	/**
+	 * Make sure the working buffers are large enough for a line
+	 *
+	 * @param n the line length
+	 * @param k the number of blocks in the pattern
+	 */
+	private void ensureCapacity(int n, int k) {
+		int size = (k+1) * (n+1);
+		if ((fwd == null) || (fwd.length < size)) {
+			fwd = new boolean[size];
+			bwd = new boolean[size];
+		}
+		if ((cover == null) || (cover.length < n+1))
+			cover = new int[n+1];
+	}
+
+	private boolean[] fwd     = null; // (k+1) x (n+1) forward reachability
+	private boolean[] bwd     = null; // (k+1) x (n+1) backward reachability
+	private int[]     cover   = null; // difference array of possible FULL coverage
+	private BitLine   in      = null; // packed copies for the int[] interface
+	private BitLine   out     = null;
+}
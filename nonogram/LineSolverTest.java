@@ -0,0 +1,86 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test class LineSolverTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class LineSolverTest
+{
+    LineSolver solver = null;
+
+    /**
+     * Default constructor for test class LineSolverTest
+     */
+    public LineSolverTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        solver = new LineSolver();
+    }
+
+    @Test
+    public void testOverlap() {
+        // a block of 4 in 5 cells must cover the middle 3
+        int[] result = solver.solve(new NGPattern(new int[] {4}, 5), new int[] {2, 2, 2, 2, 2});
+        assertArrayEquals(new int[] {2, 1, 1, 1, 2}, result);
+    }
+
+    @Test
+    public void testExactFit() {
+        int[] result = solver.solve(new NGPattern(new int[] {1, 1, 1}, 5), new int[] {2, 2, 2, 2, 2});
+        assertArrayEquals(new int[] {1, 0, 1, 0, 1}, result);
+    }
+
+    @Test
+    public void testUsesKnownCells() {
+        // an EMPTY at index 1 pushes the block of 3 to the right
+        int[] result = solver.solve(new NGPattern(new int[] {3}, 6), new int[] {2, 0, 2, 2, 2, 2});
+        assertArrayEquals(new int[] {0, 0, 2, 1, 1, 2}, result);
+    }
+
+    @Test
+    public void testCompletesSolvedLine() {
+        int[] result = solver.solve(new NGPattern(new int[] {2}, 5), new int[] {2, 1, 1, 2, 2});
+        assertArrayEquals(new int[] {0, 1, 1, 0, 0}, result);
+    }
+
+    @Test
+    public void testContradiction() {
+        assertNull(solver.solve(new NGPattern(new int[] {2}, 5), new int[] {1, 2, 1, 2, 2}));
+        assertNull(solver.solve(new NGPattern(new int[] {3}, 5), new int[] {2, 0, 2, 0, 2}));
+    }
+
+    @Test
+    public void testConstraintDeduce() {
+        Nonogram ng = new Nonogram(new java.util.Scanner("width 5\nheight 5\nrows\n5\n1\n1\n1\n1\ncolumns\n5\n1\n1\n1\n1\n"));
+        java.util.ArrayList<Assign> forced = ng.getRowConstraint(0).deduce();
+        assertEquals(5, forced.size());
+        for (Assign a : forced)
+            assertEquals(Nonogram.FULL, a.getState());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,298 @@
+package nonogram;
+
+import java.util.ArrayList;
+
+/**
+ * Keeps the line solving deductions for a puzzle up to date as the player makes moves.
+ *
+ * The solver state is built once from the clues; each player move is then assumed on
+ * top of it and propagated from the changed cell's row and column only.  Every move
+ * remembers where its deductions start on the solver trail, so when a move is changed
+ * or reset to UNKNOWN (for example by an undo) the solver retracts back to that point
+ * and replays the later moves, rather than starting again.
+ *
+ * A move that contradicts the clues together with the earlier moves is a mistake;
+ * later moves are recorded but not propagated until the mistake is retracted.
+ *
+ * The solving done for the clues, and for each change to the puzzle, can be given a
+ * time budget.  When it runs out the propagation stops where it is: the cells deduced
+ * so far are kept (they still follow from the moves), and the lines still to be solved
+ * are kept too.  Moves made meanwhile are recorded but not yet played.  The next change
+ * first finishes the interrupted propagation, then plays the waiting moves, so no
+ * deduction or mistake is lost, only found later.
+ *
+ * The solver is built from a snapshot of the puzzle taken as it subscribes, so no move
+ * is missed or counted twice even while another thread is playing.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class LiveSolver implements NonogramListener {
+	/**
+	 * Constructor, solving from the clues and the current cell states and then
+	 * following the puzzle's changes
+	 *
+	 * @param ng the puzzle to follow
+	 */
+	public LiveSolver(Nonogram ng) {
+		this(ng, 0);
+	}
+
+	/**
+	 * Constructor, solving from the clues and the current cell states and then
+	 * following the puzzle's changes, with a time budget for each solve
+	 *
+	 * @param ng the puzzle to follow
+	 * @param budgetMillis the time allowed for the initial solve and for each change, in milliseconds (0 for no limit)
+	 */
+	public LiveSolver(Nonogram ng, long budgetMillis) {
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		if (budgetMillis < 0)
+			throw new IllegalArgumentException("budgetMillis cannot be negative");
+		this.ng           = ng;
+		this.numCols      = ng.getNumCols();
+		this.moves        = new ArrayList<>();
+		this.budgetMillis = budgetMillis;
+		synchronized (this) {
+			// a change made after the snapshot is sent to cellsChanged, which waits for this block
+			GridSnapshot snap = ng.snapshotAndAddListener(this, CELL_EVENTS);
+			solver = new NonogramSolver(snap);
+			solver.setKeepQueue(true);
+			solver.clearStates();
+			solver.startLimits(budgetMillis, null);
+			if (!solver.propagateAll()) {
+				unfinished = solver.wasStopped();
+				unsolvable = !unfinished;
+			}
+			for (int row=0; row<snap.getNumRows(); row++)
+				for (int col=0; col<numCols; col++)
+					if (snap.getState(row, col) != Nonogram.UNKNOWN)
+						moves.add(new Move(row*numCols + col, snap.getState(row, col)));
+			catchUp();
+			endSolve();
+		}
+	}
+
+	/**
+	 * Stop following the puzzle's changes
+	 */
+	public void detach() {
+		ng.removeListener(this);
+	}
+
+	/**
+	 * Apply the changed cells to the solver state
+	 *
+	 * @param changes the changed cells
+	 */
+	@Override
+	public synchronized void cellsChanged(CellChanges changes) {
+		solver.startLimits(budgetMillis, null);
+		for (Cell changed : changes.getCells())
+			cellChanged(changed);
+		catchUp();
+		endSolve();
+	}
+
+	/**
+	 * Finish a budgeted solve, noting whether it was cut short
+	 */
+	private void endSolve() {
+		stopped = solver.wasStopped();
+		solver.endLimits();
+	}
+
+	/**
+	 * Was the last solve (initial, or for the last change) stopped by the time budget?
+	 *
+	 * @return true if some deductions are still to be made (at the next change), otherwise false
+	 */
+	public synchronized boolean wasStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Record a changed cell, retracting the move it replaces (the moves are played by catchUp)
+	 *
+	 * @param changed the cell that changed
+	 */
+	private void cellChanged(Cell changed) {
+		int  cell    = changed.getRow()*numCols + changed.getCol();
+		int  idx     = indexOf(cell);
+		if ((idx >= 0) && (moves.get(idx).state == changed.getState()))
+			return;
+		if (idx >= 0)
+			retract(idx);
+		if (changed.getState() != Nonogram.UNKNOWN)
+			moves.add(new Move(cell, changed.getState()));
+	}
+
+	/**
+	 * Are the player's moves consistent with the clues (as far as line solving can tell)?
+	 *
+	 * @return true if no mistake has been found, otherwise false
+	 */
+	public synchronized boolean isConsistent() {
+		return !unsolvable && (mistake < 0);
+	}
+
+	/**
+	 * Retrieve the first move that contradicts the clues together with the moves before it
+	 *
+	 * @return the mistaken move, or null if there is none (or the clues themselves have no solution)
+	 */
+	public synchronized Assign getMistake() {
+		if (mistake < 0)
+			return null;
+		Move move = moves.get(mistake);
+		return new Assign(move.cell / numCols, move.cell % numCols, move.state);
+	}
+
+	/**
+	 * Retrieve the state of a cell as deduced from the clues and the player's moves
+	 * (before any mistake, and as far as the budget has allowed)
+	 *
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @return the deduced state (FULL, EMPTY or UNKNOWN)
+	 */
+	public synchronized int getDeducedState(int row, int col) {
+		if ((row < 0) || (row >= solver.getNumRows()))
+			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + solver.getNumRows());
+		if ((col < 0) || (col >= numCols))
+			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
+		return solver.getState(row, col);
+	}
+
+	/**
+	 * Find a cell whose state is deduced but which the player has not yet set
+	 *
+	 * @return the deducible move, or null if there is none (or there is a mistake)
+	 */
+	public synchronized Assign getDeducedMove() {
+		if (!isConsistent())
+			return null;
+		int numRows = solver.getNumRows();
+		for (int row=0; row<numRows; row++) {
+			for (int col=0; col<numCols; col++) {
+				int state = solver.getState(row, col);
+				if ((state != Nonogram.UNKNOWN) && (ng.getState(row, col) == Nonogram.UNKNOWN))
+					return new Assign(row, col, state);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Retrieve the number of line solves performed so far (useful for measuring the incremental cost)
+	 *
+	 * @return the number of line solves
+	 */
+	public synchronized long getLineSolves() {
+		return solver.getLineSolves();
+	}
+
+	/**
+	 * Bring the solver up to date: finish the propagation the budget interrupted, then
+	 * play the moves recorded since, stopping at a mistake or when the budget runs out
+	 */
+	private void catchUp() {
+		if (unsolvable || (mistake >= 0))
+			return;
+		if (unfinished) {
+			if (!solver.resume()) {
+				if (solver.wasStopped())
+					return;
+				// every earlier move was fully propagated, so the last one played is the mistake
+				unfinished = false;
+				if (played == 0) {
+					unsolvable = true;
+				} else {
+					mistake = --played;
+					solver.undo(moves.get(mistake).mark);
+				}
+				return;
+			}
+			unfinished = false;
+		}
+		while (played < moves.size()) {
+			Move move    = moves.get(played);
+			int  current = solver.getState(move.cell / numCols, move.cell % numCols);
+			move.mark = solver.getTrailSize();
+			if (current == move.state) {
+				played++;
+			} else if (current != Nonogram.UNKNOWN) {
+				mistake = played;
+				return;
+			} else if (solver.assume(move.cell, move.state)) {
+				played++;
+			} else if (solver.wasStopped()) {
+				// the rest of its propagation, and the later moves, wait for the next change
+				played++;
+				unfinished = true;
+				return;
+			} else {
+				// leave the solver as it was before the mistake
+				solver.undo(move.mark);
+				mistake = played;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Retract a move: undo the solver back to where the move started (the later moves
+	 * are then played again by catchUp)
+	 *
+	 * @param idx the index of the move to retract
+	 */
+	private void retract(int idx) {
+		if (idx < played) {
+			solver.undo(moves.get(idx).mark);
+			played     = idx;
+			unfinished = false;   // the interrupted propagation was for a move now undone
+		}
+		if (mistake >= idx)
+			mistake = -1;
+		moves.remove(idx);
+	}
+
+	/**
+	 * Find the move that set a cell
+	 *
+	 * @param cell the cell index (row major)
+	 * @return the index of the move, or -1 if the player has not set the cell
+	 */
+	private int indexOf(int cell) {
+		for (int i=moves.size()-1; i>=0; i--)
+			if (moves.get(i).cell == cell)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * A player move and the solver trail size before it was played
+	 */
+	private static class Move {
+		Move(int cell, int state) {
+			this.cell  = cell;
+			this.state = state;
+		}
+
+		private final int cell;
+		private final int state;
+		private int       mark  = 0;   // set when the move is played
+	}
+
+	private Nonogram        ng           = null;
+	private NonogramSolver  solver       = null;
+	private int             numCols      = -1;
+	private ArrayList<Move> moves        = null;  // the player's moves, in order
+	private int             played       = 0;     // the number of moves played on the solver
+	private boolean         unfinished   = false; // was the last propagation (of the clues or moves) stopped?
+	private int             mistake      = -1;    // index of the first contradicting move, or -1
+	private boolean         unsolvable   = false; // do the clues alone contradict?
+	private long            budgetMillis = 0;     // the time allowed for each solve, 0 for no limit
+	private boolean         stopped      = false; // was the last solve cut short by the budget?
+}
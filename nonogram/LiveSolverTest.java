@@ -0,0 +1,188 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class LiveSolverTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class LiveSolverTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class LiveSolverTest
+     */
+    public LiveSolverTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testLiveSolverFollowsMovesAndRetracts() {
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        LiveSolver live = new LiveSolver(ng);
+        assertEquals(Nonogram.UNKNOWN, live.getDeducedState(0, 1));
+        ng.setState(0, 0, Nonogram.FULL);
+        assertEquals(Nonogram.EMPTY, live.getDeducedState(0, 1));
+        assertEquals(Nonogram.EMPTY, live.getDeducedState(1, 0));
+        ng.setState(1, 1, Nonogram.FULL);
+        assertEquals(Nonogram.EMPTY, live.getDeducedState(1, 2));
+        // undoing the first move keeps the deductions of the second
+        assertEquals(Nonogram.EMPTY, live.getDeducedState(0, 2));
+        ng.setState(0, 0, Nonogram.UNKNOWN);
+        assertEquals(Nonogram.UNKNOWN, live.getDeducedState(0, 2));
+        assertEquals(Nonogram.EMPTY, live.getDeducedState(0, 1));
+        assertEquals(Nonogram.EMPTY, live.getDeducedState(1, 2));
+        assertTrue(live.isConsistent());
+    }
+
+    @Test
+    public void testLiveSolverFindsMistakes() {
+        LiveSolver live = new LiveSolver(tiny);
+        // (0,0) is FULL in the only solution
+        tiny.setState(0, 0, Nonogram.EMPTY);
+        assertFalse(live.isConsistent());
+        assertEquals(0, live.getMistake().getCol());
+        tiny.setState(1, 1, Nonogram.FULL);
+        assertFalse(live.isConsistent());
+        tiny.setState(0, 0, Nonogram.FULL);
+        assertTrue(live.isConsistent());
+        assertNull(live.getMistake());
+        assertEquals(Nonogram.FULL, live.getDeducedState(1, 1));
+        live.detach();
+    }
+
+    @Test
+    public void testBudgetStopsSolveWithoutFalseMistakes() {
+        LiveSolver unlimited = new LiveSolver(tiny, 0);
+        assertFalse(unlimited.wasStopped());
+        unlimited.detach();
+
+        // far too big to line solve in a millisecond
+        Nonogram ng = randomPuzzle(300, 50, 4);
+        String goal = ng.getGoal();
+        LiveSolver live = new LiveSolver(ng, 1);
+        assertTrue(live.wasStopped());
+        for (int i=0; i<300; i++)
+            ng.setState(0, i, goal.charAt(i) - '0');
+        // moves that agree with the goal are never reported as mistakes, however far the solves got
+        assertTrue(live.isConsistent());
+        for (int col=0; col<300; col++) {
+            int deduced = live.getDeducedState(1, col);
+            if (deduced != Nonogram.UNKNOWN)
+                assertEquals(goal.charAt(300 + col) - '0', deduced);
+        }
+        live.detach();
+    }
+
+    @Test
+    public void testMovesBeforeConstructionAreFollowed() {
+        tiny.setState(0, 0, Nonogram.EMPTY);
+        LiveSolver live = new LiveSolver(tiny);
+        assertFalse(live.isConsistent());
+        assertEquals(0, live.getMistake().getRow());
+        // retracting a move made before the solver was built is seen as well
+        tiny.setState(0, 0, Nonogram.UNKNOWN);
+        assertTrue(live.isConsistent());
+        live.detach();
+    }
+
+    @Test
+    public void testStoppedPropagationIsResumed() {
+        // nearly full lines are slow to line solve, but line solving alone solves the puzzle
+        Nonogram ng = randomPuzzle(100, 80, 5);
+        String goal = ng.getGoal();
+        LiveSolver live = new LiveSolver(ng, 1);
+        assertTrue(live.wasStopped());
+        // each change carries on from where the last solve stopped, until it has caught up
+        for (int i=0; live.wasStopped() && (i < 100000); i++)
+            ng.setState(0, 0, (i % 2 == 0) ? goal.charAt(0) - '0' : Nonogram.UNKNOWN);
+        assertFalse(live.wasStopped());
+        assertTrue(live.isConsistent());
+        for (int row=0; row<100; row++)
+            for (int col=0; col<100; col++)
+                assertEquals(goal.charAt(row*100 + col) - '0', live.getDeducedState(row, col));
+        live.detach();
+    }
+
+    /**
+     * Makes a random square puzzle, with the random grid as its goal.
+     *
+     * @param size the number of rows and columns
+     * @param percentFull the chance of a cell being full, in percent
+     * @param seed the random seed
+     * @return the puzzle, with all cells UNKNOWN
+     */
+    private Nonogram randomPuzzle(int size, int percentFull, long seed)
+    {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        boolean[][] full = new boolean[size][size];
+        for (int row=0; row<size; row++)
+            for (int col=0; col<size; col++)
+                full[row][col] = (rnd.nextInt(100) < percentFull) || (row == col);
+        StringBuffer rows = new StringBuffer();
+        StringBuffer cols = new StringBuffer();
+        StringBuffer goal = new StringBuffer();
+        for (int i=0; i<size; i++) {
+            boolean[] col = new boolean[size];
+            for (int row=0; row<size; row++)
+                col[row] = full[row][i];
+            rows.append(clue(full[i])).append("\n");
+            cols.append(clue(col)).append("\n");
+            for (int j=0; j<size; j++)
+                goal.append(full[i][j] ? Nonogram.FULL : Nonogram.EMPTY);
+        }
+        return new Nonogram(new Scanner("width " + size + "\nheight " + size + "\nrows\n" + rows
+                + "columns\n" + cols + "goal \"" + goal + "\"\n"));
+    }
+
+    /**
+     * Reads the clue off a line of cells.
+     *
+     * @param full which cells are full
+     * @return the clue, as written in a .non file
+     */
+    private String clue(boolean[] full)
+    {
+        StringBuffer sb = new StringBuffer();
+        int run = 0;
+        for (int i=0; i<=full.length; i++) {
+            if ((i < full.length) && full[i]) {
+                run++;
+            } else if (run > 0) {
+                sb.append((sb.length() > 0) ? "," : "").append(run);
+                run = 0;
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
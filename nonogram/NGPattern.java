@@ -6,6 +6,13 @@ import java.util.regex.Pattern;
 /**
  * A pattern for a cell constraint (either row or column) in a Nonogram puzzle.
  * 
+ * Sequences are checked against the pattern without regular expressions.  Validity uses
+ * a bit-parallel (shift-and) automaton with one state per cell of each block and one
+ * looping state per gap, stepped once per cell; a line of up to 64 automaton states
+ * (the block lengths plus the number of blocks plus one) runs in a single long.  The
+ * solution check compares the runs of FULL cells with the block lengths.  Neither
+ * allocates.  The equivalent regular expressions are still available for display.
+ * 
  * @author Dr Mark C. Sinclair
  * @version September 2022
  */
@@ -26,6 +33,32 @@ public class NGPattern {
 		this.maxLen = maxLen;
 		if (minLen > maxLen)
 			throw new IllegalArgumentException("minimum length of nums (" + minLen + ") exceeds maxLen");
+		this.states    = minLen + 2;
+		int words      = (states + 63) >>> 6;
+		this.blockMask = new long[words];
+		this.gapMask   = new long[words];
+		this.allMask   = new long[words];
+		buildAutomaton();
+	}
+	
+	/**
+	 * Build the masks of the validity automaton.  State layout: the leading gap, the
+	 * cells of block 1, the gap after it, ..., the cells of the last block, the trailing
+	 * gap.  Gap states loop (they accept any number of EMPTY cells); block states each
+	 * accept one FULL cell.  Either kind accepts an UNKNOWN cell.
+	 */
+	private void buildAutomaton() {
+		int s = 0;
+		gapMask[0] |= 1L;
+		s++;
+		for (int i=0; i<nums.length; i++) {
+			for (int j=0; j<nums[i]; j++, s++)
+				blockMask[s >>> 6] |= 1L << s;
+			gapMask[s >>> 6] |= 1L << s;
+			s++;
+		}
+		for (int i=0; i<states; i++)
+			allMask[i >>> 6] |= 1L << i;
 	}
 	
 	/**
@@ -61,9 +94,10 @@ public class NGPattern {
 	 * @return the validity regular expression as a string
 	 */
 	public String getRegExValid() {
-		if (valid == null)
-			compileRegExValid();  // causes regex to be compiled and assigned
-		return valid.pattern();
+		Pattern regex = valid;   // read once, as another thread may be assigning it
+		if (regex == null)
+			regex = compileRegExValid();  // causes regex to be compiled and assigned
+		return regex.pattern();
 	}
 	
 	/**
@@ -72,15 +106,19 @@ public class NGPattern {
 	 * @return the solution regular expression as a string
 	 */
 	public String getRegExSolved() {
-		if (solved == null)
-			compileRegExSolved();  // causes regex to be compiled and assigned
-		return solved.pattern();
+		Pattern regex = solved;   // read once, as another thread may be assigning it
+		if (regex == null)
+			regex = compileRegExSolved();  // causes regex to be compiled and assigned
+		return regex.pattern();
 	}
 	
 	/**
-	 * Compile and cache the validity regular expression
+	 * Compile and cache the validity regular expression.  Threads racing to do this
+	 * compile equal expressions, so whichever is cached last does no harm.
+	 * 
+	 * @return the compiled expression
 	 */
-	private void compileRegExValid() {
+	private Pattern compileRegExValid() {
 		StringBuffer sb = new StringBuffer();
 		sb.append(REGEX_EMPTY + "*?"); // optional empty chars at start
 		for (int i=0; i < (nums.length-1); i++) {
@@ -89,13 +127,18 @@ public class NGPattern {
 		}
 		sb.append(REGEX_FULL + "{" + nums[nums.length-1] + "}"); // last full chars
 		sb.append(REGEX_EMPTY + "*?"); // optional empty chars at end
-		valid = Pattern.compile(sb.toString());
+		Pattern regex = Pattern.compile(sb.toString());
+		valid = regex;
+		return regex;
 	}
 	
 	/**
-	 * Compile and cache the solution regular expression
+	 * Compile and cache the solution regular expression.  Threads racing to do this
+	 * compile equal expressions, so whichever is cached last does no harm.
+	 * 
+	 * @return the compiled expression
 	 */
-	private void compileRegExSolved() {
+	private Pattern compileRegExSolved() {
 		StringBuffer sb = new StringBuffer();
 		sb.append(REGEX_EMPTY + "*?"); // optional empty chars at start
 		for (int i=0; i < (nums.length-1); i++) {
@@ -104,7 +147,9 @@ public class NGPattern {
 		}
 		sb.append(Nonogram.FULL + "{" + nums[nums.length-1] + "}"); // last full chars
 		sb.append(REGEX_EMPTY + "*?"); // optional empty chars at end
-		solved = Pattern.compile(sb.toString());
+		Pattern regex = Pattern.compile(sb.toString());
+		solved = regex;
+		return regex;
 	}
 	
 	/**
@@ -118,9 +163,112 @@ public class NGPattern {
 			throw new IllegalArgumentException("seq cannot be null");
 		if (seq.length() != maxLen)
 			throw new IllegalArgumentException("seq is incorrect length for pattern (" + seq.length() + "!=" + maxLen+")");
-		if (valid == null)
-			compileRegExValid(); // causes valid Pattern to be compiled and assigned
-		return valid.matcher(seq).matches();
+		if (states <= 64) {
+			long ready = 1L | 2L;   // the leading gap, or straight into the first block
+			for (int i=0; (i<maxLen) && (ready != 0); i++) {
+				int state = seq.charAt(i) - '0';
+				if (!Cell.isValidState(state))
+					return false;
+				ready = step(ready, state);
+			}
+			return (ready & (1L << (states-1))) != 0;
+		}
+		long[] ready = startWide();
+		for (int i=0; i<maxLen; i++) {
+			int state = seq.charAt(i) - '0';
+			if (!Cell.isValidState(state) || !stepWide(ready, state))
+				return false;
+		}
+		return acceptsWide(ready);
+	}
+	
+	/**
+	 * Check if a line of cell states (of maxLen) is valid for the pattern
+	 * 
+	 * @param line the cell states
+	 * @return true if the line is valid, otherwise false
+	 */
+	public boolean isValid(BitLine line) {
+		if (line == null)
+			throw new IllegalArgumentException("line cannot be null");
+		if (line.length() != maxLen)
+			throw new IllegalArgumentException("line is incorrect length for pattern (" + line.length() + "!=" + maxLen+")");
+		if (states <= 64) {
+			long ready = 1L | 2L;   // the leading gap, or straight into the first block
+			for (int i=0; (i<maxLen) && (ready != 0); i++)
+				ready = step(ready, line.get(i));
+			return (ready & (1L << (states-1))) != 0;
+		}
+		long[] ready = startWide();
+		for (int i=0; i<maxLen; i++)
+			if (!stepWide(ready, line.get(i)))
+				return false;
+		return acceptsWide(ready);
+	}
+	
+	/**
+	 * Advance a single word automaton by one cell
+	 * 
+	 * @param ready the states that can take the next cell
+	 * @param state the cell state
+	 * @return the states that can take the cell after it
+	 */
+	private long step(long ready, int state) {
+		long taken = ready;
+		if (state == Nonogram.FULL)
+			taken &= blockMask[0];
+		else if (state == Nonogram.EMPTY)
+			taken &= gapMask[0];
+		else
+			taken &= allMask[0];
+		return (taken << 1) | (taken & gapMask[0]);
+	}
+	
+	/**
+	 * Retrieve this thread's scratch words for a multi-word automaton, set to the start states
+	 * 
+	 * @return the ready states (the leading gap and the first block cell)
+	 */
+	private long[] startWide() {
+		long[] ready = SCRATCH.get();
+		if (ready.length < blockMask.length) {
+			ready = new long[blockMask.length];
+			SCRATCH.set(ready);
+		}
+		Arrays.fill(ready, 0, blockMask.length, 0L);
+		ready[0] = 1L | 2L;
+		return ready;
+	}
+	
+	/**
+	 * Advance a multi-word automaton by one cell, in place
+	 * 
+	 * @param ready the states that can take the next cell (updated)
+	 * @param state the cell state
+	 * @return false if no state is left (the sequence cannot match), otherwise true
+	 */
+	private boolean stepWide(long[] ready, int state) {
+		long[] mask  = (state == Nonogram.FULL) ? blockMask : (state == Nonogram.EMPTY) ? gapMask : allMask;
+		long   carry = 0;
+		long   any   = 0;
+		for (int w=0; w<mask.length; w++) {
+			long taken = ready[w] & mask[w];
+			ready[w]   = (taken << 1) | carry | (taken & gapMask[w]);
+			carry      = taken >>> 63;
+			any       |= ready[w];
+		}
+		return any != 0;
+	}
+	
+	/**
+	 * Has a multi-word automaton reached the trailing gap?
+	 * 
+	 * @param ready the states after the last cell
+	 * @return true if the sequence matched, otherwise false
+	 */
+	private boolean acceptsWide(long[] ready) {
+		int last = states - 1;
+		return (ready[last >>> 6] & (1L << last)) != 0;
 	}
 	
 	/**
@@ -134,9 +282,47 @@ public class NGPattern {
 			throw new IllegalArgumentException("seq cannot be null");
 		if (seq.length() != maxLen)
 			throw new IllegalArgumentException("seq is incorrect length for pattern (" + seq.length() + "!=" + maxLen+")");
-		if (solved == null)
-			compileRegExSolved(); // causes solved Pattern to be compiled and assigned
-		return solved.matcher(seq).matches();
+		// the runs of FULL cells must be exactly the blocks (anything else counts as a gap)
+		int block = 0;
+		int run   = 0;
+		for (int i=0; i<=maxLen; i++) {
+			int state = (i < maxLen) ? seq.charAt(i) - '0' : Nonogram.EMPTY;
+			if (!Cell.isValidState(state))
+				return false;
+			if (state == Nonogram.FULL) {
+				run++;
+			} else if (run > 0) {
+				if ((block == nums.length) || (nums[block] != run))
+					return false;
+				block++;
+				run = 0;
+			}
+		}
+		return block == nums.length;
+	}
+	
+	/**
+	 * Check if a line of cell states (of maxLen) solves the pattern
+	 * 
+	 * @param line the cell states
+	 * @return true if the line is a solution, otherwise false
+	 */
+	public boolean isSolved(BitLine line) {
+		if (line == null)
+			throw new IllegalArgumentException("line cannot be null");
+		if (line.length() != maxLen)
+			throw new IllegalArgumentException("line is incorrect length for pattern (" + line.length() + "!=" + maxLen+")");
+		// the runs of FULL cells must be exactly the blocks
+		int block = 0;
+		int start = line.nextFull(0);
+		while (start >= 0) {
+			int end = line.nextNotFull(start);
+			if ((block == nums.length) || (nums[block] != end - start))
+				return false;
+			block++;
+			start = line.nextFull(end);
+		}
+		return block == nums.length;
 	}
 	
   /**
@@ -216,9 +402,16 @@ public class NGPattern {
 	private static final String REGEX_EMPTY = "[" + Nonogram.EMPTY + Nonogram.UNKNOWN + "]";
 	private static final String REGEX_FULL  = "[" + Nonogram.FULL  + Nonogram.UNKNOWN + "]";
 	
-	private int[]   nums   = null;
-	private int     minLen = -1;   // minimum length of the pattern
-	private int     maxLen = -1;   // maximum length of the pattern (supplied)
-	private Pattern valid  = null; // regex to test sequence is valid
-	private Pattern solved = null; // regex to test sequence is solved
+	private final int[]      nums;
+	private final int        minLen;          // minimum length of the pattern
+	private final int        maxLen;          // maximum length of the pattern (supplied)
+	private volatile Pattern valid  = null;   // regex to test sequence is valid (for display, compiled on first use)
+	private volatile Pattern solved = null;   // regex to test sequence is solved (for display, compiled on first use)
+	
+	private final int        states;          // number of automaton states
+	private final long[]     blockMask;       // states that take a FULL cell
+	private final long[]     gapMask;         // states that take an EMPTY cell (and loop)
+	private final long[]     allMask;         // every state (all take an UNKNOWN cell)
+	
+	private static final ThreadLocal<long[]> SCRATCH = ThreadLocal.withInitial(() -> new long[0]);
 }
@@ -0,0 +1,76 @@
+package nonogram;
+
+import java.util.SplittableRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the NGPattern automaton checks with the regular expressions they replaced.
+ *
+ * For each line length a random pattern is made from a random line, and a set of test
+ * lines (the solution with some cells made UNKNOWN or flipped) is checked both ways:
+ * the regular expressions on a sequence string, as NGPattern used to, and the automaton
+ * on a packed BitLine, as Constraint now does.  Both must agree on every line.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NGPatternBenchmark {
+	/**
+	 * Run the benchmark from the command line
+	 *
+	 * @param args the line lengths to measure (default 25 100 400 1000)
+	 */
+	public static void main(String[] args) {
+		int[] lengths = {25, 100, 400, 1000};
+		if (args.length > 0) {
+			lengths = new int[args.length];
+			for (int i=0; i<args.length; i++)
+				lengths[i] = Integer.parseInt(args[i]);
+		}
+		SplittableRandom rnd = new SplittableRandom(15);
+		System.out.println("length,blocks,regexNanos,automatonNanos,speedup");
+		for (int len : lengths) {
+			if (len < Nonogram.MIN_SIZE)
+				throw new IllegalArgumentException("length cannot be shorter than " + Nonogram.MIN_SIZE);
+			int[] goal = new int[len];
+			for (int i=0; i<len; i++)
+				goal[i] = (rnd.nextInt(2) == 0) ? Nonogram.FULL : Nonogram.EMPTY;
+			goal[0] = Nonogram.FULL;
+			int[]     nums   = NonogramGenerator.clue(goal, len);
+			NGPattern pat    = new NGPattern(nums, len);
+			Pattern   valid  = Pattern.compile(pat.getRegExValid());
+			Pattern   solved = Pattern.compile(pat.getRegExSolved());
+			int       count  = 64;
+			BitLine[] lines  = new BitLine[count];
+			for (int n=0; n<count; n++) {
+				lines[n] = new BitLine(len);
+				for (int i=0; i<len; i++) {
+					int r = rnd.nextInt(100);
+					lines[n].set(i, (r < 30) ? Nonogram.UNKNOWN : (r < 30 + n % 3) ? 1 - goal[i] : goal[i]);
+				}
+			}
+			int    reps      = Math.max(1, 2000000 / (len * count));
+			double regex     = 0;
+			double automaton = 0;
+			for (int round=0; round<3; round++) {   // the first two rounds warm up
+				long agree = 0;
+				long start = System.nanoTime();
+				for (int r=0; r<reps; r++) {
+					for (BitLine line : lines) {
+						String seq = line.toString();
+						agree += (valid.matcher(seq).matches() ? 1 : 0) + (solved.matcher(seq).matches() ? 2 : 0);
+					}
+				}
+				regex = (System.nanoTime() - start) / (double) (reps * count);
+				start = System.nanoTime();
+				for (int r=0; r<reps; r++)
+					for (BitLine line : lines)
+						agree -= (pat.isValid(line) ? 1 : 0) + (pat.isSolved(line) ? 2 : 0);
+				automaton = (System.nanoTime() - start) / (double) (reps * count);
+				if (agree != 0)
+					throw new NonogramException("automaton and regex disagree for " + pat);
+			}
+			System.out.println(String.format("%d,%d,%.0f,%.0f,%.1f", len, nums.length, regex, automaton, regex / automaton));
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Random;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test class NGPatternTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NGPatternTest
+{
+    Random random = null;
+
+    /**
+     * Default constructor for test class NGPatternTest
+     */
+    public NGPatternTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        random = new Random(15);
+    }
+
+    @Test
+    public void testSimpleSequences() {
+        NGPattern pat = new NGPattern(new int[] {2, 1}, 6);
+        assertTrue(pat.isValid("222222"));
+        assertTrue(pat.isValid("110100"));
+        assertTrue(pat.isValid("021201"));
+        assertFalse(pat.isValid("111000"));
+        assertFalse(pat.isValid("101010"));
+        assertTrue(pat.isSolved("110100"));
+        assertTrue(pat.isSolved("211212"));
+        assertFalse(pat.isSolved("110000"));
+        assertFalse(pat.isSolved("110110"));
+        assertFalse(pat.isValid("11010x"));
+        assertFalse(pat.isSolved("11010x"));
+    }
+
+    @Test
+    public void testMatchesRegExOnEveryShortSequence() {
+        int[][] patterns = { {1}, {5}, {1, 1}, {2, 1}, {1, 2, 1}, {3, 3}, {1, 1, 1, 1} };
+        for (int[] nums : patterns) {
+            for (int len=Math.max(Nonogram.MIN_SIZE, NGPattern.calcMinLen(nums)); len<=9; len++) {
+                NGPattern pat   = new NGPattern(nums, len);
+                int       total = (int) Math.pow(3, len);
+                for (int code=0; code<total; code++) {
+                    StringBuffer sb = new StringBuffer();
+                    for (int i=0, c=code; i<len; i++, c/=3)
+                        sb.append(c % 3);
+                    checkAgainstRegEx(pat, sb.toString());
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testMatchesRegExOnLongLines() {
+        // long lines need several words of automaton states
+        for (int trial=0; trial<300; trial++) {
+            int    len  = 60 + random.nextInt(200);
+            int[]  goal = new int[len];
+            for (int i=0; i<len; i++)
+                goal[i] = random.nextBoolean() ? Nonogram.FULL : Nonogram.EMPTY;
+            goal[random.nextInt(len)] = Nonogram.FULL;
+            NGPattern pat = new NGPattern(NonogramGenerator.clue(goal, len), len);
+            // the goal itself, then versions with cells blanked or flipped
+            for (int variant=0; variant<10; variant++) {
+                StringBuffer sb = new StringBuffer();
+                for (int i=0; i<len; i++) {
+                    int state = goal[i];
+                    int r     = random.nextInt(20);
+                    if ((variant > 0) && (r < 8))
+                        state = Nonogram.UNKNOWN;
+                    else if ((variant > 5) && (r == 8))
+                        state = 1 - goal[i];
+                    sb.append(state);
+                }
+                checkAgainstRegEx(pat, sb.toString());
+            }
+        }
+    }
+
+    /**
+     * Check the automaton and run checks give the regular expressions' answers, on both a
+     * string and a packed line
+     *
+     * @param pat the pattern
+     * @param seq the cell sequence
+     */
+    private void checkAgainstRegEx(NGPattern pat, String seq) {
+        boolean valid  = Pattern.matches(pat.getRegExValid(), seq);
+        boolean solved = Pattern.matches(pat.getRegExSolved(), seq);
+        BitLine line   = new BitLine(seq.length());
+        for (int i=0; i<seq.length(); i++)
+            line.set(i, seq.charAt(i) - '0');
+        assertEquals(valid, pat.isValid(seq), pat + " valid " + seq);
+        assertEquals(valid, pat.isValid(line), pat + " valid line " + seq);
+        assertEquals(solved, pat.isSolved(seq), pat + " solved " + seq);
+        assertEquals(solved, pat.isSolved(line), pat + " solved line " + seq);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
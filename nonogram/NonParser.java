@@ -0,0 +1,399 @@
+package nonogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+
+/**
+ * A streaming parser for the .non file format
+ * (see https://github.com/mikix/nonogram-db/blob/master/FORMAT.md), reading bytes from
+ * a channel or a buffer.
+ *
+ * It accepts the same input as PuzzleDefinition.parse, and gives the same definition
+ * and the same NonogramException messages, but works on the bytes directly: each line
+ * is copied into a reused buffer and the clue numbers are parsed from it, so no String
+ * is made for a clue line and no regular expression is run.  Strings are only made
+ * for the goal and the metadata values (catalogue, title, by, copyright, license, ...).
+ * Loading a large catalogue is then bound by reading the files rather than parsing them.
+ *
+ * A parser reuses its buffers from one puzzle to the next, so it is not thread-safe:
+ * use one per thread.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public final class NonParser {
+	/**
+	 * Constructor
+	 */
+	public NonParser() {
+		this(BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor, with a given read buffer size
+	 *
+	 * @param bufferSize the number of bytes read from a channel at a time
+	 */
+	NonParser(int bufferSize) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("bufferSize must be at least 1");
+		this.bufferSize = bufferSize;
+	}
+
+	/**
+	 * Parse a .non file
+	 *
+	 * @param file the file
+	 * @return the definition
+	 * @throws IOException if the file cannot be read
+	 */
+	public PuzzleDefinition parse(Path file) throws IOException {
+		if (file == null)
+			throw new IllegalArgumentException("file cannot be null");
+		try (FileChannel ch = FileChannel.open(file)) {
+			return parse(ch);
+		}
+	}
+
+	/**
+	 * Parse a puzzle from a channel, reading it to the end (the channel is not closed)
+	 *
+	 * @param ch the channel
+	 * @return the definition
+	 * @throws IOException if the channel cannot be read
+	 */
+	public PuzzleDefinition parse(ReadableByteChannel ch) throws IOException {
+		if (ch == null)
+			throw new IllegalArgumentException("ch cannot be null");
+		if (buffer == null)   // made on first use, so parsing only buffers never allocates one
+			buffer = ByteBuffer.allocateDirect(bufferSize);
+		buffer.clear().flip();   // empty, so the first read fills it
+		this.ch = ch;
+		this.in = buffer;
+		try {
+			return parse();
+		} finally {
+			this.ch = null;
+			this.in = null;
+		}
+	}
+
+	/**
+	 * Parse a puzzle from the remaining bytes of a buffer (for example a region of a
+	 * memory-mapped file), leaving the buffer's position at its limit
+	 *
+	 * @param bytes the buffer
+	 * @return the definition
+	 */
+	public PuzzleDefinition parse(ByteBuffer bytes) {
+		if (bytes == null)
+			throw new IllegalArgumentException("bytes cannot be null");
+		this.in = bytes;
+		try {
+			return parse();
+		} catch (IOException e) {
+			throw new NonogramException("unexpected read error (" + e.getMessage() + ")");   // a buffer is never read from a channel
+		} finally {
+			this.in = null;
+		}
+	}
+
+	/**
+	 * Parse the puzzle, a line at a time (the line-by-line rules are those of PuzzleDefinition.parse)
+	 *
+	 * @return the definition
+	 * @throws IOException if the channel cannot be read
+	 */
+	private PuzzleDefinition parse() throws IOException {
+		ArrayList<NGPattern> rowNGPatterns = new ArrayList<>();
+		ArrayList<NGPattern> colNGPatterns = new ArrayList<>();
+		LinkedHashMap<String, String> metadata = new LinkedHashMap<>();
+		int     numRows = -1;
+		int     numCols = -1;
+		String  goal    = null;
+		boolean onRows  = false;
+		boolean onCols  = false;
+		skipLF = false;
+		while (readLine()) {
+			if (startsWith(WIDTH)) {
+				numCols = parseSize(WIDTH.length, "width");
+			} else if (startsWith(HEIGHT)) {
+				numRows = parseSize(HEIGHT.length, "height");
+			} else if (startsWith(GOAL)) {
+				int first = indexOf('"', 0);
+				int last  = lastIndexOf('"');
+				if ((first < 0) || (last <= first))
+					throw new NonogramException("goal must be quoted (" + text(0, len) + ")");
+				goal = text(first+1, last);
+			} else if (startsWith(ROWS)) {
+				onRows = true;
+				onCols = false;
+			} else if (startsWith(COLUMNS)) {
+				onCols = true;
+				onRows = false;
+			} else if (onRows && (rowNGPatterns.size() < numRows)) {
+				rowNGPatterns.add(new NGPattern(parseNums(), numCols));
+			} else if (onCols && (colNGPatterns.size() < numCols)) {
+				colNGPatterns.add(new NGPattern(parseNums(), numRows));
+			} else if (!onRows && !onCols && (len > 0) && isLetter(line[0])) {
+				int    space = indexOf(' ', 0);
+				String key   = (space < 0) ? text(0, len) : text(0, space);
+				int    from  = (space < 0) ? len : space+1;
+				int    to    = len;
+				while ((from < to) && ((line[from] & 0xff) <= ' '))
+					from++;
+				while ((to > from) && ((line[to-1] & 0xff) <= ' '))
+					to--;
+				if ((to - from >= 2) && (line[from] == '"') && (line[to-1] == '"')) {
+					from++;
+					to--;
+				}
+				metadata.put(key, text(from, to));
+			}
+		}
+
+		if (rowNGPatterns.size() != numRows)
+			throw new NonogramException("incorrect number of rows ("+rowNGPatterns.size()+")");
+		if (colNGPatterns.size() != numCols)
+			throw new NonogramException("incorrect number of cols ("+colNGPatterns.size()+")");
+
+		if ((goal != null) && (goal.length() != numRows*numCols))
+			throw new NonogramException("goal must be " + numRows*numCols + " chars long (" + goal.length() + ")");
+
+		return new PuzzleDefinition(rowNGPatterns.toArray(new NGPattern[0]),
+				colNGPatterns.toArray(new NGPattern[0]), goal, metadata);
+	}
+
+	/**
+	 * Read the next line into the line buffer, without its terminator (\n, \r\n or \r)
+	 *
+	 * @return true if a line was read, false at the end of the input
+	 * @throws IOException if the channel cannot be read
+	 */
+	private boolean readLine() throws IOException {
+		len = 0;
+		if (skipLF) {   // the last line ended with \r, which may be half of \r\n
+			skipLF = false;
+			if (!in.hasRemaining() && !fill())
+				return false;
+			if (in.get(in.position()) == '\n')
+				in.get();
+		}
+		boolean any = false;
+		while (in.hasRemaining() || fill()) {
+			any = true;
+			// find the end of the line in what is buffered, then copy that much in bulk
+			int start = in.position();
+			int limit = in.limit();
+			int end   = start;
+			while ((end < limit) && (in.get(end) != '\n') && (in.get(end) != '\r'))
+				end++;
+			int n = end - start;
+			if (len + n > line.length)
+				line = Arrays.copyOf(line, Math.max(2*line.length, len + n));
+			in.get(line, len, n);
+			len += n;
+			if (end < limit) {
+				skipLF = (in.get() == '\r');
+				return true;
+			}
+		}
+		return any;
+	}
+
+	/**
+	 * Refill the read buffer from the channel
+	 *
+	 * @return true if there are more bytes, false at the end of the input
+	 * @throws IOException if the channel cannot be read
+	 */
+	private boolean fill() throws IOException {
+		if (ch == null)
+			return false;
+		buffer.clear();
+		int n;
+		do {
+			n = ch.read(buffer);
+		} while (n == 0);
+		buffer.flip();
+		return n > 0;
+	}
+
+	/**
+	 * Does the line start with a keyword?
+	 *
+	 * @param keyword the keyword bytes
+	 * @return true if it does, otherwise false
+	 */
+	private boolean startsWith(byte[] keyword) {
+		if (len < keyword.length)
+			return false;
+		for (int i=0; i<keyword.length; i++)
+			if (line[i] != keyword[i])
+				return false;
+		return true;
+	}
+
+	/**
+	 * Parse the size given on a width or height line (the word following the keyword)
+	 *
+	 * @param from the index just after the keyword
+	 * @param name "width" or "height"
+	 * @return the size
+	 */
+	private int parseSize(int from, String name) {
+		int start = Math.min(from+1, len);   // one separator, as for line.split("\\W")
+		int end   = start;
+		while ((end < len) && isWordChar(line[end]))
+			end++;
+		int size = parseInt(start, end);
+		if (size < 0)
+			throw new NonogramException("non-integer " + name + " (" + text(start, end) + ")");
+		if (size < Nonogram.MIN_SIZE)
+			throw new NonogramException(name + " cannot be shorter than " + Nonogram.MIN_SIZE);
+		return size;
+	}
+
+	/**
+	 * Parse the line as comma separated clue numbers.  Like String.split(","), trailing
+	 * empty fields are dropped, so "1,1," is 1,1 and a line of only commas has no numbers.
+	 *
+	 * @return the numbers
+	 */
+	private int[] parseNums() {
+		int n     = 0;
+		int start = 0;
+		int stop  = len;   // the end of the last non-empty field
+		while ((stop > 0) && (line[stop-1] == ','))
+			stop--;
+		while ((stop > 0) || (len == 0)) {
+			int end = indexOf(',', start);
+			if ((end < 0) || (end > stop))
+				end = stop;
+			int from = start;
+			int to   = end;
+			while ((from < to) && ((line[from] & 0xff) <= ' '))
+				from++;
+			while ((to > from) && ((line[to-1] & 0xff) <= ' '))
+				to--;
+			boolean negative = (from < to) && (line[from] == '-');
+			boolean signed   = negative || ((from < to) && (line[from] == '+'));
+			int     num      = parseInt(signed ? from+1 : from, to);
+			if (num < 0)
+				throw new NonogramException("non-integer num (" + text(start, end) + ")");
+			if (n == nums.length)
+				nums = Arrays.copyOf(nums, 2*n);
+			nums[n++] = negative ? -num : num;
+			if (end == stop)
+				break;
+			start = end+1;
+		}
+		int[] result = Arrays.copyOf(nums, n);
+		if (!NGPattern.checkNums(result))
+			throw new NonogramException("nums invalid");
+		return result;
+	}
+
+	/**
+	 * Parse unsigned decimal digits
+	 *
+	 * @param from the index of the first digit
+	 * @param to the index after the last digit
+	 * @return the number, or -1 if there are no digits, a non-digit or too many digits
+	 */
+	private int parseInt(int from, int to) {
+		if (from >= to)
+			return -1;
+		long value = 0;
+		for (int i=from; i<to; i++) {
+			int d = line[i] - '0';
+			if ((d < 0) || (d > 9))
+				return -1;
+			value = value*10 + d;
+			if (value > Integer.MAX_VALUE)
+				return -1;
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Find a byte in the line
+	 *
+	 * @param b the byte
+	 * @param from the index to start at
+	 * @return the index, or -1 if it is not found
+	 */
+	private int indexOf(char b, int from) {
+		for (int i=from; i<len; i++)
+			if (line[i] == b)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Find the last occurrence of a byte in the line
+	 *
+	 * @param b the byte
+	 * @return the index, or -1 if it is not found
+	 */
+	private int lastIndexOf(char b) {
+		for (int i=len-1; i>=0; i--)
+			if (line[i] == b)
+				return i;
+		return -1;
+	}
+
+	/**
+	 * Decode part of the line
+	 *
+	 * @param from the first index
+	 * @param to the index after the last
+	 * @return the text
+	 */
+	private String text(int from, int to) {
+		return new String(line, from, to - from, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Is a byte an ASCII letter?
+	 *
+	 * @param b the byte
+	 * @return true if it is a letter, otherwise false
+	 */
+	private static boolean isLetter(byte b) {
+		return ((b >= 'a') && (b <= 'z')) || ((b >= 'A') && (b <= 'Z'));
+	}
+
+	/**
+	 * Is a byte a word character (as matched by \w)?
+	 *
+	 * @param b the byte
+	 * @return true if it is a letter, digit or underscore, otherwise false
+	 */
+	private static boolean isWordChar(byte b) {
+		return isLetter(b) || ((b >= '0') && (b <= '9')) || (b == '_');
+	}
+
+	private final int           bufferSize;           // the size of the read buffer
+	private ByteBuffer          buffer = null;        // read buffer for channels
+	private ReadableByteChannel ch     = null;        // the channel being read, or null for a buffer
+	private ByteBuffer          in     = null;        // the bytes being parsed
+	private boolean             skipLF = false;       // skip a \n at the start of the next line
+	private byte[]              line   = new byte[256];   // the current line (grown as needed)
+	private int                 len    = 0;           // the length of the current line
+	private int[]               nums   = new int[16];     // clue numbers of the current line (grown as needed)
+
+	private static final int    BUFFER_SIZE = 64 * 1024;
+	private static final byte[] WIDTH       = "width".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] HEIGHT      = "height".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] GOAL        = "goal".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] ROWS        = "rows".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] COLUMNS     = "columns".getBytes(StandardCharsets.US_ASCII);
+}
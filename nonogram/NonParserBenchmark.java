@@ -0,0 +1,106 @@
+package nonogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Compares loading a corpus of .non files with the Scanner parser
+ * (PuzzleDefinition.parse) and with the byte-level NonParser, against just reading
+ * the files' bytes.
+ *
+ * The corpus is every .non file under a directory, or, by default, a set of random
+ * puzzles written to a temporary directory.  Each way of loading is run a few times
+ * over the whole corpus and the last run is reported.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonParserBenchmark {
+	/**
+	 * Run the benchmark from the command line
+	 *
+	 * @param args the corpus directory (default: 2000 random puzzles of 10x10 to 60x60)
+	 * @throws IOException if the corpus cannot be read or written
+	 */
+	public static void main(String[] args) throws IOException {
+		Path dir = (args.length > 0) ? Paths.get(args[0]) : randomCorpus(2000);
+		ArrayList<Path> files;
+		try (Stream<Path> walk = Files.walk(dir)) {
+			files = walk.filter(p -> p.toString().endsWith(".non") && Files.isRegularFile(p))
+					.sorted()
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+		long bytes = 0;
+		for (Path file : files)
+			bytes += Files.size(file);
+
+		NonParser  parser = new NonParser();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+		double     read   = 0;
+		double     scan   = 0;
+		double     nio    = 0;
+		long       check  = 0;
+		for (int round=0; round<4; round++) {   // the first rounds warm up
+			long start = System.nanoTime();
+			for (Path file : files) {
+				try (FileChannel ch = FileChannel.open(file)) {
+					buffer.clear();
+					while (ch.read(buffer) > 0)
+						buffer.clear();
+				}
+			}
+			read  = (System.nanoTime() - start) / 1e6;
+			start = System.nanoTime();
+			for (Path file : files) {
+				try (Scanner scnr = new Scanner(file.toFile(), "UTF-8")) {
+					check += PuzzleDefinition.parse(scnr).getNumRows();
+				}
+			}
+			scan  = (System.nanoTime() - start) / 1e6;
+			start = System.nanoTime();
+			for (Path file : files)
+				check -= parser.parse(file).getNumRows();
+			nio   = (System.nanoTime() - start) / 1e6;
+			if (check != 0)
+				throw new NonogramException("the parsers disagree");
+		}
+		System.out.println("files,bytes,readMs,scannerMs,nonParserMs,scannerMBps,nonParserMBps");
+		System.out.println(String.format("%d,%d,%.1f,%.1f,%.1f,%.1f,%.1f", files.size(), bytes, read, scan, nio,
+				bytes / 1e3 / scan, bytes / 1e3 / nio));
+	}
+
+	/**
+	 * Write random puzzles, with goals and metadata, to a temporary directory (deleted on exit)
+	 *
+	 * @param count the number of puzzles
+	 * @return the directory
+	 * @throws IOException if the files cannot be written
+	 */
+	private static Path randomCorpus(int count) throws IOException {
+		Path dir = Files.createTempDirectory("nons");
+		dir.toFile().deleteOnExit();
+		for (int i=0; i<count; i++) {
+			int      size = 10 + i % 51;
+			Nonogram ng   = NonogramBenchmark.randomPuzzle(size, size, i);
+			StringBuffer sb = new StringBuffer();
+			sb.append("catalogue \"random #" + i + "\"\n");
+			sb.append("title \"Random " + size + "x" + size + "\"\n");
+			sb.append("by \"NonParserBenchmark\"\n");
+			sb.append("license CC0\n");
+			sb.append(ng.toStringAsNonFile());   // with the random grid as the goal
+			Path file = dir.resolve("random" + i + ".non");
+			Files.write(file, sb.toString().getBytes(StandardCharsets.UTF_8));
+			file.toFile().deleteOnExit();
+		}
+		return dir;
+	}
+}
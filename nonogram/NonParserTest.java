@@ -0,0 +1,126 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Scanner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test class NonParserTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonParserTest
+{
+    NonParser parser = null;
+
+    /**
+     * Default constructor for test class NonParserTest
+     */
+    public NonParserTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+        // a tiny read buffer, so lines straddle the refills
+        parser = new NonParser(7);
+    }
+
+    /**
+     * Check that two definitions are the same
+     */
+    private static void assertSameDefinition(PuzzleDefinition expected, PuzzleDefinition actual) {
+        assertEquals(expected.getNumRows(), actual.getNumRows());
+        assertEquals(expected.getNumCols(), actual.getNumCols());
+        for (int row=0; row<expected.getNumRows(); row++)
+            assertArrayEquals(expected.getRowPattern(row).getNums(), actual.getRowPattern(row).getNums());
+        for (int col=0; col<expected.getNumCols(); col++)
+            assertArrayEquals(expected.getColPattern(col).getNums(), actual.getColPattern(col).getNums());
+        assertEquals(expected.getGoal(), actual.getGoal());
+        assertEquals(expected.getMetadata(), actual.getMetadata());
+    }
+
+    /**
+     * Parse text with the NonParser, through a channel
+     */
+    private PuzzleDefinition parse(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        return parser.parse(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void testFilesMatchScannerParse() throws IOException {
+        for (String name : new String[] {"tiny.non", "test15.non", "6.non"}) {
+            Path file = Paths.get("nons", name);
+            PuzzleDefinition expected = PuzzleDefinition.parse(new Scanner(new File(file.toString()), "UTF-8"));
+            assertSameDefinition(expected, parser.parse(file));
+            assertSameDefinition(expected, new NonParser().parse(ByteBuffer.wrap(Files.readAllBytes(file))));
+        }
+        PuzzleDefinition six = parser.parse(Paths.get("nons", "6.non"));
+        assertEquals("Scardy Cat", six.getMetadata("title"));
+        assertEquals("\u00a9 2004 Jan Wolter", six.getMetadata("copyright"));
+    }
+
+    @Test
+    public void testLineEndings() throws IOException {
+        String text = "title \"t\"\nwidth 5\nheight 5\nrows\n1\n2\n3\n4\n5\ncolumns\n5\n4\n3\n2\n1\n";
+        PuzzleDefinition expected = PuzzleDefinition.parse(new Scanner(text));
+        assertSameDefinition(expected, parse(text));
+        assertSameDefinition(expected, parse(text.replace("\n", "\r\n")));
+        assertSameDefinition(expected, parse(text.replace("\n", "\r")));
+        assertSameDefinition(expected, parse(text.substring(0, text.length()-1)));
+        assertSameDefinition(expected, parse(text.replace("1\n2\n", " 1 \n+2\n")));
+        assertSameDefinition(expected, parse(text.replace("1\n2\n", "1,\n2,,\n")));
+    }
+
+    @Test
+    public void testErrorsMatchScannerParse() {
+        String[] bad = {
+            "width x\n",
+            "width 3\n",
+            "width 5\nheight 5\nrows\n1\n1,,1\n",
+            "width 5\nheight 5\nrows\n1\n1,1, \n",
+            "width 5\nheight 5\nrows\n1\n,1\n",
+            "width 5\nheight 5\nrows\n1\n\n",
+            "width 5\nheight 5\nrows\n1\n,\n",
+            "width 5\nheight 5\nrows\n1\n-1\n",
+            "width 5\nheight 5\nrows\n1\n99999999999\n",
+            "width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n",
+            "width 5\nheight 5\ngoal 11\n",
+            "width 5\nheight 5\ngoal \"11\"\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n",
+        };
+        for (String text : bad) {
+            NonogramException expected = assertThrows(NonogramException.class, () -> PuzzleDefinition.parse(new Scanner(text)));
+            NonogramException actual   = assertThrows(NonogramException.class, () -> parse(text));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -1,15 +1,28 @@
 package nonogram;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.StampedLock;
 
 /**
  * A Nonogram puzzle.
  * 
+ * Changes are reported to NonogramListeners, each subscribed to only the kinds of
+ * event it wants (see addListener).
+ * 
+ * A puzzle may be read by several threads (for example a solver or hint thread) while
+ * another (for example the EDT) makes moves.  Reads of a cell, a line, a line's status,
+ * the solved status or the hash are optimistic: they take no lock and are only retried,
+ * under a read lock, if a write overlapped them, so readers do not hold up writers and
+ * always see a whole line as it was between two writes.  Each write brings the status
+ * of the lines it changed up to date before it releases the write lock, so a reader
+ * never has to.  Writes are made one at a time, each together with the events it fires.
+ * 
  * @author Dr Mark C. Sinclair
  * @version September 2022
  */
-@SuppressWarnings("deprecation")
-public class Nonogram extends Observable {
+public class Nonogram {
 	/**
 	 * Constructor from a scanner (.non file format)
    * see https://github.com/mikix/nonogram-db/blob/master/FORMAT.md
@@ -17,97 +30,127 @@ public class Nonogram extends Observable {
 	 * @param scnr the scanner
 	 */
 	public Nonogram(Scanner scnr) {
-		ArrayList<NGPattern> rowNGPatterns = new ArrayList<>();
-		ArrayList<NGPattern> colNGPatterns = new ArrayList<>();
-		boolean onRows = false;
-		boolean onCols = false;
-		while (scnr.hasNextLine()) {
-			String line = scnr.nextLine();
-			if (line.startsWith("width")) {
-				String[] fields = line.split("\\W");
-				try {
-					numCols = Integer.parseInt(fields[1]);
-				} catch (NumberFormatException e) {
-					throw new NonogramException("non-integer width (" +fields[1]+ ")");
-				}
-				if (numCols < MIN_SIZE)
-					throw new NonogramException("width cannot be shorter than " + MIN_SIZE);
-			} else if (line.startsWith("height")) {
-				String[] fields = line.split("\\W");
-				try {
-					numRows = Integer.parseInt(fields[1]);
-				} catch (NumberFormatException e) {
-					throw new NonogramException("non-integer height (" +fields[1]+ ")");
-				}	
-				if (numRows < MIN_SIZE)
-					throw new NonogramException("height cannot be shorter than " + MIN_SIZE);
-			} else if (line.startsWith("rows")) {
-				onRows = true;
-				onCols = false;
-			} else if (line.startsWith("columns")) {
-				onCols = true;
-				onRows = false;
-			} else if (onRows && (rowNGPatterns.size() < numRows)) {
-				String[]  fields = line.split(",");
-				int[]     nums   = new int[fields.length];
-				int       i      = 0;
-				try {
-					for (i=0; i<fields.length; i++)
-						nums[i] = Integer.parseInt(fields[i].trim());
-				} catch (NumberFormatException e) {
-					throw new NonogramException("non-integer num (" +fields[i]+ ")");
-				}		
-				if (!NGPattern.checkNums(nums))
-					throw new NonogramException("nums invalid");
-				NGPattern pat = new NGPattern(nums, numCols);
-				rowNGPatterns.add(pat);
-			} else if (onCols && (colNGPatterns.size() < numCols)) {
-				String[]  fields = line.split(",");
-				int[]     nums   = new int[fields.length];
-				int       i      = 0;
-				try {
-					for (i=0; i<fields.length; i++)
-						nums[i] = Integer.parseInt(fields[i].trim());
-				} catch (NumberFormatException e) {
-					throw new NonogramException("non-integer num (" +fields[i]+ ")");
-				}
-				if (!NGPattern.checkNums(nums))
-					throw new NonogramException("nums invalid");
-				NGPattern pat = new NGPattern(nums, numRows);
-				colNGPatterns.add(pat);
-			}
-		}
-		
-		if (rowNGPatterns.size() != numRows)
-			throw new NonogramException("incorrect number of rows ("+rowNGPatterns.size()+")");
-		if (colNGPatterns.size() != numCols)
-			throw new NonogramException("incorrect number of cols ("+colNGPatterns.size()+")");
-		
-		// create grid of cells
-		cells = new Cell[numRows][numCols];
+		this(PuzzleDefinition.parse(scnr));
+	}
+	
+	/**
+	 * Constructor from the clues (the patterns of contiguous full cells for each row and column)
+	 * 
+	 * @param rowNums the pattern for each row
+	 * @param colNums the pattern for each column
+	 * @param goal the solution as a string of cell states, row by row (or null if not known)
+	 */
+	public Nonogram(int[][] rowNums, int[][] colNums, String goal) {
+		this(new PuzzleDefinition(rowNums, colNums, goal));
+	}
+	
+	/**
+	 * Constructor from a puzzle definition, which is shared rather than copied, so many
+	 * games of the same puzzle hold only their own cell states
+	 * 
+	 * @param def the puzzle definition
+	 */
+	public Nonogram(PuzzleDefinition def) {
+		if (def == null)
+			throw new IllegalArgumentException("def cannot be null");
+		this.def     = def;
+		this.numRows = def.getNumRows();
+		this.numCols = def.getNumCols();
+		init();
+	}
+	
+	/**
+	 * Create the grid of cells and the row and column constraints
+	 * 
+	 * The grid is packed: each row and each column is a BitLine (a FULL mask and an EMPTY
+	 * mask), so a cell costs four bits (two in its row, two in its column) rather than
+	 * a Cell object.  The constraints are views over these lines, checked against the
+	 * definition's shared patterns.
+	 */
+	private void init() {
+		// create grid of cells, all UNKNOWN
+		rowLines = new BitLine[numRows];
 		for (int row=0; row<numRows; row++)
-			for (int col=0; col<numCols; col++)
-				cells[row][col] = new Cell(this, row, col);
+			rowLines[row] = new BitLine(numCols);
+		colLines = new BitLine[numCols];
+		for (int col=0; col<numCols; col++)
+			colLines[col] = new BitLine(numRows);
+		lineGen = new long[numRows + numCols];   // all owned, until the first snapshot
 		
 		// create row constraints
-		rows            = new Constraint[numRows];
-		Cell[] rowCells = new Cell[numCols];
-		for (int row=0; row<numRows; row++) {
-			for (int col=0; col<numCols; col++)
-				rowCells[col] = cells[row][col];
-			rows[row] = new Constraint(rowNGPatterns.get(row), rowCells);
-		}
+		rows = new Constraint[numRows];
+		for (int row=0; row<numRows; row++)
+			rows[row] = new Constraint(def.getRowPattern(row), this, true, row);
 		
 		// create column constraints
-		cols            = new Constraint[numCols];
-		Cell[] colCells = new Cell[numRows];
-		for (int col=0; col<numCols; col++) {
-			for (int row=0; row<numRows; row++)
-				colCells[row] = cells[row][col];
-			cols[col] = new Constraint(colNGPatterns.get(col), colCells);
+		cols = new Constraint[numCols];
+		for (int col=0; col<numCols; col++)
+			cols[col] = new Constraint(def.getColPattern(col), this, false, col);
+		
+		// line status, rows then columns, all to be worked out on first use
+		status      = new byte[numRows + numCols];
+		stale       = new int[numRows + numCols];
+		staleCount  = 0;
+		solvedLines = 0;
+		for (int line=0; line<numRows+numCols; line++)
+			markStale(line);
+		refreshStatus();
+	}
+	
+	/**
+	 * Note that a line's status (valid, solved) must be worked out again
+	 * 
+	 * @param line the line (a row, or numRows + a column)
+	 */
+	private void markStale(int line) {
+		if ((status[line] & STALE) == 0) {
+			status[line] |= STALE;
+			stale[staleCount++] = line;
+		}
+	}
+	
+	/**
+	 * Work out the status of every line changed since the last refresh, keeping the count
+	 * of solved lines.  Every write calls this before releasing the write lock, so no line
+	 * is stale outside a write.
+	 */
+	private void refreshStatus() {
+		while (staleCount > 0) {
+			int        line = stale[--staleCount];
+			Constraint c    = (line < numRows) ? rows[line] : cols[line - numRows];
+			if ((status[line] & SOLVED) != 0)
+				solvedLines--;
+			byte s = 0;
+			if (c.isSolved())
+				s = VALID | SOLVED;   // a solved line is valid too
+			else if (c.isValid())
+				s = VALID;
+			status[line] = s;
+			if ((s & SOLVED) != 0)
+				solvedLines++;
 		}
 	}
 	
+	/**
+	 * Retrieve the up to date status of a line
+	 * 
+	 * @param line the line (a row, or numRows + a column)
+	 * @return the VALID and SOLVED flags
+	 */
+	private byte lineStatus(int line) {
+		long stamp = lock.tryOptimisticRead();
+		byte s     = status[line];
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				s = status[line];
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return s;
+	}
+	
 	/**
 	 * Retrieve the number of rows
 	 * 
@@ -138,11 +181,21 @@ public class Nonogram extends Observable {
 			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
 		if ((col < 0)  || (col >= numCols))
 			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
-		return cells[row][col].getState();
+		long stamp = lock.tryOptimisticRead();
+		int  state = rowLines[row].get(col);
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				state = rowLines[row].get(col);
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return state;
 	}
 	
 	/**
-	 * Set the state of an individual cell, notifying observers
+	 * Set the state of an individual cell, notifying listeners
 	 * 
 	 * @param row the cell row
 	 * @param col the cell column
@@ -155,10 +208,43 @@ public class Nonogram extends Observable {
 			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
 		if (!Cell.isValidState(state))
 			throw new IllegalArgumentException("invalid state (" + state + ")");
-		cells[row][col].setState(state);
-		trace("notifyObservers: row: "+row+"; col : "+col+"; state: "+state);
-		setChanged();
-		notifyObservers(cells[row][col]);
+		writers.lock();
+		try {
+			long stamp = lock.writeLock();
+			try {
+				putState(row, col, state);
+				refreshStatus();
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+			if (listenerEvents != 0) {
+				trace("fireChanges: row: "+row+"; col : "+col+"; state: "+state);
+				fireChanges(new CellChanges(new Cell(this, row, col, state)));
+			}
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	/**
+	 * Set the state of an individual cell in both its row and column lines (dropping
+	 * their cached sequences and status, and updating the hash), without checking the
+	 * arguments or notifying listeners.  The caller must hold the write lock, and call
+	 * refreshStatus before releasing it.
+	 * 
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @param state the new state
+	 */
+	void putState(int row, int col, int state) {
+		own(row, col);
+		hash ^= Zobrist.change(row*numCols + col, rowLines[row].get(col), state);
+		rowLines[row].set(col, state);
+		colLines[col].set(row, state);
+		rows[row].cellChanged();
+		cols[col].cellChanged();
+		markStale(row);
+		markStale(numRows + col);
 	}
 	
 	/**
@@ -173,12 +259,264 @@ public class Nonogram extends Observable {
 	}
 	
 	/**
-	 * Clear all the cells in the puzzle (set to UNKNOWN)
+	 * Set the states of many cells at once, notifying listeners once with a CellChanges
+	 * listing every cell that changed (listeners are not notified if none did).  The moves
+	 * are applied in order, so a later move of the same cell wins.  All the moves are
+	 * checked before any is applied.
+	 * 
+	 * @param moves the Assigns to apply
+	 */
+	public void applyAll(Collection<Assign> moves) {
+		if (moves == null)
+			throw new IllegalArgumentException("moves cannot be null");
+		for (Assign move : moves) {
+			if (move == null)
+				throw new IllegalArgumentException("cannot have null move");
+			if (move.getRow() >= numRows)
+				throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
+			if (move.getCol() >= numCols)
+				throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
+		}
+		BitSet touched = new BitSet();
+		int[]  changed = new int[Math.min(moves.size(), numRows*numCols)];
+		int    count   = 0;
+		writers.lock();
+		try {
+			long stamp = lock.writeLock();
+			try {
+				for (Assign move : moves)
+					count = change(move.getRow(), move.getCol(), move.getState(), touched, changed, count);
+				refreshStatus();
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+			notifyChanges(changed, count);
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	/**
+	 * Clear all the cells in the puzzle (set to UNKNOWN), notifying listeners once with
+	 * a CellChanges listing the cells that were not already UNKNOWN
 	 */
 	public void clear() {
-		for (int row=0; row<numRows; row++)
-			for (int col=0; col<numCols; col++)
-				setState(row, col, UNKNOWN);
+		BitSet touched = new BitSet();
+		int[]  changed = new int[numRows*numCols];
+		int    count   = 0;
+		writers.lock();
+		try {
+			long stamp = lock.writeLock();
+			try {
+				for (int row=0; row<numRows; row++)
+					for (int col=0; col<numCols; col++)
+						count = change(row, col, UNKNOWN, touched, changed, count);
+				refreshStatus();
+			} finally {
+				lock.unlockWrite(stamp);
+			}
+			notifyChanges(changed, count);
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	/**
+	 * Set the state of one cell as part of a bulk update, noting the cell the first time it
+	 * changes.  The caller must hold the write lock.
+	 * 
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @param state the new state
+	 * @param touched the cells changed so far, as row*numCols + col
+	 * @param changed the cells changed so far, in order
+	 * @param count the number of entries in changed
+	 * @return the new number of entries in changed
+	 */
+	private int change(int row, int col, int state, BitSet touched, int[] changed, int count) {
+		if (rowLines[row].get(col) == state)
+			return count;
+		putState(row, col, state);
+		int cell = row*numCols + col;
+		if (!touched.get(cell)) {
+			touched.set(cell);
+			changed[count++] = cell;
+		}
+		return count;
+	}
+	
+	/**
+	 * Notify listeners of a bulk update, if it changed anything
+	 * 
+	 * @param changed the changed cells, as row*numCols + col
+	 * @param count the number of entries in changed
+	 */
+	private void notifyChanges(int[] changed, int count) {
+		if ((count == 0) || (listenerEvents == 0))
+			return;
+		trace("fireChanges: " + count + " cells");
+		ArrayList<Cell> cells = new ArrayList<>(count);
+		for (int i=0; i<count; i++) {
+			int row = changed[i] / numCols;
+			int col = changed[i] % numCols;
+			cells.add(new Cell(this, row, col, rowLines[row].get(col)));
+		}
+		fireChanges(new CellChanges(cells));
+	}
+	
+	/**
+	 * Send the events for a change to the listeners subscribed to them: the cells, then
+	 * the rows and columns whose status changed, then the puzzle solved status if it changed.
+	 * The caller must hold the writers lock (so no other write can come between the change
+	 * and its events), but not the write lock, so the listeners can read the puzzle.
+	 * 
+	 * @param changes the changed cells
+	 */
+	private void fireChanges(CellChanges changes) {
+		int events = listenerEvents;
+		if ((events & NonogramListener.CELL_EVENTS) != 0)
+			for (Subscription sub : listeners)
+				if ((sub.events & NonogramListener.CELL_EVENTS) != 0)
+					sub.listener.cellsChanged(changes);
+		if ((events & (NonogramListener.LINE_EVENTS | NonogramListener.SOLVED_EVENTS)) == 0)
+			return;
+		// the status was brought up to date by the write, and only writes (which wait for us) change it
+		if ((events & NonogramListener.LINE_EVENTS) != 0) {
+			for (int row : changes.getRows())
+				fireLineStatus(row);
+			for (int col : changes.getCols())
+				fireLineStatus(numRows + col);
+		}
+		if ((events & NonogramListener.SOLVED_EVENTS) != 0) {
+			boolean solved = (solvedLines == numRows + numCols);
+			for (Subscription sub : listeners) {
+				if (((sub.events & NonogramListener.SOLVED_EVENTS) != 0) && (solved != sub.lastSolved)) {
+					sub.lastSolved = solved;
+					sub.listener.solvedChanged(solved);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Tell each line listener about a line whose status differs from the one last reported to it
+	 * 
+	 * @param line the line (a row, or numRows + a column)
+	 */
+	private void fireLineStatus(int line) {
+		byte    current = (byte) (status[line] & (VALID | SOLVED));
+		boolean isRow   = line < numRows;
+		int     index   = isRow ? line : line - numRows;
+		for (Subscription sub : listeners) {
+			if (((sub.events & NonogramListener.LINE_EVENTS) != 0) && (current != sub.reported[line])) {
+				sub.reported[line] = current;
+				sub.listener.lineStatusChanged(isRow, index, (current & VALID) != 0, (current & SOLVED) != 0);
+			}
+		}
+	}
+	
+	/**
+	 * Subscribe a listener to every kind of event
+	 * 
+	 * @param listener the listener
+	 */
+	public void addListener(NonogramListener listener) {
+		addListener(listener, NonogramListener.ALL_EVENTS);
+	}
+	
+	/**
+	 * Subscribe a listener to some kinds of event.  Line and solved status events report
+	 * changes from the status at the time the listener is added (each listener has its
+	 * own baseline, so adding one does not affect what the others are told).
+	 * 
+	 * @param listener the listener
+	 * @param events the kinds of event wanted (NonogramListener.CELL_EVENTS, LINE_EVENTS and SOLVED_EVENTS or'ed together)
+	 */
+	public void addListener(NonogramListener listener, int events) {
+		if (listener == null)
+			throw new IllegalArgumentException("listener cannot be null");
+		if ((events & ~NonogramListener.ALL_EVENTS) != 0)
+			throw new IllegalArgumentException("invalid events (" + events + ")");
+		writers.lock();
+		try {
+			Subscription sub = new Subscription(listener, events);
+			if ((events & (NonogramListener.LINE_EVENTS | NonogramListener.SOLVED_EVENTS)) != 0) {
+				// this listener's baseline; the other listeners keep their own
+				if ((events & NonogramListener.LINE_EVENTS) != 0) {
+					sub.reported = new byte[numRows + numCols];
+					for (int line=0; line<numRows+numCols; line++)
+						sub.reported[line] = (byte) (status[line] & (VALID | SOLVED));
+				}
+				sub.lastSolved = (solvedLines == numRows + numCols);
+			}
+			listeners.add(sub);
+			listenerEvents |= events;
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	/**
+	 * Take a snapshot of the cell states and subscribe a listener in one step, with no
+	 * write in between: the listener is told about every change made after the snapshot,
+	 * and about none made before it
+	 * 
+	 * @param listener the listener
+	 * @param events the kinds of event wanted (see addListener)
+	 * @return the snapshot
+	 */
+	public GridSnapshot snapshotAndAddListener(NonogramListener listener, int events) {
+		writers.lock();   // held by every write until its events have been sent
+		try {
+			GridSnapshot snap = snapshot();
+			addListener(listener, events);
+			return snap;
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	/**
+	 * Unsubscribe a listener from all events
+	 * 
+	 * @param listener the listener
+	 */
+	public void removeListener(NonogramListener listener) {
+		writers.lock();
+		try {
+			int events = 0;
+			for (Subscription sub : listeners) {
+				if (sub.listener == listener)
+					listeners.remove(sub);
+				else
+					events |= sub.events;
+			}
+			listenerEvents = events;
+		} finally {
+			writers.unlock();
+		}
+	}
+	
+	/**
+	 * A listener, the kinds of event it subscribed to, and the line and solved status last
+	 * reported to it (guarded by the writers lock)
+	 */
+	private static class Subscription {
+		/**
+		 * Constructor
+		 * 
+		 * @param listener the listener
+		 * @param events the kinds of event wanted
+		 */
+		Subscription(NonogramListener listener, int events) {
+			this.listener = listener;
+			this.events   = events;
+		}
+		
+		private final NonogramListener listener;
+		private final int              events;
+		private byte[]                 reported   = null;    // the status of each line last sent, if it wants LINE_EVENTS
+		private boolean                lastSolved = false;   // the solved status last sent
 	}
 	
 	/**
@@ -205,6 +543,155 @@ public class Nonogram extends Observable {
 		return cols[col].getNums();
 	}
 	
+	/**
+	 * Retrieve the constraint for a given row
+	 * 
+	 * @param row the desired row
+	 * @return the row constraint
+	 */
+	Constraint getRowConstraint(int row) {
+		if ((row < 0)  || (row >= numRows))
+			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
+		return rows[row];
+	}
+	
+	/**
+	 * Retrieve the constraint for a given column
+	 * 
+	 * @param col the desired column
+	 * @return the column constraint
+	 */
+	Constraint getColConstraint(int col) {
+		if ((col < 0)  || (col >= numCols))
+			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
+		return cols[col];
+	}
+	
+	/**
+	 * Retrieve the packed cell states of a given row (the puzzle's own line, not a copy,
+	 * so it may change under a reader on another thread; see snapshot)
+	 * 
+	 * @param row the desired row
+	 * @return the row line
+	 */
+	BitLine getRowLine(int row) {
+		return rowLines[row];
+	}
+	
+	/**
+	 * Retrieve the packed cell states of a given column (the puzzle's own line, not a copy,
+	 * so it may change under a reader on another thread; see snapshot)
+	 * 
+	 * @param col the desired column
+	 * @return the column line
+	 */
+	BitLine getColLine(int col) {
+		return colLines[col];
+	}
+	
+	/**
+	 * Take an immutable snapshot of the cell states, in O(1): the snapshot shares the
+	 * current row and column lines.  The first change after a snapshot copies the two
+	 * arrays of line references (numRows + numCols references, not cells), and each line
+	 * is copied only when it is next changed (see own).  Work on the snapshot sees the
+	 * grid as it is now, on any thread, however many moves are made meanwhile.
+	 * 
+	 * @return the snapshot
+	 */
+	public GridSnapshot snapshot() {
+		long stamp = lock.writeLock();   // brief, but it must not overlap a write
+		try {
+			GridSnapshot snap = new GridSnapshot(def, rowLines, colLines, hash);
+			linesShared = true;
+			generation++;                 // every line is now shared with the snapshot
+			return snap;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	/**
+	 * Make sure the puzzle owns (does not share with a snapshot) a cell's row and column
+	 * lines, and the arrays holding them, copying them if need be: O(numRows + numCols)
+	 * for the arrays on the first change after a snapshot, then O(line words) for each
+	 * line the first time it changes.  The caller must hold the write lock.
+	 * 
+	 * @param row the cell row
+	 * @param col the cell column
+	 */
+	private void own(int row, int col) {
+		if (linesShared) {
+			rowLines    = rowLines.clone();
+			colLines    = colLines.clone();
+			linesShared = false;
+		}
+		if (lineGen[row] != generation) {
+			rowLines[row] = new BitLine(rowLines[row]);
+			lineGen[row]  = generation;
+		}
+		if (lineGen[numRows + col] != generation) {
+			colLines[col] = new BitLine(colLines[col]);
+			lineGen[numRows + col] = generation;
+		}
+	}
+	
+	/**
+	 * Retrieve the cell states of a given row, all as they were at one moment
+	 * 
+	 * @param row the desired row
+	 * @return the row cell states
+	 */
+	public int[] getRowStates(int row) {
+		if ((row < 0)  || (row >= numRows))
+			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
+		return copyStates(true, row);
+	}
+	
+	/**
+	 * Retrieve the cell states of a given column, all as they were at one moment
+	 * 
+	 * @param col the desired column
+	 * @return the column cell states
+	 */
+	public int[] getColStates(int col) {
+		if ((col < 0)  || (col >= numCols))
+			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
+		return copyStates(false, col);
+	}
+	
+	/**
+	 * Copy the cell states of a line, retrying under the read lock if a write overlapped the copy
+	 * 
+	 * @param isRow true for a row, false for a column
+	 * @param index the row or column number
+	 * @return the cell states
+	 */
+	private int[] copyStates(boolean isRow, int index) {
+		int[] states = new int[isRow ? numCols : numRows];
+		long  stamp  = lock.tryOptimisticRead();
+		readStates(isRow ? rowLines[index] : colLines[index], states);
+		if (lock.validate(stamp))
+			return states;
+		stamp = lock.readLock();
+		try {
+			readStates(isRow ? rowLines[index] : colLines[index], states);
+			return states;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Unpack the cell states of a line
+	 * 
+	 * @param line the line
+	 * @param states receives the cell states
+	 */
+	private static void readStates(BitLine line, int[] states) {
+		for (int i=0; i<states.length; i++)
+			states[i] = line.get(i);
+	}
+	
 	/**
 	 * Retrieve the cell states for a given row as a sequence string
 	 * 
@@ -214,7 +701,17 @@ public class Nonogram extends Observable {
 	public String getRowSequence(int row) {
 		if ((row < 0)  || (row >= numRows))
 			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
-		return rows[row].getSequence();
+		long   stamp = lock.tryOptimisticRead();
+		String seq   = rows[row].getSequence();
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				seq = rows[row].getSequence();
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return seq;
 	}
 	
 	/**
@@ -226,11 +723,22 @@ public class Nonogram extends Observable {
 	public String getColSequence(int col) {
 		if ((col < 0)  || (col >= numCols))
 			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
-		return cols[col].getSequence();
+		long   stamp = lock.tryOptimisticRead();
+		String seq   = cols[col].getSequence();
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				seq = cols[col].getSequence();
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return seq;
 	}
 	
 	/**
-	 * Set the cell states of an entire nonogram from a single cell state string (e.g. the goal in a .non file)
+	 * Set the cell states of an entire nonogram from a single cell state string (e.g. the goal in a .non file),
+	 * notifying listeners once as for applyAll.  The whole string is checked before any cell is set.
 	 * 
 	 * @param s the goal string
 	 */
@@ -241,6 +749,7 @@ public class Nonogram extends Observable {
 			throw new IllegalArgumentException("s cannot be empty");
 		if (s.length() != numRows*numCols)
 			throw new IllegalArgumentException("s must be " + numRows*numCols + " chars long (" + s.length() + ")");
+		ArrayList<Assign> moves = new ArrayList<>(numRows*numCols);
 		for (int row=0; row<numRows; row++) {
 			for (int col=0; col<numCols; col++) {
 				int idx   = row*numCols + col;
@@ -252,9 +761,198 @@ public class Nonogram extends Observable {
 				}
 				if (!Cell.isValidState(state))
 					throw new IllegalArgumentException("invalid state (" + state + ") in s["+ idx +"]");
-				cells[row][col].setState(state);
+				moves.add(new Assign(row, col, state));
+			}
+		}
+		applyAll(moves);
+	}
+	
+	/**
+	 * Retrieve the Zobrist hash of the cell states (see Zobrist), kept up to date as cells
+	 * change.  Grids with equal states have equal hashes; grids with different states
+	 * almost certainly have different hashes.
+	 * 
+	 * @return the hash (0 when every cell is UNKNOWN)
+	 */
+	public long getHash() {
+		long stamp = lock.tryOptimisticRead();
+		long h     = hash;
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				h = hash;
+			} finally {
+				lock.unlockRead(stamp);
 			}
 		}
+		return h;
+	}
+	
+	/**
+	 * Do two puzzles of the same size have the same cell states?  The hashes are compared
+	 * first, so different grids are almost always told apart without comparing cells.
+	 * 
+	 * This puzzle is read under its read lock and the other optimistically (retried if a
+	 * write to it overlapped the comparison), so the other puzzle is left as it was and
+	 * the two locks are never waited on together.
+	 * 
+	 * @param other the other puzzle
+	 * @return true if the sizes and all the cell states are the same, otherwise false
+	 */
+	public boolean sameStates(Nonogram other) {
+		if (other == null)
+			throw new IllegalArgumentException("other cannot be null");
+		if ((numRows != other.numRows) || (numCols != other.numCols))
+			return false;
+		if (other == this)
+			return true;
+		if (getHash() != other.getHash())
+			return false;
+		long stamp = lock.readLock();
+		try {
+			while (true) {
+				long    theirs = other.lock.tryOptimisticRead();   // 0 while the other is being written
+				boolean same   = (theirs != 0) && sameLines(other);
+				if ((theirs != 0) && other.lock.validate(theirs))
+					return same;
+				Thread.onSpinWait();
+			}
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * Compare the hash and rows of this puzzle with another's, without locking the other
+	 * (the caller validates the read)
+	 * 
+	 * @param other the other puzzle, of the same size
+	 * @return true if the hash and every row are the same, otherwise false
+	 */
+	private boolean sameLines(Nonogram other) {
+		if (hash != other.hash)
+			return false;
+		BitLine[] theirs = other.rowLines;
+		for (int row=0; row<numRows; row++)
+			if (!rowLines[row].equals(theirs[row]))
+				return false;
+		return true;
+	}
+	
+	/**
+	 * Retrieve the goal (solution) given in the .non file
+	 * 
+	 * @return the goal as a string of cell states, row by row, or null if the file had no goal
+	 */
+	public String getGoal() {
+		return def.getGoal();
+	}
+	
+	/**
+	 * Retrieve the puzzle definition (clues, goal and metadata) this game is played on
+	 * 
+	 * @return the definition
+	 */
+	public PuzzleDefinition getDefinition() {
+		return def;
+	}
+	
+	/**
+	 * Count the solutions of the puzzle (from its current cell states), stopping at a limit
+	 * 
+	 * @param limit the count to stop at (usually 2, to check uniqueness)
+	 * @return the number of solutions, up to limit
+	 */
+	public int countSolutions(int limit) {
+		return countSolutions(limit, 0);
+	}
+	
+	/**
+	 * Count the solutions of the puzzle (from its current cell states), stopping at a limit or
+	 * when a time budget runs out
+	 * 
+	 * @param limit the count to stop at (usually 2, to check uniqueness)
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @return the number of solutions up to limit, or SolutionCount.UNKNOWN if the budget ran out
+	 */
+	public int countSolutions(int limit, long timeBudgetMillis) {
+		return countSolutions(limit, timeBudgetMillis, null);
+	}
+	
+	/**
+	 * Count the solutions of the puzzle (from its current cell states), stopping at a limit,
+	 * when a time budget runs out or when a token is cancelled
+	 * 
+	 * @param limit the count to stop at (usually 2, to check uniqueness)
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the number of solutions up to limit, or SolutionCount.UNKNOWN if the count was stopped
+	 */
+	public int countSolutions(int limit, long timeBudgetMillis, CancellationToken token) {
+		return new NonogramSolver(this).countSolutions(limit, timeBudgetMillis, token).getCount();
+	}
+	
+	/**
+	 * Find the cheapest single move that follows from the current cell states of one row or column
+	 * 
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @return the hint, or null if there is none or the budget ran out
+	 */
+	public Hint getHint(long timeBudgetMillis) {
+		return getHint(timeBudgetMillis, null);
+	}
+	
+	/**
+	 * Find the cheapest single move that follows from the current cell states of one row or column,
+	 * stopping when a time budget runs out or a token is cancelled
+	 * 
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the hint, or null if there is none or the search was stopped
+	 */
+	public Hint getHint(long timeBudgetMillis, CancellationToken token) {
+		return new HintFinder(this).find(timeBudgetMillis, token);
+	}
+	
+	/**
+	 * Check the goal given in the .non file against the solutions of the clues
+	 * (ignoring the current cell states)
+	 * 
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @return GOAL_OK if the goal is the unique solution, GOAL_WRONG if the unique solution
+	 *         differs from the goal, GOAL_NOT_UNIQUE if there are no or several solutions,
+	 *         or GOAL_UNKNOWN if the budget ran out
+	 */
+	public int checkGoal(long timeBudgetMillis) {
+		return checkGoal(timeBudgetMillis, null);
+	}
+	
+	/**
+	 * Check the goal given in the .non file against the solutions of the clues
+	 * (ignoring the current cell states), stopping when a time budget runs out or a
+	 * token is cancelled
+	 * 
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return GOAL_OK if the goal is the unique solution, GOAL_WRONG if the unique solution
+	 *         differs from the goal, GOAL_NOT_UNIQUE if there are no or several solutions,
+	 *         or GOAL_UNKNOWN if the check was stopped
+	 */
+	public int checkGoal(long timeBudgetMillis, CancellationToken token) {
+		String goal = def.getGoal();
+		if (goal == null)
+			throw new NonogramException("puzzle has no goal");
+		NonogramSolver solver = new NonogramSolver(this);
+		solver.clearStates();
+		SolutionCount count = solver.countSolutions(2, timeBudgetMillis, token);
+		if (count.isUnknown())
+			return GOAL_UNKNOWN;
+		else if (!count.isUnique())
+			return GOAL_NOT_UNIQUE;
+		else if (!goal.equals(count.getSolution()))
+			return GOAL_WRONG;
+		else
+			return GOAL_OK;
 	}
 	
 	/**
@@ -266,7 +964,7 @@ public class Nonogram extends Observable {
 	public boolean isRowValid(int row) {
 		if ((row < 0)  || (row >= numRows))
 			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
-		return rows[row].isValid();
+		return (lineStatus(row) & VALID) != 0;
 	}
 	
 	/**
@@ -278,7 +976,7 @@ public class Nonogram extends Observable {
 	public boolean isColValid(int col) {
 		if ((col < 0)  || (col >= numCols))
 			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
-		return cols[col].isValid();
+		return (lineStatus(numRows + col) & VALID) != 0;
 	}
 	
 	/**
@@ -290,7 +988,7 @@ public class Nonogram extends Observable {
 	public boolean isRowSolved(int row) {
 		if ((row < 0)  || (row >= numRows))
 			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + numRows);
-		return rows[row].isSolved();
+		return (lineStatus(row) & SOLVED) != 0;
 	}
 	
 	/**
@@ -302,26 +1000,34 @@ public class Nonogram extends Observable {
 	public boolean isColSolved(int col) {
 		if ((col < 0)  || (col >= numCols))
 			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + numCols);
-		return cols[col].isSolved();
+		return (lineStatus(numRows + col) & SOLVED) != 0;
 	}
 	
 	/**
 	 * Are all rows and columns, and therefore the whole puzzle, solved?
 	 * 
+	 * Each line's status is kept with a count of the solved lines, and each move checks
+	 * only the lines it changed (two for a single move), so this is a single read rather
+	 * than a check of every row and column.
+	 * 
 	 * @return true if all rows and coplumns are solved, otherwise false
 	 */
 	public boolean isSolved() {
-		for (int row=0; row<numRows; row++)
-			if (!rows[row].isSolved())
-				return false;
-		for (int col=0; col<numCols; col++)
-			if (!cols[col].isSolved())
-				return false;
-		return true;
+		long stamp  = lock.tryOptimisticRead();
+		int  solved = solvedLines;
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				solved = solvedLines;
+			} finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return solved == numRows + numCols;
 	}
 	
   /**
-   * String representation of the puzzle in .non file form
+   * String representation of the puzzle in .non file form (with a goal line if the goal is known)
    * 
    * @return the string representation
    */
@@ -335,9 +1041,11 @@ public class Nonogram extends Observable {
 			sb.append(rows[row].getNumsForNon() + "\n");
 		sb.append("\n");
 		sb.append("columns\n");
-		for (int col=0; col<numRows; col++)
+		for (int col=0; col<numCols; col++)
 			sb.append(cols[col].getNumsForNon() + "\n");
 		sb.append("\n");
+		if (def.getGoal() != null)
+			sb.append("goal \"" + def.getGoal() + "\"\n");
 		return sb.toString();
 	}
 	
@@ -357,11 +1065,36 @@ public class Nonogram extends Observable {
 	public static final int FULL    = 1;
 	public static final int UNKNOWN = 2;
 	
-	private Cell[][]     cells   = null;
-	private Constraint[] rows    = null;
-	private Constraint[] cols    = null;
-	private int          numRows = -1;
-	private int          numCols = -1;
+	public static final int GOAL_OK         = 0; // the goal is the unique solution
+	public static final int GOAL_WRONG      = 1; // the unique solution is not the goal
+	public static final int GOAL_NOT_UNIQUE = 2; // the clues have no or several solutions
+	public static final int GOAL_UNKNOWN    = 3; // the time budget ran out
+	
+	private BitLine[]        rowLines    = null;   // the grid by row
+	private BitLine[]        colLines    = null;   // the same grid by column
+	private Constraint[]     rows        = null;
+	private Constraint[]     cols        = null;
+	private int              numRows     = -1;
+	private int              numCols     = -1;
+	private PuzzleDefinition def         = null;   // the clues, goal and metadata, shared between games
+	private byte[]           status      = null;   // VALID, SOLVED and STALE flags of each row, then each column
+	private int[]            stale       = null;   // the lines whose status must be worked out again
+	private int              staleCount  = 0;
+	private int              solvedLines = 0;      // the number of lines whose status says SOLVED
+	private long             hash        = 0L;     // Zobrist hash of the cell states
+	private boolean          linesShared = false;  // rowLines and colLines are held by a snapshot
+	private long             generation  = 0L;     // the number of snapshots taken
+	private long[]           lineGen     = null;   // the generation in which each row, then column, line was last copied
+	
+	private final List<Subscription> listeners      = new CopyOnWriteArrayList<>();
+	private volatile int             listenerEvents = 0;   // the events any listener wants
+	
+	private final StampedLock        lock    = new StampedLock();     // guards the grid, hash and line status
+	private final ReentrantLock      writers = new ReentrantLock();   // one write (with its events) at a time
+	
+	private static final byte VALID  = 1;
+	private static final byte SOLVED = 2;
+	private static final byte STALE  = 4;
 	
 	private static boolean traceOn = false; // for debugging
 }
@@ -0,0 +1,396 @@
+package nonogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A headless command line tool that solves, grades and verifies every .non file under a
+ * directory, or every puzzle in an archive (see PuzzleArchive), writing one CSV or
+ * JSON-lines record per puzzle as each one finishes.
+ *
+ * Usage: java nonogram.NonogramBatch [-json] [-threads n] [-timeout ms] [dir | archive]
+ *
+ * The puzzles are worked on by a fixed number of threads, with a bounded queue so that
+ * a large catalogue is not all queued at once.  Each puzzle has a time budget shared by
+ * counting its solutions (up to 2) and grading it; a puzzle that runs out of time is
+ * reported with status "timeout".  Each record holds:
+ * <ul>
+ * <li>file (for an archive, its location such as "puzzles.nar#12"), rows, cols</li>
+ * <li>status - ok, timeout, or error (the file could not be read or parsed)</li>
+ * <li>solutions - 0, 1 or 2 (meaning 2 or more), or -1 if unknown</li>
+ * <li>technique and level - see DifficultyGrade</li>
+ * <li>goal - OK, WRONG or NONE (no goal, or the solution is not unique)</li>
+ * <li>ms, nodes, lineSolves - the effort taken</li>
+ * <li>allocBytes - bytes allocated by the worker thread for this puzzle</li>
+ * <li>peakHeapBytes - the peak heap use of the whole run so far</li>
+ * </ul>
+ * A summary line with the throughput is written to standard error at the end.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramBatch {
+	/**
+	 * Constructor
+	 *
+	 * @param out where to write the records
+	 * @param json true for JSON-lines records, false for CSV
+	 * @param threads the number of worker threads
+	 * @param timeoutMillis the time budget for each puzzle in milliseconds (0 for no limit)
+	 */
+	public NonogramBatch(PrintStream out, boolean json, int threads, long timeoutMillis) {
+		if (out == null)
+			throw new IllegalArgumentException("out cannot be null");
+		if (threads < 1)
+			throw new IllegalArgumentException("threads must be at least 1");
+		if (timeoutMillis < 0)
+			throw new IllegalArgumentException("timeoutMillis cannot be negative");
+		this.out           = out;
+		this.json          = json;
+		this.threads       = threads;
+		this.timeoutMillis = timeoutMillis;
+	}
+
+	/**
+	 * Process every .non file under a directory (including subdirectories)
+	 *
+	 * @param dir the directory
+	 * @return the number of puzzles processed
+	 * @throws IOException if the directory cannot be walked
+	 */
+	public int run(Path dir) throws IOException {
+		ArrayList<Path> files;
+		try (Stream<Path> walk = Files.walk(dir)) {
+			files = walk.filter(p -> p.toString().endsWith(".non") && Files.isRegularFile(p))
+					.sorted()
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+		return runAll(files.size(), i -> process(files.get(i)));
+	}
+
+	/**
+	 * Process every puzzle in an archive, in id order.  The archive is opened (mapped) once
+	 * and each puzzle is parsed straight from its place in it.
+	 *
+	 * @param archive the archive's data file (its index is archive + ".idx")
+	 * @return the number of puzzles processed
+	 * @throws IOException if the archive cannot be opened
+	 */
+	public int runArchive(Path archive) throws IOException {
+		PuzzleArchive pa = PuzzleArchive.open(archive);
+		return runAll(pa.size(), id -> process(archive + "#" + id, () -> pa.getDefinition(id)));
+	}
+
+	/**
+	 * Process a number of puzzles on the worker threads, writing each record as it finishes
+	 *
+	 * @param count the number of puzzles
+	 * @param task processes the puzzle with a given number (0 to count-1)
+	 * @return the number of puzzles processed
+	 */
+	private int runAll(int count, IntFunction<Record> task) {
+		if (!json)
+			out.println(CSV_HEADER);
+		long start = System.nanoTime();
+		// the bounded queue makes the submitting thread run a puzzle itself when the workers are all busy
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(2*threads), new ThreadPoolExecutor.CallerRunsPolicy());
+		for (int i=0; i<count; i++) {
+			int n = i;
+			pool.execute(() -> write(task.apply(n)));
+		}
+		pool.shutdown();
+		try {
+			pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			pool.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+		out.flush();
+		double secs = (System.nanoTime() - start) / 1e9;
+		System.err.printf("%d puzzles in %.3f s (%.1f puzzles/s, %d threads, peak heap %d bytes)%n",
+				count, secs, count / Math.max(secs, 1e-9), threads, peakHeapBytes());
+		return count;
+	}
+
+	/**
+	 * Solve, grade and verify one puzzle
+	 *
+	 * @param file the .non file
+	 * @return the record
+	 */
+	Record process(Path file) {
+		return process(file.toString(), () -> PARSERS.get().parse(file));
+	}
+
+	/**
+	 * Solve, grade and verify one puzzle
+	 *
+	 * @param name the puzzle's name in the record
+	 * @param source loads the puzzle (in the timed part of the record)
+	 * @return the record
+	 */
+	Record process(String name, Source source) {
+		Record rec   = new Record(name);
+		long   start = System.nanoTime();
+		long   alloc = allocatedBytes();
+		try {
+			Nonogram ng = new Nonogram(source.load());
+			rec.rows = ng.getNumRows();
+			rec.cols = ng.getNumCols();
+
+			NonogramSolver solver = new NonogramSolver(ng);
+			solver.clearStates();
+			SolutionCount count = solver.countSolutions(2, timeoutMillis);
+			rec.solutions  = count.getCount();
+			rec.nodes      = count.getNodes();
+			rec.lineSolves = solver.getLineSolves();
+			if (count.isUnknown()) {
+				rec.status = "timeout";
+			} else {
+				if ((ng.getGoal() != null) && count.isUnique())
+					rec.goal = ng.getGoal().equals(count.getSolution()) ? "OK" : "WRONG";
+				long left = remainingMillis(start);
+				if (left < 0) {
+					rec.status = "timeout";
+				} else {
+					DifficultyGrade grade = DifficultyGrader.grade(ng, rec.file, left);
+					rec.technique = DifficultyGrade.techniqueName(grade.getTechnique());
+					rec.level     = grade.getLevel();
+					rec.status    = ((rec.solutions > 0) && (grade.getTechnique() == DifficultyGrade.UNSOLVED)) ? "timeout" : "ok";
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			// a malformed file is reported, not fatal to the batch
+			rec.status = "error";
+			rec.error  = e.getMessage();
+		}
+		rec.millis        = (System.nanoTime() - start) / 1000000L;
+		rec.allocBytes    = (alloc < 0) ? -1 : allocatedBytes() - alloc;
+		rec.peakHeapBytes = peakHeapBytes();
+		return rec;
+	}
+
+	/**
+	 * Write a record (records from different threads are not interleaved)
+	 *
+	 * @param rec the record
+	 */
+	private synchronized void write(Record rec) {
+		out.println(json ? rec.toJson() : rec.toCsv());
+	}
+
+	/**
+	 * Calculate how much of a puzzle's time budget is left
+	 *
+	 * @param start the System.nanoTime() the puzzle was started
+	 * @return the milliseconds left (at least 1), 0 for no limit, or -1 if the budget has run out
+	 */
+	private long remainingMillis(long start) {
+		if (timeoutMillis == 0)
+			return 0;
+		long left = timeoutMillis - (System.nanoTime() - start) / 1000000L;
+		return (left > 0) ? left : -1;
+	}
+
+	/**
+	 * Retrieve the bytes allocated so far by the current thread
+	 *
+	 * @return the bytes allocated, or -1 if the JVM cannot tell
+	 */
+	private static long allocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if (bean instanceof com.sun.management.ThreadMXBean)
+			return ((com.sun.management.ThreadMXBean) bean).getCurrentThreadAllocatedBytes();
+		return -1;
+	}
+
+	/**
+	 * Retrieve the peak heap use of the JVM so far
+	 *
+	 * @return the sum of the peak use of the heap memory pools, in bytes
+	 */
+	private static long peakHeapBytes() {
+		long peak = 0;
+		for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans())
+			if (pool.getType() == MemoryType.HEAP)
+				peak += pool.getPeakUsage().getUsed();
+		return peak;
+	}
+
+	/**
+	 * Loads one puzzle's definition
+	 */
+	interface Source {
+		/**
+		 * Load the definition
+		 *
+		 * @return the definition
+		 * @throws IOException if the puzzle cannot be read
+		 */
+		PuzzleDefinition load() throws IOException;
+	}
+
+	/**
+	 * The outcome for one puzzle
+	 */
+	static class Record {
+		Record(String file) {
+			this.file = file;
+		}
+
+		/**
+		 * The record as a CSV line (matching CSV_HEADER)
+		 */
+		String toCsv() {
+			StringBuffer sb = new StringBuffer();
+			sb.append(csv(file)).append(',');
+			sb.append(rows).append(',');
+			sb.append(cols).append(',');
+			sb.append(status).append(',');
+			sb.append(solutions).append(',');
+			sb.append((technique == null) ? "" : technique).append(',');
+			sb.append((level == null) ? "" : level).append(',');
+			sb.append(goal).append(',');
+			sb.append(millis).append(',');
+			sb.append(nodes).append(',');
+			sb.append(lineSolves).append(',');
+			sb.append(allocBytes).append(',');
+			sb.append(peakHeapBytes).append(',');
+			sb.append((error == null) ? "" : csv(error));
+			return sb.toString();
+		}
+
+		/**
+		 * The record as a JSON object on one line
+		 */
+		String toJson() {
+			StringBuffer sb = new StringBuffer("{");
+			sb.append("\"file\":").append(json(file));
+			sb.append(",\"rows\":").append(rows);
+			sb.append(",\"cols\":").append(cols);
+			sb.append(",\"status\":").append(json(status));
+			sb.append(",\"solutions\":").append(solutions);
+			sb.append(",\"technique\":").append(json(technique));
+			sb.append(",\"level\":").append(json(level));
+			sb.append(",\"goal\":").append(json(goal));
+			sb.append(",\"ms\":").append(millis);
+			sb.append(",\"nodes\":").append(nodes);
+			sb.append(",\"lineSolves\":").append(lineSolves);
+			sb.append(",\"allocBytes\":").append(allocBytes);
+			sb.append(",\"peakHeapBytes\":").append(peakHeapBytes);
+			if (error != null)
+				sb.append(",\"error\":").append(json(error));
+			sb.append("}");
+			return sb.toString();
+		}
+
+		/**
+		 * Quote a CSV field if it needs it
+		 */
+		private static String csv(String s) {
+			if ((s.indexOf(',') < 0) && (s.indexOf('"') < 0) && (s.indexOf('\n') < 0))
+				return s;
+			return "\"" + s.replace("\"", "\"\"") + "\"";
+		}
+
+		/**
+		 * Quote a JSON string (or null)
+		 */
+		private static String json(String s) {
+			if (s == null)
+				return "null";
+			StringBuffer sb = new StringBuffer("\"");
+			for (int i=0; i<s.length(); i++) {
+				char c = s.charAt(i);
+				if ((c == '"') || (c == '\\'))
+					sb.append('\\').append(c);
+				else if (c < ' ')
+					sb.append(String.format("\\u%04x", (int) c));
+				else
+					sb.append(c);
+			}
+			sb.append("\"");
+			return sb.toString();
+		}
+
+		String file          = null;
+		int    rows          = 0;
+		int    cols          = 0;
+		String status        = null;
+		int    solutions     = SolutionCount.UNKNOWN;
+		String technique     = null;
+		String level         = null;
+		String goal          = "NONE";
+		long   millis        = 0;
+		long   nodes         = 0;
+		long   lineSolves    = 0;
+		long   allocBytes    = 0;
+		long   peakHeapBytes = 0;
+		String error         = null;
+	}
+
+	/**
+	 * Run the batch from the command line
+	 *
+	 * @param args [-json] [-threads n] [-timeout ms] [dir | archive]
+	 */
+	public static void main(String[] args) {
+		boolean json    = false;
+		int     threads = Runtime.getRuntime().availableProcessors();
+		long    timeout = 10000;
+		String  dir     = "nons";
+		try {
+			for (int i=0; i<args.length; i++) {
+				if (args[i].equals("-json"))
+					json = true;
+				else if (args[i].equals("-csv"))
+					json = false;
+				else if (args[i].equals("-threads"))
+					threads = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-timeout"))
+					timeout = Long.parseLong(args[++i]);
+				else if (args[i].startsWith("-"))
+					throw new IllegalArgumentException("unknown option " + args[i]);
+				else
+					dir = args[i];
+			}
+			NonogramBatch batch = new NonogramBatch(System.out, json, threads, timeout);
+			// a regular file is an archive; a directory is searched for .non files
+			if (Files.isRegularFile(new File(dir).toPath()))
+				batch.runArchive(new File(dir).toPath());
+			else
+				batch.run(new File(dir).toPath());
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			System.err.println("usage: java nonogram.NonogramBatch [-json|-csv] [-threads n] [-timeout ms] [dir | archive]");
+			System.exit(2);
+		} catch (IOException | NonogramException e) {
+			System.err.println("cannot read " + dir + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	public static final String CSV_HEADER =
+			"file,rows,cols,status,solutions,technique,level,goal,ms,nodes,lineSolves,allocBytes,peakHeapBytes,error";
+
+	private PrintStream out           = null;
+	private boolean     json          = false;
+	private int         threads       = 1;
+	private long        timeoutMillis = 0;
+
+	private static final ThreadLocal<NonParser> PARSERS = ThreadLocal.withInitial(NonParser::new);   // one per worker, as parsers reuse their buffers
+}
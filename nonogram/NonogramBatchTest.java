@@ -0,0 +1,77 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class NonogramBatchTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramBatchTest
+{
+    /**
+     * Default constructor for test class NonogramBatchTest
+     */
+    public NonogramBatchTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+    }
+
+    @Test
+    public void testBatchRecord() {
+        NonogramBatch batch = new NonogramBatch(new PrintStream(new ByteArrayOutputStream()), true, 1, 10000);
+        NonogramBatch.Record rec = batch.process(new File("nons/tiny.non").toPath());
+        assertEquals("ok", rec.status);
+        assertEquals(1, rec.solutions);
+        assertEquals("OK", rec.goal);
+        assertTrue(rec.toJson().startsWith("{\"file\":\"nons/tiny.non\",\"rows\":5,\"cols\":5,\"status\":\"ok\",\"solutions\":1,"));
+        assertEquals(NonogramBatch.CSV_HEADER.split(",").length, rec.toCsv().split(",", -1).length);
+        rec = batch.process(new File("nons/missing.non").toPath());
+        assertEquals("error", rec.status);
+    }
+
+    @Test
+    public void testBatchOverArchive() throws IOException {
+        File dir = java.nio.file.Files.createTempDirectory("batch").toFile();
+        File archive = new File(dir, "puzzles.nar");
+        PuzzleArchive.create(archive.toPath(), Arrays.asList(new File("nons/tiny.non").toPath(), new File("nons/6.non").toPath()), -1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        NonogramBatch batch = new NonogramBatch(new PrintStream(bytes), true, 2, 10000);
+        assertEquals(2, batch.runArchive(archive.toPath()));
+        String[] lines = bytes.toString().split("\n");
+        assertEquals(2, lines.length);
+        Arrays.sort(lines);
+        assertTrue(lines[0].startsWith("{\"file\":\"" + archive + "#0\",\"rows\":5,\"cols\":5,\"status\":\"ok\",\"solutions\":1,"));
+        assertTrue(lines[1].startsWith("{\"file\":\"" + archive + "#1\","));
+        assertTrue(lines[1].contains("\"status\":\"ok\""));
+        PuzzleArchive.indexPath(archive.toPath()).toFile().delete();
+        archive.delete();
+        dir.delete();
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,208 @@
+package nonogram;
+
+import java.util.SplittableRandom;
+
+/**
+ * Measures the memory and access speed of the Nonogram cell grid.
+ *
+ * For each size a random puzzle is built and the heap it holds is measured, along with
+ * the heap the grid alone would take as one Cell object per square (the layout the grid
+ * used before it was packed into bit masks: a Cell[][] plus a Cell[] per row and column
+ * constraint).  The time of a full sweep of getState and setState is also reported.
+ *
+ * The heap per game is also measured for many games of one puzzle, each built from a
+ * shared PuzzleDefinition or each with its own copy of the clues.
+ *
+ * Heap figures come from Runtime after a garbage collection, so they are approximate;
+ * run with a fixed heap (e.g. -Xms1g -Xmx1g) for steadier numbers.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramBenchmark {
+	/**
+	 * Build a random puzzle of a given size (every row and column has at least one FULL cell)
+	 *
+	 * @param rows the number of rows
+	 * @param cols the number of columns
+	 * @param seed the random seed
+	 * @return the puzzle, with all cells UNKNOWN (the random grid is its goal)
+	 */
+	static Nonogram randomPuzzle(int rows, int cols, long seed) {
+		SplittableRandom rnd  = new SplittableRandom(seed);
+		int[][]          grid = new int[rows][cols];
+		for (int row=0; row<rows; row++)
+			for (int col=0; col<cols; col++)
+				grid[row][col] = (rnd.nextInt(2) == 0) ? Nonogram.FULL : Nonogram.EMPTY;
+		// a pattern cannot be empty, so make sure of one FULL cell per line
+		for (int i=0; i<Math.max(rows, cols); i++)
+			grid[i % rows][i % cols] = Nonogram.FULL;
+		int[][]      rowNums = new int[rows][];
+		int[][]      colNums = new int[cols][];
+		int[]        line    = new int[rows];
+		StringBuffer goal    = new StringBuffer(rows * cols);
+		for (int row=0; row<rows; row++) {
+			rowNums[row] = NonogramGenerator.clue(grid[row], cols);
+			for (int col=0; col<cols; col++)
+				goal.append(grid[row][col]);
+		}
+		for (int col=0; col<cols; col++) {
+			for (int row=0; row<rows; row++)
+				line[row] = grid[row][col];
+			colNums[col] = NonogramGenerator.clue(line, rows);
+		}
+		return new Nonogram(rowNums, colNums, goal.toString());
+	}
+
+	/**
+	 * Retrieve the heap in use after a garbage collection
+	 *
+	 * @return the used heap in bytes
+	 */
+	static long usedHeap() {
+		Runtime rt = Runtime.getRuntime();
+		for (int i=0; i<3; i++) {
+			System.gc();
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		return rt.totalMemory() - rt.freeMemory();
+	}
+
+	/**
+	 * Measure the heap held by a puzzle's packed grid (the puzzle without its clues)
+	 *
+	 * @param ng the puzzle
+	 * @return the grid size in bytes
+	 */
+	static long packedGridBytes(Nonogram ng) {
+		long before = usedHeap();
+		GridSnapshot snap = ng.snapshot();
+		BitLine[]    copy = new BitLine[ng.getNumRows() + ng.getNumCols()];
+		for (int row=0; row<ng.getNumRows(); row++)
+			copy[row] = new BitLine(snap.getRowLine(row));
+		for (int col=0; col<ng.getNumCols(); col++)
+			copy[ng.getNumRows() + col] = new BitLine(snap.getColLine(col));
+		long after = usedHeap();
+		if (copy[0] == null)   // keep the copy reachable until measured
+			throw new NonogramException("no grid");
+		return after - before;
+	}
+
+	/**
+	 * Measure the heap the grid would hold as one Cell object per square, referenced
+	 * from the grid and from the row and column constraints
+	 *
+	 * @param ng the puzzle
+	 * @return the grid size in bytes
+	 */
+	static long objectGridBytes(Nonogram ng) {
+		int  rows   = ng.getNumRows();
+		int  cols   = ng.getNumCols();
+		long before = usedHeap();
+		Cell[][] cells   = new Cell[rows][cols];
+		Cell[][] rowRefs = new Cell[rows][cols];
+		Cell[][] colRefs = new Cell[cols][rows];
+		for (int row=0; row<rows; row++) {
+			for (int col=0; col<cols; col++) {
+				cells[row][col]   = new Cell(ng, row, col);
+				rowRefs[row][col] = cells[row][col];
+				colRefs[col][row] = cells[row][col];
+			}
+		}
+		long after = usedHeap();
+		if ((rowRefs[0][0] == null) || (colRefs[0][0] == null))
+			throw new NonogramException("no grid");
+		return after - before;
+	}
+
+	/**
+	 * Time a sweep that sets every cell and reads it back
+	 *
+	 * @param ng the puzzle (left cleared)
+	 * @param sweeps the number of sweeps to time
+	 * @return the mean time per cell access in nanoseconds
+	 */
+	static double accessNanos(Nonogram ng, int sweeps) {
+		int  rows  = ng.getNumRows();
+		int  cols  = ng.getNumCols();
+		long check = 0;
+		long start = System.nanoTime();
+		for (int s=0; s<sweeps; s++) {
+			for (int row=0; row<rows; row++) {
+				for (int col=0; col<cols; col++) {
+					ng.setState(row, col, (row + col + s) % 3);
+					check += ng.getState(row, col);
+				}
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		ng.clear();
+		if (check < 0)
+			throw new NonogramException("bad check");
+		return elapsed / (2.0 * sweeps * rows * cols);
+	}
+
+	/**
+	 * Measure the heap held per game by many games of the same puzzle
+	 *
+	 * @param def the puzzle definition
+	 * @param games the number of games
+	 * @param shared true to share the definition, false to give each game its own copy of the clues
+	 * @return the used heap per game in bytes
+	 */
+	static long sessionBytes(PuzzleDefinition def, int games, boolean shared) {
+		int[][] rowNums = new int[def.getNumRows()][];
+		int[][] colNums = new int[def.getNumCols()][];
+		for (int row=0; row<rowNums.length; row++)
+			rowNums[row] = def.getRowPattern(row).getNums();
+		for (int col=0; col<colNums.length; col++)
+			colNums[col] = def.getColPattern(col).getNums();
+		Nonogram[] held   = new Nonogram[games];
+		long       before = usedHeap();
+		for (int i=0; i<games; i++)
+			held[i] = shared ? new Nonogram(def) : new Nonogram(rowNums, colNums, def.getGoal());
+		long after = usedHeap();
+		if (held[games-1] == null)   // keep the games reachable until measured
+			throw new NonogramException("no games");
+		return (after - before) / games;
+	}
+
+	/**
+	 * Run the benchmark from the command line
+	 *
+	 * @param args the square puzzle sizes to measure (default 100 300 1000)
+	 */
+	public static void main(String[] args) {
+		int[] sizes = {100, 300, 1000};
+		if (args.length > 0) {
+			sizes = new int[args.length];
+			for (int i=0; i<args.length; i++)
+				sizes[i] = Integer.parseInt(args[i]);
+		}
+		System.out.println("size,cells,packedBytes,objectBytes,packedBytesPerCell,objectBytesPerCell,accessNanos");
+		for (int size : sizes) {
+			if (size < Nonogram.MIN_SIZE)
+				throw new IllegalArgumentException("size cannot be smaller than " + Nonogram.MIN_SIZE);
+			Nonogram ng      = randomPuzzle(size, size, size);
+			usedHeap();   // let the garbage of the previous size go before measuring
+			long     cells   = (long) size * size;
+			long     packed  = packedGridBytes(ng);
+			long     objects = objectGridBytes(ng);
+			accessNanos(ng, 3);   // warm up
+			double   nanos   = accessNanos(ng, 10);
+			System.out.println(String.format("%d,%d,%d,%d,%.2f,%.2f,%.2f", size, cells, packed, objects,
+					(double) packed / cells, (double) objects / cells, nanos));
+		}
+		PuzzleDefinition def    = randomPuzzle(25, 25, 25).getDefinition();
+		int              games  = 10000;
+		long             copied = sessionBytes(def, games, false);
+		long             shared = sessionBytes(def, games, true);
+		System.out.println();
+		System.out.println("games,copiedBytesPerGame,sharedBytesPerGame");
+		System.out.println(games + "," + copied + "," + shared);
+	}
+}
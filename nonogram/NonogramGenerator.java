@@ -0,0 +1,387 @@
+package nonogram;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Generates random Nonogram puzzles that have exactly one solution.
+ *
+ * A candidate is a random grid with each cell FULL with the given density.  Its clues
+ * are read off the grid, and it is kept only if the clues have exactly one solution
+ * (which is then the grid, recorded as the goal).  Candidates with an empty row or
+ * column are rejected, as a pattern cannot be empty.  Optionally only puzzles of a
+ * given difficulty level are kept.  So that a rare level cannot keep it searching for
+ * ever, the generator gives up after a limit on the candidates made for each puzzle.
+ *
+ * Generation runs on several threads, each with its own random number stream split
+ * from the seed, and every thread both makes and checks candidates.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramGenerator {
+	/**
+	 * Constructor
+	 *
+	 * @param width the number of columns
+	 * @param height the number of rows
+	 * @param density the probability of each cell being FULL (0 to 1)
+	 * @param seed the random seed
+	 */
+	public NonogramGenerator(int width, int height, double density, long seed) {
+		if (width < Nonogram.MIN_SIZE)
+			throw new IllegalArgumentException("width cannot be shorter than " + Nonogram.MIN_SIZE);
+		if (height < Nonogram.MIN_SIZE)
+			throw new IllegalArgumentException("height cannot be shorter than " + Nonogram.MIN_SIZE);
+		if ((density <= 0) || (density >= 1))
+			throw new IllegalArgumentException("density must be 0 < density < 1");
+		this.width   = width;
+		this.height  = height;
+		this.density = density;
+		this.random  = new SplittableRandom(seed);
+	}
+
+	/**
+	 * Only keep puzzles of a given difficulty level
+	 *
+	 * @param level "easy", "medium" or "hard" (see DifficultyGrade.getLevel), or null for any
+	 */
+	public void setLevel(String level) {
+		if ((level != null) && !level.equals("easy") && !level.equals("medium") && !level.equals("hard"))
+			throw new IllegalArgumentException("level must be easy, medium or hard (" + level + ")");
+		this.level = level;
+	}
+
+	/**
+	 * Set the most candidates to make for each puzzle before giving up
+	 *
+	 * @param candidateLimit the number of candidates per puzzle (at least 1)
+	 */
+	public void setCandidateLimit(long candidateLimit) {
+		if (candidateLimit < 1)
+			throw new IllegalArgumentException("candidateLimit must be at least 1");
+		this.candidateLimit = candidateLimit;
+	}
+
+	/**
+	 * Set the time allowed to check each candidate (a candidate that takes longer is rejected)
+	 *
+	 * @param checkBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 */
+	public void setCheckBudget(long checkBudgetMillis) {
+		if (checkBudgetMillis < 0)
+			throw new IllegalArgumentException("checkBudgetMillis cannot be negative");
+		this.checkBudgetMillis = checkBudgetMillis;
+	}
+
+	/**
+	 * Generate one puzzle on the calling thread
+	 *
+	 * @return a puzzle with exactly one solution, given as its goal
+	 * @throws NonogramException if no candidate was accepted within the candidate limit
+	 */
+	public Nonogram generate() {
+		SplittableRandom rnd;
+		synchronized (this) {
+			rnd = random.split();
+		}
+		for (long tried=0; tried<candidateLimit; tried++) {
+			Nonogram ng = candidate(rnd);
+			if (ng != null)
+				return ng;
+		}
+		throw new NonogramException("no puzzle accepted in " + candidateLimit + " candidates");
+	}
+
+	/**
+	 * Generate puzzles in parallel, passing each one to a consumer as soon as it is accepted.
+	 * The run ends early, with fewer puzzles than asked for, once count times the candidate
+	 * limit candidates have been made.
+	 *
+	 * @param count the number of puzzles to generate
+	 * @param threads the number of threads to generate with
+	 * @param sink receives the puzzles (called from the generating threads, one at a time)
+	 * @return the statistics of the run
+	 * @throws NonogramException if the sink throws or the calling thread is interrupted
+	 */
+	public Stats generateAll(int count, int threads, Consumer<Nonogram> sink) {
+		if (count < 0)
+			throw new IllegalArgumentException("count cannot be negative");
+		if (threads < 1)
+			throw new IllegalArgumentException("threads must be at least 1");
+		if (sink == null)
+			throw new IllegalArgumentException("sink cannot be null");
+		AtomicInteger accepted   = new AtomicInteger();
+		AtomicLong    candidates = new AtomicLong();
+		AtomicBoolean failed     = new AtomicBoolean();   // a worker failed: the others stop too
+		long          limit      = (candidateLimit > Long.MAX_VALUE / Math.max(1, count))
+				? Long.MAX_VALUE : candidateLimit * count;
+		long          start      = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			ArrayList<Future<?>> futures = new ArrayList<>();
+			for (int t=0; t<threads; t++) {
+				SplittableRandom rnd;
+				synchronized (this) {
+					rnd = random.split();
+				}
+				futures.add(pool.submit(() -> {
+					try {
+						while ((accepted.get() < count) && !failed.get() && !Thread.currentThread().isInterrupted()) {
+							if (candidates.incrementAndGet() > limit) {
+								candidates.decrementAndGet();
+								break;
+							}
+							Nonogram ng = candidate(rnd);
+							if (ng == null)
+								continue;
+							synchronized (sink) {
+								// another thread may have reached the count meanwhile
+								if (accepted.get() < count) {
+									sink.accept(ng);
+									accepted.incrementAndGet();
+								}
+							}
+						}
+					} catch (RuntimeException e) {
+						failed.set(true);
+						throw e;
+					}
+				}));
+			}
+			for (Future<?> future : futures)
+				future.get();
+		} catch (ExecutionException e) {
+			throw new NonogramException("generation failed: " + e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new NonogramException("generation interrupted");
+		} finally {
+			pool.shutdownNow();
+		}
+		return new Stats(accepted.get(), candidates.get(), (System.nanoTime() - start) / 1000000L);
+	}
+
+	/**
+	 * Make one candidate and check it
+	 *
+	 * @param rnd the random number stream to use
+	 * @return the puzzle, or null if the candidate was rejected
+	 */
+	private Nonogram candidate(SplittableRandom rnd) {
+		int[][] grid = new int[height][width];
+		for (int row=0; row<height; row++)
+			for (int col=0; col<width; col++)
+				grid[row][col] = (rnd.nextDouble() < density) ? Nonogram.FULL : Nonogram.EMPTY;
+		int[][] rowNums = new int[height][];
+		int[][] colNums = new int[width][];
+		int[]   line    = new int[Math.max(width, height)];
+		for (int row=0; row<height; row++) {
+			rowNums[row] = clue(grid[row], width);
+			if (rowNums[row] == null)
+				return null;
+		}
+		for (int col=0; col<width; col++) {
+			for (int row=0; row<height; row++)
+				line[row] = grid[row][col];
+			colNums[col] = clue(line, height);
+			if (colNums[col] == null)
+				return null;
+		}
+		StringBuffer goal = new StringBuffer(width*height);
+		for (int[] row : grid)
+			for (int state : row)
+				goal.append(state);
+		Nonogram ng = new Nonogram(rowNums, colNums, goal.toString());
+		if (ng.countSolutions(2, checkBudgetMillis) != 1)
+			return null;
+		if ((level != null) && !level.equals(DifficultyGrader.grade(ng, null, checkBudgetMillis).getLevel()))
+			return null;
+		return ng;
+	}
+
+	/**
+	 * Read the pattern of contiguous full cells off a line
+	 *
+	 * @param cells the cell states
+	 * @param n the number of cells to use
+	 * @return the pattern, or null if the line has no full cells
+	 */
+	static int[] clue(int[] cells, int n) {
+		int[] runs   = new int[(n + 1) / 2];
+		int   blocks = 0;
+		int   run    = 0;
+		for (int i=0; i<=n; i++) {
+			if ((i < n) && (cells[i] == Nonogram.FULL)) {
+				run++;
+			} else if (run > 0) {
+				runs[blocks++] = run;
+				run = 0;
+			}
+		}
+		if (blocks == 0)
+			return null;
+		int[] nums = new int[blocks];
+		System.arraycopy(runs, 0, nums, 0, blocks);
+		return nums;
+	}
+
+	/**
+	 * The outcome of a generation run
+	 */
+	public static class Stats {
+		/**
+		 * Constructor
+		 *
+		 * @param accepted the number of puzzles generated
+		 * @param candidates the number of candidates made
+		 * @param elapsedMillis the time taken in milliseconds
+		 */
+		public Stats(int accepted, long candidates, long elapsedMillis) {
+			this.accepted      = accepted;
+			this.candidates    = candidates;
+			this.elapsedMillis = elapsedMillis;
+		}
+
+		/**
+		 * Retrieve the number of puzzles generated
+		 *
+		 * @return the number of puzzles
+		 */
+		public int getAccepted() {
+			return accepted;
+		}
+
+		/**
+		 * Retrieve the number of candidates made (accepted or rejected)
+		 *
+		 * @return the number of candidates
+		 */
+		public long getCandidates() {
+			return candidates;
+		}
+
+		/**
+		 * Retrieve the time taken
+		 *
+		 * @return the time in milliseconds
+		 */
+		public long getElapsedMillis() {
+			return elapsedMillis;
+		}
+
+		/**
+		 * Retrieve the generation rate
+		 *
+		 * @return puzzles per second
+		 */
+		public double getPuzzlesPerSecond() {
+			return accepted * 1000.0 / Math.max(1, elapsedMillis);
+		}
+
+		/**
+		 * String representation of the statistics
+		 *
+		 * @return the string representation
+		 */
+		@Override
+		public String toString() {
+			return String.format("%d puzzles from %d candidates in %d ms (%.1f puzzles/s)",
+					accepted, candidates, elapsedMillis, getPuzzlesPerSecond());
+		}
+
+		private int  accepted      = 0;
+		private long candidates    = 0;
+		private long elapsedMillis = 0;
+	}
+
+	/**
+	 * Generate puzzles from the command line, writing one .non file each to a directory
+	 *
+	 * @param args width height density count dir [-threads n] [-level easy|medium|hard] [-seed s]
+	 */
+	public static void main(String[] args) {
+		NonogramGenerator gen;
+		int  count;
+		int  threads = Runtime.getRuntime().availableProcessors();
+		long seed    = System.nanoTime();
+		File dir;
+		int  width;
+		int  height;
+		try {
+			if (args.length < 5)
+				throw new IllegalArgumentException("too few arguments");
+			width  = Integer.parseInt(args[0]);
+			height = Integer.parseInt(args[1]);
+			double density = Double.parseDouble(args[2]);
+			count  = Integer.parseInt(args[3]);
+			dir    = new File(args[4]);
+			String level = null;
+			for (int i=5; i<args.length; i++) {
+				if (args[i].equals("-threads"))
+					threads = Integer.parseInt(args[++i]);
+				else if (args[i].equals("-level"))
+					level = args[++i];
+				else if (args[i].equals("-seed"))
+					seed = Long.parseLong(args[++i]);
+				else
+					throw new IllegalArgumentException("unknown option " + args[i]);
+			}
+			if ((count < 0) || (threads < 1))
+				throw new IllegalArgumentException("count cannot be negative and threads must be at least 1");
+			gen = new NonogramGenerator(width, height, density, seed);
+			gen.setLevel(level);
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			System.err.println("usage: java nonogram.NonogramGenerator width height density count dir" +
+					" [-threads n] [-level easy|medium|hard] [-seed s]");
+			System.exit(2);
+			return;
+		}
+		if (!dir.isDirectory() && !dir.mkdirs()) {
+			System.err.println("cannot create " + dir);
+			System.exit(1);
+		}
+		String prefix = "gen-" + width + "x" + height + "-" + Long.toHexString(seed) + "-";
+		int[]  next   = new int[1];
+		Stats  stats;
+		try {
+			stats = gen.generateAll(count, threads, ng -> {
+				File file = new File(dir, prefix + (next[0]++) + ".non");
+				try (PrintStream out = new PrintStream(file, "UTF-8")) {
+					out.print(ng.toStringAsNonFile());
+				} catch (java.io.IOException e) {
+					throw new NonogramException("cannot write " + file);
+				}
+			});
+		} catch (NonogramException e) {
+			System.err.println(e.getMessage());
+			System.exit(1);
+			return;
+		}
+		System.err.println(stats);
+		if (stats.getAccepted() < count) {
+			System.err.println("gave up after " + stats.getCandidates() + " candidates");
+			System.exit(1);
+		}
+	}
+
+	private int              width             = 0;
+	private int              height            = 0;
+	private double           density           = 0.5;
+	private SplittableRandom random            = null;
+	private String           level             = null;   // keep only this level, or null for any
+	private long             checkBudgetMillis = 1000;
+	private long             candidateLimit    = DEFAULT_CANDIDATE_LIMIT;   // per puzzle wanted
+
+	public static final long DEFAULT_CANDIDATE_LIMIT = 100000;
+}
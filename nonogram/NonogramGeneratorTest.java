@@ -0,0 +1,92 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class NonogramGeneratorTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramGeneratorTest
+{
+    /**
+     * Default constructor for test class NonogramGeneratorTest
+     */
+    public NonogramGeneratorTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+    }
+
+    @Test
+    public void testGeneratorMakesUniquePuzzles() {
+        NonogramGenerator gen = new NonogramGenerator(8, 6, 0.6, 42);
+        ArrayList<Nonogram> made = new ArrayList<>();
+        NonogramGenerator.Stats stats = gen.generateAll(5, 2, made::add);
+        assertEquals(5, made.size());
+        assertEquals(5, stats.getAccepted());
+        assertTrue(stats.getCandidates() >= 5);
+        for (Nonogram ng : made) {
+            // the written form reads back with the same clues and goal
+            Nonogram copy = new Nonogram(new Scanner(ng.toStringAsNonFile()));
+            assertEquals(8, copy.getNumCols());
+            assertEquals(6, copy.getNumRows());
+            assertEquals(ng.toStringAsNonFile(), copy.toStringAsNonFile());
+            assertEquals(Nonogram.GOAL_OK, copy.checkGoal(0));
+        }
+    }
+
+    @Test
+    public void testLevelMustBeKnown() {
+        NonogramGenerator gen = new NonogramGenerator(5, 5, 0.6, 42);
+        assertThrows(IllegalArgumentException.class, () -> gen.setLevel("Easy"));
+        assertThrows(IllegalArgumentException.class, () -> gen.setCandidateLimit(0));
+        gen.setLevel("easy");
+        gen.setLevel(null);
+    }
+
+    @Test
+    public void testCandidateLimitEndsGeneration() {
+        // nearly full 5x5 grids are solved by overlap alone, so none is hard and nothing is accepted
+        NonogramGenerator gen = new NonogramGenerator(5, 5, 0.99, 42);
+        gen.setLevel("hard");
+        gen.setCandidateLimit(20);
+        assertThrows(NonogramException.class, () -> gen.generate());
+        NonogramGenerator.Stats stats = gen.generateAll(3, 2, ng -> fail("accepted " + ng));
+        assertEquals(0, stats.getAccepted());
+        assertEquals(60, stats.getCandidates());
+    }
+
+    @Test
+    public void testFailingSinkStopsEveryThread() {
+        NonogramGenerator gen = new NonogramGenerator(5, 5, 0.6, 42);
+        NonogramException e = assertThrows(NonogramException.class,
+                () -> gen.generateAll(1000, 4, ng -> { throw new NonogramException("disk full"); }));
+        assertTrue(e.getMessage().contains("disk full"));
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,47 @@
+package nonogram;
+
+/**
+ * Receives the changes made to a Nonogram puzzle.
+ *
+ * A listener is added for some kinds of event (CELL_EVENTS, LINE_EVENTS, SOLVED_EVENTS,
+ * or'ed together) and is only called for those, so the methods have empty defaults and
+ * a listener implements just the ones it subscribes to.  Events are delivered on the
+ * thread that changed the puzzle; wrap a listener in an EdtCoalescer to have them
+ * delivered, batched, on the Swing event dispatch thread instead.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public interface NonogramListener {
+	/**
+	 * Cells have changed (one for setState, possibly many for applyAll or clear)
+	 *
+	 * @param changes the changed cells, with their new states
+	 */
+	default void cellsChanged(CellChanges changes) {
+	}
+
+	/**
+	 * The status of a row or column has changed
+	 *
+	 * @param isRow true for a row, false for a column
+	 * @param index the row or column number
+	 * @param valid true if the line can still satisfy its pattern
+	 * @param solved true if the line's FULL cells match its pattern exactly
+	 */
+	default void lineStatusChanged(boolean isRow, int index, boolean valid, boolean solved) {
+	}
+
+	/**
+	 * The puzzle has become solved, or is no longer solved
+	 *
+	 * @param solved true if every row and column is solved
+	 */
+	default void solvedChanged(boolean solved) {
+	}
+
+	public static final int CELL_EVENTS   = 1;
+	public static final int LINE_EVENTS   = 2;
+	public static final int SOLVED_EVENTS = 4;
+	public static final int ALL_EVENTS    = CELL_EVENTS | LINE_EVENTS | SOLVED_EVENTS;
+}
@@ -15,7 +15,7 @@ import java.io.*;
  * @author Ayangade Adeoluwa
  * @version January 2023
  */
-public class NonogramPanel extends JFrame implements Observer {
+public class NonogramPanel extends JFrame implements NonogramListener {
 
     // buttons
     private NonogramButton    undoBtn = null;
@@ -26,6 +26,7 @@ public class NonogramPanel extends JFrame implements Observer {
     private NonogramButton    difficultyBtn = null;
     private NonogramButton    helpBtn = null;
     private NonogramButton    changeNameBtn = null;
+    private NonogramButton    hintBtn = null;
 
     // top level panels.
     private JPanel     btnPanel = null;
@@ -33,6 +34,7 @@ public class NonogramPanel extends JFrame implements Observer {
     private JPanel     topLayoutPanel = null;
     private JPanel     centerLayoutPanel = null;
     private Nonogram   game = null;
+    private EdtCoalescer gameListener = null;
     private Stack<Assign> stack = null;
 
     // this scanner is specifically for reading game files.
@@ -50,18 +52,42 @@ public class NonogramPanel extends JFrame implements Observer {
     private JLabel nameLabel = null;
     private String difficultyLevel = "easy";
 
+    // the cell currently highlighted by a hint (GUI indexes), or null
+    private NonogramPanelCell hintCell = null;
+    // cancels the hint being worked out, if any
+    private CancellationToken hintToken = null;
+
     // others
     private int cellWidthDimension = 25;
     private int cellHeightDimension = 25;
     private static final String NGFILE   = "nons/tiny.non";
+    private static final String NGDIR    = "nons";
+    private static final long GRADE_BUDGET_MILLIS = 10000;
+    private SwingWorker<ArrayList<DifficultyGrade>, Void> catalogue = null;
+    private Random random = new Random();
+    // hints give up after this long, so a big board never keeps the player waiting
+    private static final long HINT_BUDGET_MILLIS = 50;
 
         /**
 	 * Constructor
 	 */
     public NonogramPanel() {
+        this(NGFILE);
+    }
+
+        /**
+	 * Constructor, starting with a given puzzle
+	 *
+	 * @param file the .non file, or a puzzle in an archive ("puzzles.nar#12")
+	 */
+    public NonogramPanel(String file) {
         super("Nonogram");
-        // this method creates the game puzzle using the Nonogram 'game' object.
-        createGame(NGFILE);
+        // this method creates the game puzzle using the Nonogram 'game' object, falling back to the default puzzle.
+        if (!createGame(file) && !createGame(NGFILE)) {
+            throw new NonogramException("no puzzle could be loaded");
+        }
+        // grade the other puzzles for changeDifficulty.
+        gradeCatalogue();
         // This method makes the JFrame (GUI).
         makeFrame();
     };
@@ -69,19 +95,42 @@ public class NonogramPanel extends JFrame implements Observer {
         /**
    * Creates a game puzzle using the Nonogram class.
    * 
-   * @param file the file location for the game settings file (non file)
+   * If the puzzle cannot be loaded, the error is reported and the current game is kept.
+   * 
+   * @param file the file location for the game settings file (non file), or a puzzle in an archive ("puzzles.nar#12")
+   * @return true if the new game was started, false if the puzzle could not be loaded
    */
-    private void createGame(String file) {
+    private boolean createGame(String file) {
+        // load the new puzzle before touching the current game
+        Nonogram next = null;
+        try {
+            if (PuzzleArchive.isArchiveLocation(file)) {
+                // a puzzle in an archive is read straight from its place in the mapped archive
+                next = new Nonogram(PuzzleArchive.load(file));
+            } else {
+                gameFileScanner = new Scanner(new File(file), "UTF-8");
+                next = new Nonogram(gameFileScanner);
+            }
+        } catch (IOException | NonogramException | IllegalArgumentException e) {
+            System.out.println(file + " could not be loaded (" + e.getMessage() + ")");
+            return false;
+        }
+        // stop working out a hint for the old game
+        if (hintToken != null) {
+            hintToken.cancel();
+        }
         stack = new Stack<Assign>();
-		try {
-			gameFileScanner = new Scanner(new File(file));
-		} catch (FileNotFoundException e) {
-			System.out.println(file + "not found");
-		}
+        // stop showing the old game's changes
+        if (gameListener != null) {
+            game.removeListener(gameListener);
+            gameListener.cancel();
+        }
         // start the game
-        game = new Nonogram(gameFileScanner);
-        // add the entire JFrame as the Observer for the game puzzle.
-        game.addObserver(this);
+        game = next;
+        // add the entire JFrame as a listener for the game puzzle, with the changes batched onto the EDT.
+        gameListener = new EdtCoalescer(this);
+        game.addListener(gameListener, CELL_EVENTS | SOLVED_EVENTS);
+        return true;
     }
 
             /**
@@ -198,6 +247,8 @@ public class NonogramPanel extends JFrame implements Observer {
                 changeDifficulty();
             }
         });
+        // enabled once the catalogue has been graded (see gradeCatalogue)
+        difficultyBtn.setEnabled(catalogue.isDone());
 
         // Help button.
         helpBtn = new NonogramButton("Help");
@@ -217,9 +268,18 @@ public class NonogramPanel extends JFrame implements Observer {
             }
         });
 
+        // Hint button.
+        hintBtn = new NonogramButton("Hint");
+        hintBtn.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent ae) {
+                hint();
+            }
+        });
+
         // add buttons.
         btnPanel = new JPanel();
-        btnPanel.setLayout(new GridLayout(4, 2, 0, 2));
+        btnPanel.setLayout(new GridLayout(5, 2, 0, 2));
         btnPanel.add(undoBtn);
         btnPanel.add(difficultyBtn);
         btnPanel.add(clearBtn);
@@ -228,6 +288,7 @@ public class NonogramPanel extends JFrame implements Observer {
         btnPanel.add(helpBtn);
         btnPanel.add(loadBtn);
         btnPanel.add(quitBtn);
+        btnPanel.add(hintBtn);
     }
 
             /**
@@ -439,6 +500,7 @@ public class NonogramPanel extends JFrame implements Observer {
         try {
             // read moves from file
             readFileScanner = new Scanner(new File(filename));
+            ArrayList<Assign> moves = new ArrayList<>();
         
             while(readFileScanner.hasNext()) {
             // get a line of text from the file
@@ -451,14 +513,17 @@ public class NonogramPanel extends JFrame implements Observer {
               int col = Integer.parseInt(move[1]);
               int num = Integer.parseInt(move[2]);
         
-              // create a new Assign object from it, assign the move and add to stack.
+              // create a new Assign object from it and add to stack.
               Assign newAssignment = new Assign(row, col, num);
-              game.setState(newAssignment);
+              moves.add(newAssignment);
               stack.add(newAssignment);
             }
         
             readFileScanner.close();
 
+            // play all the moves as one change, so the board is redrawn once
+            game.applyAll(moves);
+
             JOptionPane.showMessageDialog(this, "Game Loaded Successfully.", "Success!", JOptionPane.INFORMATION_MESSAGE);
 
         } catch (IOException err) {
@@ -525,17 +590,100 @@ public class NonogramPanel extends JFrame implements Observer {
         game.setState(move.getRow(), move.getCol(), value);
     }
 
+    /**
+   * Show a hint: highlight a cell that follows from its row or column.
+   * The cell states are copied here on the EDT and the line solving runs on a
+   * background thread within HINT_BUDGET_MILLIS, so the GUI never stalls.
+   * 
+   */
+    private void hint() {
+        // a hint still being worked out for an earlier position is no longer wanted
+        if (hintToken != null) {
+            hintToken.cancel();
+        }
+        final CancellationToken token = new CancellationToken();
+        hintToken = token;
+        final HintFinder finder = new HintFinder(game);
+        final Nonogram hintGame = game;
+        hintBtn.setEnabled(false);
+        new SwingWorker<Hint, Void>() {
+            @Override
+            protected Hint doInBackground() {
+                return finder.find(HINT_BUDGET_MILLIS, token);
+            }
+
+            @Override
+            protected void done() {
+                hintBtn.setEnabled(true);
+                Hint found = null;
+                try {
+                    found = get();
+                } catch (Exception e) {
+                    found = null;
+                }
+                // ignore the hint if the game was changed or a newer hint was asked for
+                if ((hintGame != game) || token.isCancelled()) {
+                    return;
+                }
+                if ((found == null) && finder.wasStopped()) {
+                    JOptionPane.showMessageDialog(NonogramPanel.this, "No hint found in time, please try again.", "Hint", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                // or if the cell was played meanwhile
+                if (found == null || game.getState(found.getMove().getRow(), found.getMove().getCol()) != Nonogram.UNKNOWN) {
+                    JOptionPane.showMessageDialog(NonogramPanel.this, "No hint available, check your moves.", "Hint", JOptionPane.INFORMATION_MESSAGE);
+                    return;
+                }
+                clearHint();
+                // add 1, cause we are 1-indexed.
+                hintCell = cells[found.getMove().getRow() + 1][found.getMove().getCol() + 1];
+                hintCell.setHighlighted(true);
+                // the message numbers rows and columns from 1, as the board does
+                hintCell.setToolTipText(found.getMessage());
+            }
+        }.execute();
+    }
+
+    /**
+   * Remove the hint highlight, if any.
+   * 
+   */
+    private void clearHint() {
+        if (hintCell != null) {
+            hintCell.setHighlighted(false);
+            hintCell.setToolTipText(null);
+            hintCell = null;
+        }
+    }
+
+    /**
+   * Grade the puzzles in the nons directory on a background thread, so that
+   * changeDifficulty can choose puzzles by difficulty.
+   * 
+   */
+    private void gradeCatalogue() {
+        catalogue = new SwingWorker<ArrayList<DifficultyGrade>, Void>() {
+            @Override
+            protected ArrayList<DifficultyGrade> doInBackground() {
+                int threads = Runtime.getRuntime().availableProcessors();
+                return DifficultyGrader.gradeDirectory(new File(NGDIR), threads, GRADE_BUDGET_MILLIS);
+            }
+
+            @Override
+            protected void done() {
+                if (difficultyBtn != null) {
+                    difficultyBtn.setEnabled(true);
+                }
+            }
+        };
+        catalogue.execute();
+    }
+
     /**
    * Switch game difficulty.
    * 
    */
     private void changeDifficulty() {
-        String gameFile;
-        int gameHeight;
-        int gameWidth;
-        // incase we want to change the size of the cells.
-        int cellWidth;
-        int cellHeight;
         Object[] possibilities = {"easy", "medium", "hard"};
         String difficulty = (String)JOptionPane.showInputDialog(
             this,
@@ -551,37 +699,49 @@ public class NonogramPanel extends JFrame implements Observer {
             return;
         }
 
-        // set new difficulty level
-        difficultyLevel = difficulty;
-
-        if (difficulty == "hard") {
-            gameFile = "nons/6.non";
-            cellHeight = 25;
-            cellWidth = 25;
-            gameHeight = 850;
-            gameWidth = 1200;
-        } else if (difficulty == "medium") {
-            gameFile = "nons/test15.non";
-            cellHeight = 25;
-            cellWidth = 25;
-            gameHeight = 750;
-            gameWidth = 1000;
-        } else {
-            gameFile = NGFILE;
-            cellHeight = cellHeightDimension;
-            cellWidth = cellWidthDimension;
-            gameHeight = 500;
-            gameWidth = 800;
+        // pick a graded puzzle of that difficulty; the EDT must never wait for the grading
+        if (!catalogue.isDone()) {
+            JOptionPane.showMessageDialog(this, "The puzzles are still being graded, please try again shortly.", "Change Difficulty", JOptionPane.INFORMATION_MESSAGE);
+            return;
         }
+        ArrayList<DifficultyGrade> grades = null;
+        try {
+            grades = catalogue.get();
+        } catch (Exception e) {
+            JOptionPane.showMessageDialog(this, "Could not grade the puzzles.", "Error!!", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        ArrayList<DifficultyGrade> matching = new ArrayList<DifficultyGrade>();
+        for (DifficultyGrade grade : grades) {
+            if (difficulty.equals(grade.getLevel())) {
+                matching.add(grade);
+            }
+        }
+        if (matching.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "There are no " + difficulty + " puzzles.", "Change Difficulty", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        DifficultyGrade chosen = matching.get(random.nextInt(matching.size()));
+
+        // the window grows with the puzzle, from 800x500 for a 5x5 puzzle
+        int gameWidth = 800 + (chosen.getNumCols() - Nonogram.MIN_SIZE) * 80 / 3;
+        int gameHeight = 500 + (chosen.getNumRows() - Nonogram.MIN_SIZE) * 70 / 3;
 
         // create new game, clear cells and x and y axis NG pattern cells.
         // then make new game cells, add the gamePanel, repaint whole JFrame and increase/decrease the window height and width.
-        createGame(gameFile);
+        if (!createGame(chosen.getName())) {
+            JOptionPane.showMessageDialog(this, "Could not load " + chosen.getName() + ".", "Error!!", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        // set new difficulty level
+        difficultyLevel = difficulty;
+        hintCell = null;
         cells = null;
         xAxisNGPatternCells = null;
         yAxisNGPatternCells = null;
         centerLayoutPanel.removeAll();
-        makeGameCells(cellWidth, cellHeight);
+        makeGameCells(cellWidthDimension, cellHeightDimension);
         centerLayoutPanel.add(gamePanel);
         revalidate();
         repaint();
@@ -656,8 +816,8 @@ public class NonogramPanel extends JFrame implements Observer {
    */
     public void isColumnSolved(int col) {
         NonogramPanelCell cellInterface = cells[0][col];
-        // if a col has been solved, then the label corresponding to that row will turn green, and if not it will turn orange.
-        if (game.isRowSolved(col - 1)) {
+        // if a col has been solved, then the label corresponding to that col will turn green, and if not it will turn orange.
+        if (game.isColSolved(col - 1)) {
             cellInterface.setBg(Color.GREEN);
         } else {
             cellInterface.setBg(Color.ORANGE);
@@ -665,39 +825,66 @@ public class NonogramPanel extends JFrame implements Observer {
     }
 
       /**
-   * Check if a specific column has been solved.
-   * @param o the observable.
-   * @param arg the object that changed.
+   * Show the changed cells, then recheck the rows and columns they are in.
+   * @param changes the cells that changed.
    */
     @Override
-    public void update(Observable o, Object arg) {
+    public void cellsChanged(CellChanges changes) {
         try {
-            Cell changedCell = (Cell) arg;
+            for (Cell changedCell : changes.getCells()) {
+                showCell(changedCell);
+            }
             // add 1, cause we are 1-indexed.
-            int row = changedCell.getRow() + 1;
-            int col = changedCell.getCol() + 1;
-            int val = changedCell.getState();
-            // System.out.println(changedCell.toString());
-    
-            NonogramPanelCell cellInterface = cells[row][col];
-    
-            // then set the value
-            cellInterface.setValue(val);
-    
-            // check if row has won.
-            isRowSolved(row);
-
-            // check if col has won
-            isColumnSolved(col);
-    
-            // check if game is won
-            checkWin();
+            // check if rows have won.
+            for (int row : changes.getRows()) {
+                isRowSolved(row + 1);
+            }
+            // check if cols have won
+            for (int col : changes.getCols()) {
+                isColumnSolved(col + 1);
+            }
         } catch (NonogramException err) {
             System.out.println("An error occured");
         }
     }
 
+      /**
+   * Show the win dialog when the game becomes solved.
+   * @param solved true if the game is solved.
+   */
+    @Override
+    public void solvedChanged(boolean solved) {
+        if (solved) {
+            checkWin();
+        }
+    }
+
+    /**
+   * Show the new value of a changed cell.
+   * @param changedCell the cell that changed.
+   */
+    private void showCell(Cell changedCell) {
+        // add 1, cause we are 1-indexed.
+        int row = changedCell.getRow() + 1;
+        int col = changedCell.getCol() + 1;
+        int val = changedCell.getState();
+
+        NonogramPanelCell cellInterface = cells[row][col];
+
+        // a played cell is no longer a hint
+        if (cellInterface == hintCell) {
+            clearHint();
+        }
+
+        // then set the value
+        cellInterface.setValue(val);
+    }
+
     public static void main(String[] args) {
-        new NonogramPanel();
+        if (args.length > 0) {
+            new NonogramPanel(args[0]);
+        } else {
+            new NonogramPanel();
+        }
     }
 }
@@ -88,6 +88,19 @@ public class NonogramPanelCell extends JLabel {
         this.setBackground(color);
     } 
 
+    /**
+   * Highlight this cell (used to show a hint), or remove the highlight.
+   * 
+   * @param on true to highlight, false to restore the normal border
+   */
+    public void setHighlighted(boolean on) {
+        if (on) {
+            this.setBorder(BorderFactory.createLineBorder(Color.BLUE, 3));
+        } else {
+            this.setBorder(BorderFactory.createLineBorder(Color.BLACK, 1));
+        }
+    }
+
      /**
    * Set the label text for the JLabel.
    * 
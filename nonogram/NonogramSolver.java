@@ -0,0 +1,792 @@
+package nonogram;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * A constraint-propagation solver for a whole Nonogram puzzle.
+ *
+ * The solver works on its own copy of the cell states, held as a BitLine for every
+ * row and another for every column (so each line is solved without being gathered
+ * from the grid, and the deduced cells are found a word at a time).  Every row and column is
+ * line solved once, after which only the lines crossing a newly deduced cell are
+ * queued to be solved again, so the work done each round is proportional to the
+ * number of deductions made rather than to the size of the puzzle.
+ *
+ * When propagation gets stuck, search() continues with a depth-first search: an
+ * UNKNOWN cell is guessed, the guess is propagated, and on a contradiction the
+ * changes are undone.  Every cell change is pushed onto a trail, so undoing a guess
+ * just pops the trail back to the mark taken before the guess rather than copying
+ * the grid at every branch.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramSolver {
+	/**
+	 * Constructor, taking the clues and the current cell states from a puzzle
+	 *
+	 * @param ng the puzzle to solve (it is not modified)
+	 */
+	public NonogramSolver(Nonogram ng) {
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		init(ng.snapshot());   // one consistent grid, even while another thread plays
+	}
+
+	/**
+	 * Constructor, taking the clues and the cell states from a snapshot of a puzzle
+	 *
+	 * @param snap the snapshot
+	 */
+	public NonogramSolver(GridSnapshot snap) {
+		if (snap == null)
+			throw new IllegalArgumentException("snap cannot be null");
+		init(snap);
+	}
+
+	/**
+	 * Copy the clues and cell states of a snapshot (the solver changes its copies, so
+	 * the snapshot's shared lines are not used directly)
+	 *
+	 * @param snap the snapshot
+	 */
+	private void init(GridSnapshot snap) {
+		PuzzleDefinition def = snap.getDefinition();
+		numRows = snap.getNumRows();
+		numCols = snap.getNumCols();
+		rowNums = new int[numRows][];
+		colNums = new int[numCols][];
+		for (int row=0; row<numRows; row++)
+			rowNums[row] = def.getRowPattern(row).getNums();
+		for (int col=0; col<numCols; col++)
+			colNums[col] = def.getColPattern(col).getNums();
+		rows       = new BitLine[numRows];
+		cols       = new BitLine[numCols];
+		rowUnknown = new int[numRows];
+		colUnknown = new int[numCols];
+		for (int row=0; row<numRows; row++) {
+			rows[row]       = new BitLine(snap.getRowLine(row));
+			rowUnknown[row] = rows[row].countUnknown();
+			unknown        += rowUnknown[row];
+		}
+		for (int col=0; col<numCols; col++) {
+			cols[col]       = new BitLine(snap.getColLine(col));
+			colUnknown[col] = cols[col].countUnknown();
+		}
+		hash = snap.getHash();
+		allocateBuffers();
+	}
+
+	/**
+	 * Copy constructor, used to give each search worker its own state.  The clues
+	 * are shared (they are never modified); the grid and working buffers are copied.
+	 * The copy starts with an empty trail and zeroed statistics, and shares any cache
+	 * and transposition table.
+	 *
+	 * @param other the solver to copy
+	 */
+	NonogramSolver(NonogramSolver other) {
+		numRows    = other.numRows;
+		numCols    = other.numCols;
+		rowNums    = other.rowNums;
+		colNums    = other.colNums;
+		rowHashes  = other.rowHashes;
+		colHashes  = other.colHashes;
+		cache      = other.cache;
+		rows       = new BitLine[numRows];
+		cols       = new BitLine[numCols];
+		for (int row=0; row<numRows; row++)
+			rows[row] = new BitLine(other.rows[row]);
+		for (int col=0; col<numCols; col++)
+			cols[col] = new BitLine(other.cols[col]);
+		rowUnknown = other.rowUnknown.clone();
+		colUnknown = other.colUnknown.clone();
+		unknown    = other.unknown;
+		hash       = other.hash;
+		table      = other.table;
+		clueKey    = other.clueKey;
+		allocateBuffers();
+	}
+
+	/**
+	 * Put a line solve cache in front of the line solver.  The cache may be shared
+	 * with other solvers (including across puzzles); copies of this solver share it.
+	 *
+	 * @param cache the cache to use, or null for none
+	 */
+	public void setCache(LineSolveCache cache) {
+		if ((cache != null) && (rowHashes == null)) {
+			rowHashes = new long[numRows];
+			colHashes = new long[numCols];
+			for (int row=0; row<numRows; row++)
+				rowHashes[row] = LineSolveCache.clueHash(rowNums[row]);
+			for (int col=0; col<numCols; col++)
+				colHashes[col] = LineSolveCache.clueHash(colNums[col]);
+		}
+		this.cache = cache;
+	}
+
+	/**
+	 * Use a transposition table to skip search states already found to have no solution.
+	 * The table may be shared with other solvers, even of other puzzles: its entries are
+	 * keyed by the grid hash mixed with a fingerprint of the clues, so a state recorded for
+	 * one puzzle does not match another's.  Copies of this solver share it.
+	 *
+	 * @param table the table to use, or null for none
+	 */
+	public void setTranspositionTable(TranspositionTable table) {
+		if ((table != null) && (clueKey == 0L))
+			clueKey = cluesFingerprint();
+		this.table = table;
+	}
+
+	/**
+	 * Calculate a fingerprint of all the row and column clues, from their clue hashes
+	 *
+	 * @return the fingerprint (never 0)
+	 */
+	private long cluesFingerprint() {
+		long h = numRows * 31L + numCols;
+		for (int row=0; row<numRows; row++)
+			h = h * 0x100000001b3L ^ LineSolveCache.clueHash(rowNums[row]);
+		for (int col=0; col<numCols; col++)
+			h = h * 0x100000001b3L ^ LineSolveCache.clueHash(colNums[col]);
+		h ^= h >>> 29;            // spread the high bits into the slot bits
+		h *= 0xbf58476d1ce4e5b9L;
+		h ^= h >>> 32;
+		return (h == 0L) ? 1L : h;
+	}
+
+	/**
+	 * Retrieve the Zobrist hash of the solver's current cell states (see Zobrist)
+	 *
+	 * @return the hash
+	 */
+	long getHash() {
+		return hash;
+	}
+
+	/**
+	 * Retrieve the number of search nodes skipped because the transposition table held their state
+	 *
+	 * @return the count
+	 */
+	long getTableHits() {
+		return tableHits;
+	}
+
+	/**
+	 * Reset every cell to UNKNOWN, so the solver works from the clues alone (only before solving)
+	 */
+	void clearStates() {
+		for (int row=0; row<numRows; row++) {
+			rows[row].clear();
+			rowUnknown[row] = numCols;
+		}
+		for (int col=0; col<numCols; col++) {
+			cols[col].clear();
+			colUnknown[col] = numRows;
+		}
+		unknown = numRows*numCols;
+		hash    = 0L;
+	}
+
+	/**
+	 * Allocate the trail, work queue and line buffers
+	 */
+	private void allocateBuffers() {
+		trail      = new int[numRows*numCols];
+		rowResult  = new BitLine(numCols);
+		colResult  = new BitLine(numRows);
+		queue      = new int[numRows + numCols];
+		queued     = new boolean[numRows + numCols];
+		lineSolver = new LineSolver();
+	}
+
+	/**
+	 * Solve as far as line propagation allows
+	 *
+	 * @return the result, SOLVED with the full grid or STUCK/CONTRADICTION with the partial grid
+	 */
+	public SolverResult solve() {
+		return solve(0, null);
+	}
+
+	/**
+	 * Solve as far as line propagation allows, stopping when a time budget runs out or a token is cancelled
+	 *
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the result, SOLVED with the full grid, STUCK/CONTRADICTION with the partial grid,
+	 *         or STOPPED with the cells deduced before the solver stopped
+	 */
+	public SolverResult solve(long timeBudgetMillis, CancellationToken token) {
+		startLimits(timeBudgetMillis, token);
+		resetSearch(1);
+		int status;
+		if (!propagateAll())
+			status = stopped ? SolverResult.STOPPED : SolverResult.CONTRADICTION;
+		else if (isComplete())
+			status = SolverResult.SOLVED;
+		else
+			status = SolverResult.STUCK;
+		endLimits();
+		return makeResult(status);
+	}
+
+	/**
+	 * Solve completely, using depth-first search with trail-based undo once propagation gets stuck
+	 *
+	 * @return the result, SOLVED with the first solution found or CONTRADICTION if there is none
+	 */
+	public SolverResult search() {
+		return search(0, null);
+	}
+
+	/**
+	 * Solve completely, using depth-first search with trail-based undo once propagation gets stuck,
+	 * stopping when a time budget runs out or a token is cancelled
+	 *
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the result, SOLVED with the first solution found, CONTRADICTION if there is none,
+	 *         or STOPPED with the grid deduced before any guesses (the best partial grid)
+	 */
+	public SolverResult search(long timeBudgetMillis, CancellationToken token) {
+		startLimits(timeBudgetMillis, token);
+		resetSearch(1);
+		int status;
+		if (!propagateAll()) {
+			status = stopped ? SolverResult.STOPPED : SolverResult.CONTRADICTION;
+		} else {
+			int root = trailSize;
+			if (searchFrom(1)) {
+				status = SolverResult.SOLVED;
+			} else {
+				undo(root);
+				status = stopped ? SolverResult.STOPPED : SolverResult.CONTRADICTION;
+			}
+		}
+		endLimits();
+		return makeResult(status);
+	}
+
+	/**
+	 * Count the solutions, stopping at a limit or when a time budget runs out
+	 *
+	 * @param limit the count to stop at (usually 2, to check uniqueness)
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @return the count, which is SolutionCount.UNKNOWN if the budget ran out
+	 */
+	public SolutionCount countSolutions(int limit, long timeBudgetMillis) {
+		return countSolutions(limit, timeBudgetMillis, null);
+	}
+
+	/**
+	 * Count the solutions, stopping at a limit, when a time budget runs out or when a token is cancelled
+	 *
+	 * @param limit the count to stop at (usually 2, to check uniqueness)
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the count, which is SolutionCount.UNKNOWN if the solver was stopped
+	 */
+	public SolutionCount countSolutions(int limit, long timeBudgetMillis, CancellationToken token) {
+		if (limit < 1)
+			throw new IllegalArgumentException("limit must be at least 1");
+		long start = System.nanoTime();
+		startLimits(timeBudgetMillis, token);
+		resetSearch(limit);
+		int count = 0;
+		if (propagateAll()) {
+			int root = trailSize;
+			searchFrom(1);
+			undo(root);
+			count = stopped ? SolutionCount.UNKNOWN : solutions;
+		} else if (stopped) {
+			count = SolutionCount.UNKNOWN;
+		}
+		String solution = null;
+		if (firstSolution != null) {
+			StringBuffer sb = new StringBuffer();
+			for (int state : firstSolution)
+				sb.append(state);
+			solution = sb.toString();
+		}
+		endLimits();
+		return new SolutionCount(count, limit, solution, nodes, (System.nanoTime() - start) / 1000000L);
+	}
+
+	/**
+	 * Set the deadline and cancellation token for a solver entry point
+	 *
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 */
+	void startLimits(long timeBudgetMillis, CancellationToken token) {
+		if (timeBudgetMillis < 0)
+			throw new IllegalArgumentException("timeBudgetMillis cannot be negative");
+		this.deadline = (timeBudgetMillis > 0) ? System.nanoTime() + timeBudgetMillis*1000000L : 0;
+		this.token    = token;
+		this.stopped  = false;
+	}
+
+	/**
+	 * Start a solve, search or count afresh: forget the solutions and search statistics of
+	 * any earlier call, so a solver can be reused
+	 *
+	 * @param limit the number of solutions to stop searching at
+	 */
+	private void resetSearch(int limit) {
+		solutionLimit = limit;
+		solutions     = 0;
+		firstSolution = null;
+		nodes         = 0;
+		maxDepth      = 0;
+		backtracks    = 0;
+	}
+
+	/**
+	 * Clear the deadline and cancellation token once an entry point has finished
+	 */
+	void endLimits() {
+		deadline = 0;
+		token    = null;
+	}
+
+	/**
+	 * Should the solver stop? Polls the stop condition, the cancellation token and the deadline
+	 *
+	 * @return true if the solver should stop (and records that it was stopped), otherwise false
+	 */
+	private boolean stopRequested() {
+		if (stopped)
+			return true;
+		if (((stop != null) && stop.getAsBoolean()) ||
+				((token != null) && token.isCancelled()) ||
+				((deadline != 0) && (System.nanoTime() - deadline > 0)))
+			stopped = true;
+		return stopped;
+	}
+
+	/**
+	 * Queue every row and column and propagate
+	 *
+	 * @return true if propagation finished, false if a contradiction was found
+	 */
+	boolean propagateAll() {
+		for (int line=0; line<numRows+numCols; line++)
+			enqueue(line);
+		return propagate();
+	}
+
+	/**
+	 * Carry on propagating the lines still queued when an earlier propagation was stopped
+	 * (see setKeepQueue)
+	 *
+	 * @return true if propagation finished, false if a contradiction was found or the solver was stopped
+	 */
+	boolean resume() {
+		return propagate();
+	}
+
+	/**
+	 * Keep the lines still to be solved when propagation is stopped, so that resume (or
+	 * the next propagation) carries on from there, rather than dropping them
+	 *
+	 * @param keepQueue true to keep the queue when stopped, false to drop it
+	 */
+	void setKeepQueue(boolean keepQueue) {
+		this.keepQueue = keepQueue;
+	}
+
+	/**
+	 * Set an UNKNOWN cell and propagate the consequences (they can be undone back to a trail mark)
+	 *
+	 * @param cell the cell index (row major)
+	 * @param state the state to assume
+	 * @return true if propagation finished, false if a contradiction was found
+	 */
+	boolean assume(int cell, int state) {
+		setCell(cell / numCols, cell % numCols, state);
+		return propagate();
+	}
+
+	/**
+	 * Retrieve the current state of a cell
+	 *
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @return the cell state (FULL, EMPTY or UNKNOWN)
+	 */
+	int getState(int row, int col) {
+		return rows[row].get(col);
+	}
+
+	/**
+	 * Continue the depth-first search from the current (propagated) grid
+	 *
+	 * @param depth the depth of the first guess made
+	 * @return true if a solution was found (the grid is left holding it), otherwise false
+	 */
+	boolean searchFrom(int depth) {
+		if (isComplete())
+			return foundSolution();
+		return dfs(depth);
+	}
+
+	/**
+	 * Set a condition that is polled at every search node; when it becomes true the search stops
+	 *
+	 * @param stop the stop condition (or null for none)
+	 */
+	void setStopCondition(BooleanSupplier stop) {
+		this.stop = stop;
+	}
+
+	/**
+	 * Was the last search stopped by the stop condition, the deadline or the cancellation token?
+	 *
+	 * @return true if the search was stopped before it finished, otherwise false
+	 */
+	boolean wasStopped() {
+		return stopped;
+	}
+
+	/**
+	 * Guess a cell, propagate, and recurse, undoing the guess if it leads to a contradiction
+	 *
+	 * @param depth the depth of this guess
+	 * @return true if a solution was found (the grid is left holding it), otherwise false
+	 */
+	private boolean dfs(int depth) {
+		if (stopRequested())
+			return false;
+		if ((table != null) && table.contains(hash ^ clueKey)) {
+			tableHits++;
+			return false;
+		}
+		long state  = hash;
+		int  before = solutions;
+		int  cell   = chooseCell();
+		int row  = cell / numCols;
+		int col  = cell % numCols;
+		if (depth > maxDepth)
+			maxDepth = depth;
+		for (int guess : GUESSES) {
+			int mark = trailSize;
+			nodes++;
+			setCell(row, col, guess);
+			if (propagate() && (isComplete() ? foundSolution() : dfs(depth+1)))
+				return true;
+			undo(mark);
+			if (stopped)
+				return false;
+			backtracks++;
+		}
+		// the whole subtree has been searched without finding a solution
+		if ((table != null) && (solutions == before))
+			table.add(state ^ clueKey);
+		return false;
+	}
+
+	/**
+	 * Record a complete grid as a solution
+	 *
+	 * @return true if the search should stop here (the solution limit is reached), otherwise false
+	 */
+	private boolean foundSolution() {
+		solutions++;
+		if (firstSolution == null)
+			firstSolution = copyGrid();
+		return solutions >= solutionLimit;
+	}
+
+	/**
+	 * Choose the cell to guess: the first UNKNOWN cell of the row with the fewest UNKNOWN cells
+	 *
+	 * @return the cell index (row major)
+	 */
+	int chooseCell() {
+		int best = -1;
+		for (int row=0; row<numRows; row++)
+			if ((rowUnknown[row] > 0) && ((best < 0) || (rowUnknown[row] < rowUnknown[best])))
+				best = row;
+		int col = rows[best].nextUnknown(0);
+		if (col >= 0)
+			return best*numCols + col;
+		throw new NonogramException("no UNKNOWN cell to guess"); // should never happen
+	}
+
+	/**
+	 * Undo every cell change made since a trail mark, returning the cells to UNKNOWN
+	 *
+	 * @param mark the trail size to return to
+	 */
+	void undo(int mark) {
+		while (trailSize > mark) {
+			int cell = trail[--trailSize];
+			int row  = cell / numCols;
+			int col  = cell % numCols;
+			hash ^= Zobrist.key(cell, rows[row].get(col));
+			rows[row].set(col, Nonogram.UNKNOWN);
+			cols[col].set(row, Nonogram.UNKNOWN);
+			rowUnknown[row]++;
+			colUnknown[col]++;
+			unknown++;
+		}
+	}
+
+	/**
+	 * Line solve queued lines until no line has outstanding changes
+	 *
+	 * @return true if propagation finished, false if a contradiction was found or the solver was stopped
+	 */
+	private boolean propagate() {
+		while (queueSize > 0) {
+			if (stopRequested()) {
+				if (!keepQueue)
+					clearQueue();
+				return false;
+			}
+			int line = queue[queueHead];
+			queueHead = (queueHead + 1) % queue.length;
+			queueSize--;
+			queued[line] = false;
+			if (!solveLine(line)) {
+				clearQueue();
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Line solve a single row or column, recording any deduced cells
+	 *
+	 * @param line the line (rows are 0..numRows-1, columns follow)
+	 * @return true if the line is consistent, false on a contradiction
+	 */
+	private boolean solveLine(int line) {
+		boolean isRow = line < numRows;
+		int     idx   = isRow ? line : line - numRows;
+		int[]   nums  = isRow ? rowNums[idx] : colNums[idx];
+		BitLine cells = isRow ? rows[idx] : cols[idx];
+		BitLine res   = isRow ? rowResult : colResult;
+		lineSolves++;
+		boolean ok;
+		if (cache != null)
+			ok = cache.solve(lineSolver, nums, isRow ? rowHashes[idx] : colHashes[idx], cells, res);
+		else
+			ok = lineSolver.solve(nums, cells, res);
+		if (!ok)
+			return false;
+		// the deduced cells are the bits set in the result but not in the cells, a word at a time
+		for (int w=0; w<cells.words(); w++) {
+			long newFull  = res.fullWord(w) & ~cells.fullWord(w);
+			long newEmpty = res.emptyWord(w) & ~cells.emptyWord(w);
+			for (; newFull != 0; newFull &= newFull - 1)
+				setLineCell(isRow, idx, (w << 6) + Long.numberOfTrailingZeros(newFull), Nonogram.FULL);
+			for (; newEmpty != 0; newEmpty &= newEmpty - 1)
+				setLineCell(isRow, idx, (w << 6) + Long.numberOfTrailingZeros(newEmpty), Nonogram.EMPTY);
+		}
+		return true;
+	}
+
+	/**
+	 * Set a cell given by its position in a row or column
+	 *
+	 * @param isRow true if idx is a row, false if it is a column
+	 * @param idx the row or column
+	 * @param i the position of the cell in the line
+	 * @param state the new state
+	 */
+	private void setLineCell(boolean isRow, int idx, int i, int state) {
+		if (isRow)
+			setCell(idx, i, state);
+		else
+			setCell(i, idx, state);
+	}
+
+	/**
+	 * Set a cell state and queue the lines through it
+	 *
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @param state the new state
+	 */
+	private void setCell(int row, int col, int state) {
+		int cell = row*numCols + col;
+		rows[row].set(col, state);
+		cols[col].set(row, state);
+		hash ^= Zobrist.key(cell, state);   // the cell was UNKNOWN
+		trail[trailSize++] = cell;
+		rowUnknown[row]--;
+		colUnknown[col]--;
+		unknown--;
+		enqueue(row);
+		enqueue(numRows + col);
+	}
+
+	/**
+	 * Add a line to the work queue (if it is not already queued)
+	 *
+	 * @param line the line (rows are 0..numRows-1, columns follow)
+	 */
+	private void enqueue(int line) {
+		if (queued[line])
+			return;
+		queued[line] = true;
+		queue[(queueHead + queueSize) % queue.length] = line;
+		queueSize++;
+	}
+
+	/**
+	 * Empty the work queue
+	 */
+	private void clearQueue() {
+		while (queueSize > 0) {
+			queued[queue[queueHead]] = false;
+			queueHead = (queueHead + 1) % queue.length;
+			queueSize--;
+		}
+	}
+
+	/**
+	 * Is every cell determined?
+	 *
+	 * @return true if no cell is UNKNOWN, otherwise false
+	 */
+	boolean isComplete() {
+		return unknown == 0;
+	}
+
+	/**
+	 * Retrieve the current size of the trail, to be used as an undo mark
+	 *
+	 * @return the trail size
+	 */
+	int getTrailSize() {
+		return trailSize;
+	}
+
+	/**
+	 * Retrieve a copy of the current cell states
+	 *
+	 * @return the cell states, row major
+	 */
+	int[] copyGrid() {
+		int[] cells = new int[numRows*numCols];
+		for (int row=0; row<numRows; row++)
+			for (int col=0; col<numCols; col++)
+				cells[row*numCols + col] = rows[row].get(col);
+		return cells;
+	}
+
+	/**
+	 * Retrieve the number of columns (for converting cell indexes)
+	 *
+	 * @return the number of columns
+	 */
+	int getNumCols() {
+		return numCols;
+	}
+
+	/**
+	 * Retrieve the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	int getNumRows() {
+		return numRows;
+	}
+
+	/**
+	 * Retrieve the number of line solves performed so far
+	 *
+	 * @return the count
+	 */
+	long getLineSolves() {
+		return lineSolves;
+	}
+
+	/**
+	 * Retrieve the number of search nodes explored since the last solve, search or count started
+	 *
+	 * @return the count
+	 */
+	long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Retrieve the maximum search depth reached since the last solve, search or count started
+	 *
+	 * @return the count
+	 */
+	int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Retrieve the number of guesses undone since the last solve, search or count started
+	 *
+	 * @return the count
+	 */
+	long getBacktracks() {
+		return backtracks;
+	}
+
+	/**
+	 * Build a result from the current grid
+	 *
+	 * @param status the outcome
+	 * @return the result
+	 */
+	private SolverResult makeResult(int status) {
+		int[][] cells = new int[numRows][numCols];
+		for (int row=0; row<numRows; row++)
+			for (int col=0; col<numCols; col++)
+				cells[row][col] = rows[row].get(col);
+		return new SolverResult(status, cells, lineSolves, nodes, maxDepth, backtracks);
+	}
+
+	private int                numRows       = -1;
+	private int                numCols       = -1;
+	private int[][]            rowNums       = null;
+	private int[][]            colNums       = null;
+	private BitLine[]          rows          = null; // cell states by row
+	private BitLine[]          cols          = null; // the same cell states by column
+	private int[]              rowUnknown    = null; // number of UNKNOWN cells in each row
+	private int[]              colUnknown    = null; // number of UNKNOWN cells in each column
+	private int                unknown       = 0;    // number of UNKNOWN cells in the grid
+	private int[]              trail         = null; // cells set since the start, in order
+	private int                trailSize     = 0;
+	private BitLine            rowResult     = null; // line solver output buffers
+	private BitLine            colResult     = null;
+	private int[]              queue         = null; // circular work queue of dirty lines
+	private boolean[]          queued        = null; // is the line in the queue?
+	private int                queueHead     = 0;
+	private int                queueSize     = 0;
+	private boolean            keepQueue     = false; // keep the queue when stopped, to resume later
+	private LineSolver         lineSolver    = null;
+	private LineSolveCache     cache         = null; // optional, shared between copies
+	private long[]             rowHashes     = null; // clue hashes for the cache
+	private long[]             colHashes     = null;
+	private long               lineSolves    = 0;
+	private long               nodes         = 0;
+	private int                maxDepth      = 0;
+	private long               backtracks    = 0;
+	private BooleanSupplier    stop          = null; // polled with the deadline
+	private boolean            stopped       = false;
+	private long               deadline      = 0;    // System.nanoTime() deadline, 0 for none
+	private CancellationToken  token         = null; // polled with the deadline, null for none
+	private int                solutionLimit = 1;    // stop searching after this many solutions
+	private int                solutions     = 0;
+	private int[]              firstSolution = null;
+	private long               hash          = 0L;   // Zobrist hash of the cell states
+	private TranspositionTable table         = null; // optional, shared between copies
+	private long               clueKey       = 0L;   // clue fingerprint mixed into the table keys
+	private long               tableHits     = 0;
+
+	private static final int[] GUESSES = {Nonogram.FULL, Nonogram.EMPTY};
+}
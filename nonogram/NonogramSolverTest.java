@@ -0,0 +1,160 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class NonogramSolverTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramSolverTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class NonogramSolverTest
+     */
+    public NonogramSolverTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testPropagationSolvesTiny() {
+        SolverResult result = new NonogramSolver(tiny).solve();
+        assertEquals(SolverResult.SOLVED, result.getStatus());
+        assertEquals("1001111011110001010100001", result.toGoalString());
+    }
+
+    @Test
+    public void testSolverDoesNotModifyPuzzle() {
+        new NonogramSolver(tiny).solve();
+        assertEquals(Nonogram.UNKNOWN, tiny.getState(0, 0));
+    }
+
+    @Test
+    public void testApplyTo() {
+        new NonogramSolver(tiny).solve().applyTo(tiny);
+        assertTrue(tiny.isSolved());
+    }
+
+    @Test
+    public void testContradiction() {
+        // (0,0) is FULL in the only solution
+        tiny.setState(0, 0, Nonogram.EMPTY);
+        SolverResult result = new NonogramSolver(tiny).solve();
+        assertEquals(SolverResult.CONTRADICTION, result.getStatus());
+    }
+
+    @Test
+    public void testStuck() {
+        // one full cell per row and column: line solving alone cannot place any of them
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        SolverResult result = new NonogramSolver(ng).solve();
+        assertEquals(SolverResult.STUCK, result.getStatus());
+        assertEquals(Nonogram.UNKNOWN, result.getState(0, 0));
+    }
+
+    @Test
+    public void testSearchFinishesStuckPuzzle() {
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        SolverResult result = new NonogramSolver(ng).search();
+        assertEquals(SolverResult.SOLVED, result.getStatus());
+        assertTrue(result.getNodes() > 0);
+        assertTrue(result.getMaxDepth() > 0);
+        result.applyTo(ng);
+        assertTrue(ng.isSolved());
+    }
+
+    @Test
+    public void testSearchNoSolution() {
+        // the rows need 6 full cells but the columns only 5
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n2\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        SolverResult result = new NonogramSolver(ng).search();
+        assertEquals(SolverResult.CONTRADICTION, result.getStatus());
+    }
+
+    @Test
+    public void testSolverCanBeReused() {
+        NonogramSolver solver = new NonogramSolver(tiny);
+        SolutionCount first = solver.countSolutions(2, 0);
+        SolutionCount again = solver.countSolutions(2, 0);
+        assertEquals(1, first.getCount());
+        assertEquals(first.getCount(), again.getCount());
+        assertEquals(first.getNodes(), again.getNodes());
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        solver = new NonogramSolver(ng);
+        assertEquals(2, solver.countSolutions(2, 0).getCount());
+        assertEquals(2, solver.countSolutions(2, 0).getCount());
+        SolverResult result = solver.search();
+        assertEquals(SolverResult.SOLVED, result.getStatus());
+        result.applyTo(ng);
+        assertTrue(ng.isSolved());
+    }
+
+    @Test
+    public void testCancelledSearchReturnsPartialGrid() {
+        // 30x30 with one full cell per row and column: a 2 way split everywhere
+        StringBuffer sb = new StringBuffer("width 30\nheight 30\nrows\n");
+        sb.append("1\n".repeat(30));
+        sb.append("columns\n");
+        sb.append("1\n".repeat(30));
+        Nonogram ng = new Nonogram(new Scanner(sb.toString()));
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        SolverResult result = new NonogramSolver(ng).search(0, token);
+        assertEquals(SolverResult.STOPPED, result.getStatus());
+        assertEquals(Nonogram.UNKNOWN, result.getState(0, 0));
+        result = new NonogramSolver(tiny).solve(0, token);
+        assertEquals(SolverResult.STOPPED, result.getStatus());
+        assertEquals(SolutionCount.UNKNOWN, ng.countSolutions(2, 0, token));
+        assertNull(new HintFinder(tiny).find(0, token));
+        assertEquals(DifficultyGrade.UNSOLVED, DifficultyGrader.grade(tiny, "tiny", 0, token).getTechnique());
+        ParallelSolver parallel = new ParallelSolver(ng);
+        assertEquals(SolverResult.STOPPED, parallel.search(0, token).getStatus());
+    }
+
+    @Test
+    public void testDeadlineStopsSearch() {
+        StringBuffer sb = new StringBuffer("width 30\nheight 30\nrows\n");
+        sb.append("1\n".repeat(30));
+        sb.append("columns\n");
+        sb.append("1\n".repeat(30));
+        Nonogram ng = new Nonogram(new Scanner(sb.toString()));
+        long start = System.currentTimeMillis();
+        SolverResult result = new ParallelSolver(ng, new java.util.concurrent.ForkJoinPool(2), false).search(50, null);
+        // a single solution is found quickly, so this search either solves or stops
+        assertTrue(result.getStatus() == SolverResult.SOLVED || result.getStatus() == SolverResult.STOPPED);
+        NonogramSolver solver = new NonogramSolver(ng);
+        SolutionCount count = solver.countSolutions(Integer.MAX_VALUE, 50, new CancellationToken());
+        assertTrue(count.isUnknown());
+        assertTrue(System.currentTimeMillis() - start < 5000);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
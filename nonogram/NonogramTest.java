@@ -0,0 +1,319 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class NonogramTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class NonogramTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class NonogramTest
+     */
+    public NonogramTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testCountSolutions() {
+        assertEquals(1, tiny.countSolutions(2));
+        Nonogram ng = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        assertEquals(2, ng.countSolutions(2));
+        assertEquals(120, ng.countSolutions(1000));
+    }
+
+    @Test
+    public void testCountSolutionsBudget() {
+        // 30x30 with one full cell per row and column has 30! solutions
+        StringBuffer sb = new StringBuffer("width 30\nheight 30\nrows\n");
+        sb.append("1\n".repeat(30));
+        sb.append("columns\n");
+        sb.append("1\n".repeat(30));
+        Nonogram ng = new Nonogram(new Scanner(sb.toString()));
+        assertEquals(SolutionCount.UNKNOWN, ng.countSolutions(Integer.MAX_VALUE, 50));
+    }
+
+    @Test
+    public void testCheckGoal() {
+        assertEquals("1001111011110001010100001", tiny.getGoal());
+        assertEquals(Nonogram.GOAL_OK, tiny.checkGoal(0));
+        Nonogram wrong = new Nonogram(new Scanner("width 5\nheight 5\nrows\n5\n1\n1\n1\n1\ncolumns\n5\n1\n1\n1\n1\ngoal \"1111110000100001000010001\"\n"));
+        assertEquals(Nonogram.GOAL_WRONG, wrong.checkGoal(0));
+        CancellationToken token = new CancellationToken();
+        assertEquals(Nonogram.GOAL_OK, tiny.checkGoal(0, token));
+        assertNotNull(tiny.getHint(0, token));
+        token.cancel();
+        assertEquals(Nonogram.GOAL_UNKNOWN, tiny.checkGoal(0, token));
+        assertNull(tiny.getHint(0, token));
+    }
+
+    @Test
+    public void testSequencesFollowCellChanges() {
+        String row = tiny.getRowSequence(0);
+        assertEquals("22222", row);
+        assertSame(row, tiny.getRowSequence(0));
+        tiny.setState(0, 3, Nonogram.FULL);
+        assertEquals("22212", tiny.getRowSequence(0));
+        assertEquals("12222", tiny.getColSequence(3));
+        tiny.setStatesByString(tiny.getGoal());
+        assertEquals("10011", tiny.getRowSequence(0));
+        assertTrue(tiny.isSolved());
+        tiny.clear();
+        assertEquals("22222", tiny.getColSequence(3));
+    }
+
+    @Test
+    public void testSolvedStatusFollowsMoves() {
+        String goal = tiny.getGoal();
+        assertFalse(tiny.isSolved());
+        for (int i=0; i<goal.length(); i++) {
+            assertFalse(tiny.isSolved());
+            tiny.setState(i / 5, i % 5, goal.charAt(i) - '0');
+        }
+        assertTrue(tiny.isSolved());
+        for (int i=0; i<5; i++) {
+            assertTrue(tiny.isRowSolved(i));
+            assertTrue(tiny.isColSolved(i));
+        }
+        // break row 0 (and column 1 with it)
+        tiny.setState(0, 1, Nonogram.FULL);
+        assertFalse(tiny.isSolved());
+        assertFalse(tiny.isRowSolved(0));
+        assertFalse(tiny.isRowValid(0));
+        assertFalse(tiny.isColValid(1));
+        assertTrue(tiny.isColSolved(0));
+        tiny.setState(0, 1, Nonogram.EMPTY);
+        assertTrue(tiny.isSolved());
+    }
+
+    @Test
+    public void testApplyAllNotifiesOnce() {
+        ArrayList<Object> events = new ArrayList<>();
+        LiveSolver live = new LiveSolver(tiny);
+        tiny.addListener(new NonogramListener() {
+            @Override
+            public void cellsChanged(CellChanges changes) {
+                events.add(changes);
+            }
+        }, NonogramListener.CELL_EVENTS);
+        ArrayList<Assign> moves = new ArrayList<>();
+        moves.add(new Assign(0, 0, Nonogram.EMPTY));
+        moves.add(new Assign(0, 3, Nonogram.FULL));
+        moves.add(new Assign(0, 0, Nonogram.FULL));
+        moves.add(new Assign(2, 4, Nonogram.UNKNOWN));   // no change
+        tiny.applyAll(moves);
+        assertEquals(1, events.size());
+        CellChanges changes = (CellChanges) events.get(0);
+        assertEquals(2, changes.size());
+        assertEquals(Nonogram.FULL, changes.getCells().get(0).getState());
+        assertArrayEquals(new int[] {0}, changes.getRows());
+        assertArrayEquals(new int[] {0, 3}, changes.getCols());
+        assertEquals(Nonogram.FULL, live.getDeducedState(0, 4));
+        tiny.clear();
+        assertEquals(2, events.size());
+        assertEquals(2, ((CellChanges) events.get(1)).size());
+        assertTrue(live.isConsistent());
+        tiny.clear();
+        assertEquals(2, events.size());
+    }
+
+    @Test
+    public void testTypedEvents() {
+        ArrayList<String> events = new ArrayList<>();
+        tiny.addListener(new NonogramListener() {
+            @Override
+            public void lineStatusChanged(boolean isRow, int index, boolean valid, boolean solved) {
+                events.add((isRow ? "row" : "col") + index + (valid ? "v" : "") + (solved ? "s" : ""));
+            }
+
+            @Override
+            public void solvedChanged(boolean solved) {
+                events.add(solved ? "solved" : "unsolved");
+            }
+        }, NonogramListener.LINE_EVENTS | NonogramListener.SOLVED_EVENTS);
+        tiny.setState(0, 0, Nonogram.FULL);
+        assertTrue(events.isEmpty());
+        tiny.applyAll(Arrays.asList(new Assign(1, 0, Nonogram.FULL), new Assign(2, 0, Nonogram.FULL),
+                new Assign(3, 0, Nonogram.FULL)));
+        assertEquals(Arrays.asList("col0vs"), events);
+        tiny.setState(0, 1, Nonogram.FULL);   // row 0 is 1,2: a block of 2 first is a mistake
+        assertEquals(Arrays.asList("col0vs", "row0"), events);
+        events.clear();
+        tiny.applyAll(Arrays.asList(new Assign(0, 0, Nonogram.UNKNOWN), new Assign(0, 1, Nonogram.UNKNOWN)));
+        assertEquals(Arrays.asList("row0v", "col0v"), events);
+        events.clear();
+        tiny.setStatesByString(tiny.getGoal());
+        assertTrue(events.contains("solved"));
+    }
+
+    @Test
+    public void testAddingListenerKeepsOthersPendingEvents() {
+        ArrayList<String> events = new ArrayList<>();
+        ArrayList<String> later  = new ArrayList<>();
+        NonogramListener second = new NonogramListener() {
+            @Override
+            public void lineStatusChanged(boolean isRow, int index, boolean valid, boolean solved) {
+                later.add((isRow ? "row" : "col") + index + (valid ? "v" : "") + (solved ? "s" : ""));
+            }
+        };
+        tiny.addListener(new NonogramListener() {
+            @Override
+            public void lineStatusChanged(boolean isRow, int index, boolean valid, boolean solved) {
+                events.add((isRow ? "row" : "col") + index + (valid ? "v" : "") + (solved ? "s" : ""));
+                if (events.size() == 1)
+                    tiny.addListener(second, NonogramListener.LINE_EVENTS);   // part way through an update
+            }
+        }, NonogramListener.LINE_EVENTS);
+        // breaks row 0 (1,2) and column 2 (1), and nothing else
+        tiny.applyAll(Arrays.asList(new Assign(0, 0, Nonogram.FULL), new Assign(0, 1, Nonogram.FULL),
+                new Assign(0, 2, Nonogram.FULL), new Assign(1, 2, Nonogram.EMPTY), new Assign(2, 2, Nonogram.FULL)));
+        assertEquals(Arrays.asList("row0", "col2"), events);
+        assertTrue(later.isEmpty());   // the second listener starts from the status when it was added
+        tiny.clear();
+        assertTrue(events.contains("row0v") && events.contains("col2v"));
+        assertTrue(later.contains("row0v") && later.contains("col2v"));
+    }
+
+    @Test
+    public void testSetStatesByStringIsOneBulkChange() {
+        ArrayList<CellChanges> batches = new ArrayList<>();
+        tiny.addListener(new NonogramListener() {
+            @Override
+            public void cellsChanged(CellChanges changes) {
+                batches.add(changes);
+            }
+        }, NonogramListener.CELL_EVENTS);
+        LiveSolver live = new LiveSolver(tiny);
+        tiny.setStatesByString(tiny.getGoal());
+        assertEquals(1, batches.size());
+        assertEquals(25, batches.get(0).size());
+        assertTrue(live.isConsistent());
+        assertEquals(Nonogram.FULL, live.getDeducedState(0, 0));
+
+        // a bad character anywhere leaves every cell as it was
+        tiny.clear();
+        String bad = "1".repeat(24) + "x";
+        assertThrows(IllegalArgumentException.class, () -> tiny.setStatesByString(bad));
+        assertEquals(Nonogram.UNKNOWN, tiny.getState(0, 0));
+        assertEquals(2, batches.size());
+    }
+
+    @Test
+    public void testZobristHash() throws IOException {
+        assertEquals(0L, tiny.getHash());
+        tiny.setState(2, 3, Nonogram.FULL);
+        long full = tiny.getHash();
+        assertNotEquals(0L, full);
+        tiny.setState(2, 3, Nonogram.EMPTY);
+        assertNotEquals(full, tiny.getHash());
+        tiny.setState(2, 3, Nonogram.UNKNOWN);
+        assertEquals(0L, tiny.getHash());
+
+        Nonogram other = new Nonogram(new Scanner(new File("nons/tiny.non"), "UTF-8"));
+        tiny.setStatesByString(tiny.getGoal());
+        assertFalse(tiny.sameStates(other));
+        ArrayList<Assign> moves = new ArrayList<>();
+        for (int i=24; i>=0; i--)
+            moves.add(new Assign(i / 5, i % 5, tiny.getGoal().charAt(i) - '0'));
+        other.applyAll(moves);
+        assertEquals(tiny.getHash(), other.getHash());
+        assertTrue(tiny.sameStates(other));
+        // comparing does not snapshot the other puzzle, so its next move copies nothing
+        BitLine[] lines = {other.getRowLine(0), other.getRowLine(2), other.getColLine(1)};
+        other.setState(0, 1, Nonogram.UNKNOWN);
+        assertSame(lines[0], other.getRowLine(0));
+        assertSame(lines[1], other.getRowLine(2));
+        assertSame(lines[2], other.getColLine(1));
+        assertFalse(tiny.sameStates(other));
+        assertTrue(tiny.sameStates(tiny));
+
+        // the solver keeps its own hash in step with its cells
+        tiny.clear();
+        NonogramSolver solver = new NonogramSolver(tiny);
+        solver.solve().applyTo(tiny);
+        assertEquals(tiny.getHash(), solver.getHash());
+    }
+
+    @Test
+    public void testConcurrentReadsAreNeverTorn() throws Exception {
+        // the writer flips the whole grid between all FULL and all UNKNOWN, so every
+        // consistent read sees uniform lines, rows agreeing with columns, and one of two hashes
+        Nonogram ng = NonogramBenchmark.randomPuzzle(30, 30, 2);
+        List<Assign> fill = new ArrayList<>();
+        for (int row=0; row<30; row++)
+            for (int col=0; col<30; col++)
+                fill.add(new Assign(row, col, Nonogram.FULL));
+        ng.applyAll(fill);
+        long fullHash = ng.getHash();
+        ng.clear();
+        List<String> torn = Collections.synchronizedList(new ArrayList<>());
+        Thread writer = new Thread(() -> {
+            for (int i=0; i<2000; i++) {
+                ng.applyAll(fill);
+                ng.clear();
+            }
+        });
+        Runnable reader = () -> {
+            while (writer.isAlive()) {
+                int[] row = ng.getRowStates(7);
+                for (int state : row)
+                    if (state != row[0])
+                        torn.add("row " + Arrays.toString(row));
+                String seq = ng.getColSequence(11);
+                if (!seq.equals("2".repeat(30)) && !seq.equals("1".repeat(30)))
+                    torn.add("col " + seq);
+                GridSnapshot snap = ng.snapshot();
+                int corner = snap.getState(0, 0);
+                if (snap.getHash() != ((corner == Nonogram.FULL) ? fullHash : 0L))
+                    torn.add("hash " + snap.getHash());
+                for (int i=0; i<30; i++)
+                    if (!snap.getRowLine(i).equals(snap.getRowLine(0)) || !snap.getColLine(i).equals(snap.getRowLine(0)))
+                        torn.add("grid at line " + i);
+            }
+        };
+        Thread[] readers = new Thread[3];
+        for (int i=0; i<readers.length; i++)
+            readers[i] = new Thread(reader);
+        writer.start();
+        for (Thread t : readers)
+            t.start();
+        writer.join();
+        for (Thread t : readers)
+            t.join();
+        assertEquals(Collections.emptyList(), torn.subList(0, Math.min(5, torn.size())));
+        assertEquals(0L, ng.getHash());
+        assertFalse(ng.isSolved());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -1,6 +1,7 @@
 package nonogram;
 
 import java.io.*;
+import java.nio.file.NoSuchFileException;
 import java.util.*;
 import java.util.regex.*;
 import javax.swing.*;
@@ -17,15 +18,41 @@ public class NonogramUI {
 	 * Default constructor
 	 */
 	public NonogramUI() {
+		this(NGFILE);
+	}
+	
+	/**
+	 * Constructor, for a given puzzle
+	 * 
+	 * @param file the .non file, or a puzzle in an archive ("puzzles.nar#12")
+	 */
+	public NonogramUI(String file) {
 		scnr       = new Scanner(System.in);
 		gameFs = null;
 		gameStack = new Stack<String>();
+		// keep going with the default puzzle rather than an empty one
+		puzzle     = loadPuzzle(file);
+		if ((puzzle == null) && !NGFILE.equals(file))
+			puzzle = loadPuzzle(NGFILE);
+		if (puzzle == null)
+			throw new NonogramException("no puzzle could be loaded");
+	}
+	
+	/**
+	 * Load a puzzle from a .non file or an archive, reporting any failure
+	 * 
+	 * @param file the .non file, or a puzzle in an archive ("puzzles.nar#12")
+	 * @return the puzzle, or null if it could not be loaded
+	 */
+	private Nonogram loadPuzzle(String file) {
 		try {
-			gameFs = new Scanner(new File(NGFILE));
-		} catch (FileNotFoundException e) {
-			System.out.println(NGFILE + "not found");
+			return new Nonogram(PuzzleArchive.load(file));
+		} catch (NoSuchFileException e) {
+			System.out.println(file + " not found");
+		} catch (IOException | NonogramException | IllegalArgumentException e) {
+			System.out.println(file + " could not be loaded (" + e.getMessage() + ")");
 		}
-		puzzle     = new Nonogram(gameFs);
+		return null;
 	}
 	
 	/**
@@ -48,7 +75,7 @@ public class NonogramUI {
 			if (rowNums[row].length > maxRowNumsLen)
 				maxRowNumsLen = rowNums[row].length;
 		}
-		for (int col=0; col<numRows; col++) {
+		for (int col=0; col<numCols; col++) {
 			colNums[col] = puzzle.getColNums(col);
 			if (colNums[col].length > maxColNumsLen)
 				maxColNumsLen = colNums[col].length;
@@ -679,7 +706,7 @@ public class NonogramUI {
 	}
 	
 	public static void main(String[] args) {
-		NonogramUI ui = new NonogramUI();
+		NonogramUI ui = (args.length > 0) ? new NonogramUI(args[0]) : new NonogramUI();
     ui.menu();
 	}
 	
@@ -0,0 +1,301 @@
+package nonogram;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A parallel version of the NonogramSolver depth-first search.
+ *
+ * The top levels of the search tree are split into fork/join tasks, which the pool
+ * balances across its workers by work stealing.  Each task has its own copy of the
+ * grid state (a NonogramSolver copy); the clues are shared.  Below the split depth a
+ * task searches sequentially.
+ *
+ * In deterministic mode the solution returned is always the one the sequential
+ * search would find first, whatever the number of threads: every task knows its
+ * position in the (FULL before EMPTY) search order, solutions are ranked by that
+ * position, and tasks that can only find later solutions give up early.  Otherwise
+ * the first solution found by any worker is returned and all others stop.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class ParallelSolver {
+	/**
+	 * Constructor, using the common fork/join pool in non-deterministic mode
+	 *
+	 * @param ng the puzzle to solve (it is not modified)
+	 */
+	public ParallelSolver(Nonogram ng) {
+		this(ng, ForkJoinPool.commonPool(), false);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param ng the puzzle to solve (it is not modified)
+	 * @param pool the fork/join pool to run the search in
+	 * @param deterministic if true, always return the solution the sequential search finds first
+	 */
+	public ParallelSolver(Nonogram ng, ForkJoinPool pool, boolean deterministic) {
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		if (pool == null)
+			throw new IllegalArgumentException("pool cannot be null");
+		this.root          = new NonogramSolver(ng);
+		this.pool          = pool;
+		this.deterministic = deterministic;
+	}
+
+	/**
+	 * Set how many levels of guesses are split into parallel tasks
+	 *
+	 * @param splitDepth the split depth (1 to MAX_SPLIT_DEPTH)
+	 */
+	public void setSplitDepth(int splitDepth) {
+		if ((splitDepth < 1) || (splitDepth > MAX_SPLIT_DEPTH))
+			throw new IllegalArgumentException("splitDepth must be 1 <= splitDepth <= " + MAX_SPLIT_DEPTH);
+		this.splitDepth = splitDepth;
+	}
+
+	/**
+	 * Put a line solve cache in front of the line solver, shared by all the tasks
+	 *
+	 * @param cache the cache to use, or null for none
+	 */
+	public void setCache(LineSolveCache cache) {
+		root.setCache(cache);
+	}
+
+	/**
+	 * Use a transposition table to skip states already found to have no solution, shared by all the tasks
+	 *
+	 * @param table the table to use, or null for none
+	 */
+	public void setTranspositionTable(TranspositionTable table) {
+		root.setTranspositionTable(table);
+	}
+
+	/**
+	 * Solve completely, searching in parallel once propagation gets stuck
+	 *
+	 * @return the result, SOLVED with a solution or CONTRADICTION if there is none
+	 */
+	public SolverResult search() {
+		return search(0, null);
+	}
+
+	/**
+	 * Solve completely, searching in parallel once propagation gets stuck, stopping every
+	 * task when a time budget runs out or a token is cancelled.  (In deterministic mode a
+	 * solution found before stopping is returned even if an earlier one might exist.)
+	 *
+	 * @param timeBudgetMillis the time allowed in milliseconds (0 for no limit)
+	 * @param token the cancellation token (or null for none)
+	 * @return the result, SOLVED with a solution, CONTRADICTION if there is none, or STOPPED
+	 *         with the grid deduced before any guesses (the best partial grid)
+	 */
+	public SolverResult search(long timeBudgetMillis, CancellationToken token) {
+		if (timeBudgetMillis < 0)
+			throw new IllegalArgumentException("timeBudgetMillis cannot be negative");
+		this.deadline = (timeBudgetMillis > 0) ? System.nanoTime() + timeBudgetMillis*1000000L : 0;
+		this.token    = token;
+		this.stopped  = false;
+		best = new AtomicReference<>(null);
+		// the statistics are for this search alone
+		lineSolves.reset();
+		nodes.reset();
+		backtracks.reset();
+		maxDepth.set(0);
+		rootLineSolves = root.getLineSolves();
+		root.startLimits(timeBudgetMillis, token);
+		boolean propagated = root.propagateAll();
+		root.endLimits();
+		if (!propagated)
+			return makeResult(root.wasStopped() ? SolverResult.STOPPED : SolverResult.CONTRADICTION, root.copyGrid());
+		if (root.isComplete())
+			return makeResult(SolverResult.SOLVED, root.copyGrid());
+		pool.invoke(new SearchTask(root, 1, 0L));
+		Found found = best.get();
+		if (found != null)
+			return makeResult(SolverResult.SOLVED, found.grid);
+		return makeResult(stopped ? SolverResult.STOPPED : SolverResult.CONTRADICTION, root.copyGrid());
+	}
+
+	/**
+	 * Build a result from a grid and the statistics gathered from all the tasks
+	 *
+	 * @param status the outcome
+	 * @param cells the cell states, row major
+	 * @return the result
+	 */
+	private SolverResult makeResult(int status, int[] cells) {
+		int numRows = root.getNumRows();
+		int numCols = root.getNumCols();
+		int[][] grid = new int[numRows][numCols];
+		for (int row=0; row<numRows; row++)
+			System.arraycopy(cells, row*numCols, grid[row], 0, numCols);
+		return new SolverResult(status, grid,
+				root.getLineSolves() - rootLineSolves + lineSolves.sum(),
+				nodes.sum(), maxDepth.get(), backtracks.sum());
+	}
+
+	/**
+	 * Record a solution, keeping the earliest in search order (deterministic) or the first found
+	 *
+	 * @param order the position of the solution in the search order
+	 * @param grid the solution
+	 */
+	private void offer(long order, int[] grid) {
+		Found found = new Found(order, grid);
+		while (true) {
+			Found current = best.get();
+			if ((current != null) && (!deterministic || (current.order <= order)))
+				return;
+			if (best.compareAndSet(current, found))
+				return;
+		}
+	}
+
+	/**
+	 * Has the time budget run out or the token been cancelled?
+	 *
+	 * @return true if every task should stop, otherwise false
+	 */
+	private boolean stopRequested() {
+		if (stopped)
+			return true;
+		if (((token != null) && token.isCancelled()) || ((deadline != 0) && (System.nanoTime() - deadline > 0)))
+			stopped = true;
+		return stopped;
+	}
+
+	/**
+	 * Can a task starting at a given position in the search order still find a useful solution?
+	 *
+	 * @param order the position of the task in the search order
+	 * @return true if the task should stop, otherwise false
+	 */
+	private boolean pruned(long order) {
+		Found current = best.get();
+		if (current == null)
+			return false;
+		return !deterministic || (current.order < order);
+	}
+
+	/**
+	 * A search task for one subtree, owning its own copy of the grid state
+	 */
+	@SuppressWarnings("serial")
+	private class SearchTask extends RecursiveAction {
+		/**
+		 * Constructor
+		 *
+		 * @param solver the propagated state at the root of the subtree (copied, not shared)
+		 * @param depth the depth of the next guess
+		 * @param order the position of the subtree in the search order
+		 */
+		SearchTask(NonogramSolver solver, int depth, long order) {
+			this.solver = new NonogramSolver(solver);
+			this.depth  = depth;
+			this.order  = order;
+		}
+
+		@Override
+		protected void compute() {
+			if (pruned(order) || stopRequested())
+				return;
+			solver.setStopCondition(() -> pruned(order) || stopRequested());
+			if (depth > splitDepth) {
+				searchSequentially();
+				return;
+			}
+			updateMaxDepth(depth);
+			int cell = solver.chooseCell();
+			SearchTask[] children = new SearchTask[2];
+			int forked = 0;
+			for (int i=0; i<2; i++) {
+				// FULL (the first guess) takes the lower half of this subtree's order range
+				long childOrder = order | ((long) i << (MAX_SPLIT_DEPTH - depth));
+				int mark = solver.getTrailSize();
+				nodes.increment();
+				if (solver.assume(cell, GUESSES[i])) {
+					if (solver.isComplete())
+						offer(childOrder, solver.copyGrid());
+					else
+						children[forked++] = new SearchTask(solver, depth+1, childOrder);
+				} else if (!solver.wasStopped()) {
+					backtracks.increment();
+				}
+				solver.undo(mark);
+			}
+			lineSolves.add(solver.getLineSolves());
+			if (forked == 2)
+				invokeAll(children[0], children[1]);
+			else if (forked == 1)
+				children[0].compute();
+		}
+
+		/**
+		 * Search the rest of the subtree on this worker
+		 */
+		private void searchSequentially() {
+			solver.setStopCondition(() -> pruned(order) || stopRequested());
+			if (solver.searchFrom(depth))
+				offer(order, solver.copyGrid());
+			lineSolves.add(solver.getLineSolves());
+			nodes.add(solver.getNodes());
+			backtracks.add(solver.getBacktracks());
+			updateMaxDepth(solver.getMaxDepth());
+		}
+
+		private NonogramSolver solver = null;
+		private int            depth  = 0;
+		private long           order  = 0L;
+	}
+
+	/**
+	 * Raise the recorded maximum search depth
+	 *
+	 * @param depth a depth reached by a task
+	 */
+	private void updateMaxDepth(int depth) {
+		int current = maxDepth.get();
+		while ((depth > current) && !maxDepth.compareAndSet(current, depth))
+			current = maxDepth.get();
+	}
+
+	/**
+	 * A solution together with its position in the search order
+	 */
+	private static class Found {
+		Found(long order, int[] grid) {
+			this.order = order;
+			this.grid  = grid;
+		}
+
+		private final long  order;
+		private final int[] grid;
+	}
+
+	public static final int MAX_SPLIT_DEPTH = 20;
+
+	private NonogramSolver           root          = null;
+	private ForkJoinPool             pool          = null;
+	private boolean                  deterministic = false;
+	private int                      splitDepth    = 10;
+	private AtomicReference<Found>   best          = null;
+	private long                     deadline      = 0;     // System.nanoTime() deadline, 0 for none
+	private CancellationToken        token         = null;
+	private volatile boolean         stopped       = false; // set once by any task, seen by all
+	private final LongAdder          lineSolves    = new LongAdder();
+	private final LongAdder          nodes         = new LongAdder();
+	private final LongAdder          backtracks    = new LongAdder();
+	private final AtomicInteger      maxDepth      = new AtomicInteger();
+	private long                     rootLineSolves = 0;    // root's line solves before this search
+
+	private static final int[] GUESSES = {Nonogram.FULL, Nonogram.EMPTY};
+}
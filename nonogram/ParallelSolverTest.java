@@ -0,0 +1,81 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class ParallelSolverTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class ParallelSolverTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class ParallelSolverTest
+     */
+    public ParallelSolverTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testDeterministicParallelSearchMatchesSequential() {
+        // 8x8 with one full cell per row and column has many solutions
+        Nonogram ng = new Nonogram(new Scanner("width 8\nheight 8\nrows\n1\n1\n1\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n1\n1\n1\n"));
+        String expected = new NonogramSolver(ng).search().toGoalString();
+        for (int threads = 1; threads <= 4; threads++) {
+            ParallelSolver solver = new ParallelSolver(ng, new java.util.concurrent.ForkJoinPool(threads), true);
+            solver.setSplitDepth(3);
+            assertEquals(expected, solver.search().toGoalString());
+        }
+    }
+
+    @Test
+    public void testParallelSearchSolves() {
+        SolverResult result = new ParallelSolver(tiny).search();
+        assertEquals(SolverResult.SOLVED, result.getStatus());
+        assertEquals("1001111011110001010100001", result.toGoalString());
+    }
+
+    @Test
+    public void testReusedSolverReportsEachSearch() {
+        Nonogram ng = new Nonogram(new Scanner("width 8\nheight 8\nrows\n1\n1\n1\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n1\n1\n1\n"));
+        ParallelSolver solver = new ParallelSolver(ng, new java.util.concurrent.ForkJoinPool(1), true);
+        solver.setSplitDepth(3);
+        SolverResult first = solver.search();
+        SolverResult again = solver.search();
+        assertEquals(first.toGoalString(), again.toGoalString());
+        assertEquals(first.getNodes(), again.getNodes());
+        assertEquals(first.getBacktracks(), again.getBacktracks());
+        assertEquals(first.getMaxDepth(), again.getMaxDepth());
+        assertTrue(again.getLineSolves() <= first.getLineSolves());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,443 @@
+package nonogram;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A read-only archive of many puzzles, for catalogues too big to keep one .non file
+ * per puzzle.
+ *
+ * An archive is two files:
+ * <ul>
+ * <li>the data file (for example puzzles.nar) - the .non files' bytes, one after another</li>
+ * <li>the index file (puzzles.nar.idx) - a header, then a fixed size record for each
+ *     puzzle (its offset and length in the data file, size, difficulty and title),
+ *     then the titles' UTF-8 bytes</li>
+ * </ul>
+ * Both files are memory-mapped when the archive is opened, and nothing else is read:
+ * loading puzzle n reads its index record at a known position, then parses just its
+ * bytes from the data file with a NonParser.  Opening an archive and loading a puzzle
+ * therefore take the same time however many puzzles the archive holds.
+ *
+ * Puzzles are numbered from 0 in the order they were added.  A puzzle can be named by
+ * a location such as "puzzles.nar#12" (see load), which is how NonogramPanel and
+ * NonogramUI load one.
+ *
+ * An open archive is immutable, so it can be shared by any number of threads.  Each
+ * file is mapped as a single buffer, so the data file is limited to 2 GB.
+ *
+ * Usage: java nonogram.PuzzleArchive [-grade ms] archive dir (build an archive from
+ * every .non file under dir), or java nonogram.PuzzleArchive archive (list it)
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public final class PuzzleArchive {
+	/**
+	 * Constructor
+	 *
+	 * @param data the mapped data file
+	 * @param index the mapped index file
+	 */
+	private PuzzleArchive(MappedByteBuffer data, MappedByteBuffer index) {
+		if (index.capacity() < HEADER_SIZE)
+			throw new NonogramException("archive index too short (" + index.capacity() + " bytes)");
+		if ((index.getInt(0) != MAGIC) || (index.getInt(4) != VERSION))
+			throw new NonogramException("not an archive index (or an unsupported version)");
+		int  count    = index.getInt(8);
+		long dataSize = index.getLong(12);
+		if ((count < 0) || (HEADER_SIZE + (long) count*RECORD_SIZE > index.capacity()))
+			throw new NonogramException("archive index truncated (" + count + " puzzles)");
+		if (dataSize != data.capacity())
+			throw new NonogramException("archive data does not match its index (" + data.capacity() + " bytes, expected " + dataSize + ")");
+		this.data      = data;
+		this.index     = index;
+		this.count     = count;
+		this.poolStart = HEADER_SIZE + count*RECORD_SIZE;
+	}
+
+	/**
+	 * Open an archive, mapping its data and index files
+	 *
+	 * @param archive the data file (the index is archive + ".idx")
+	 * @return the archive
+	 * @throws IOException if either file cannot be read
+	 */
+	public static PuzzleArchive open(Path archive) throws IOException {
+		if (archive == null)
+			throw new IllegalArgumentException("archive cannot be null");
+		// a mapping stays valid after its channel is closed
+		return new PuzzleArchive(map(archive), map(indexPath(archive)));
+	}
+
+	/**
+	 * Map a whole file, read-only
+	 *
+	 * @param file the file
+	 * @return the mapped buffer
+	 * @throws IOException if the file cannot be read
+	 */
+	private static MappedByteBuffer map(Path file) throws IOException {
+		try (FileChannel ch = FileChannel.open(file)) {
+			if (ch.size() > Integer.MAX_VALUE)
+				throw new NonogramException(file + " is too large to map (" + ch.size() + " bytes)");
+			return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+		}
+	}
+
+	/**
+	 * Retrieve the index file of an archive
+	 *
+	 * @param archive the data file
+	 * @return the index file
+	 */
+	public static Path indexPath(Path archive) {
+		return archive.resolveSibling(archive.getFileName() + INDEX_SUFFIX);
+	}
+
+	/**
+	 * Build an archive from .non files, replacing any existing archive
+	 *
+	 * Each file is parsed as it is added, so a malformed file is found now rather than
+	 * when it is loaded.  If gradeMillis is not negative each puzzle is graded with
+	 * DifficultyGrader, which can take a while for a large catalogue; otherwise, or if
+	 * grading runs out of time, the puzzle has no difficulty.
+	 *
+	 * @param archive the data file to write (the index is written to archive + ".idx")
+	 * @param files the .non files, in the order they are numbered
+	 * @param gradeMillis the time allowed to grade each puzzle in milliseconds (0 for no limit), or negative not to grade
+	 * @throws IOException if a file cannot be read or the archive cannot be written
+	 */
+	public static void create(Path archive, List<Path> files, long gradeMillis) throws IOException {
+		if (archive == null)
+			throw new IllegalArgumentException("archive cannot be null");
+		if (files == null)
+			throw new IllegalArgumentException("files cannot be null");
+		NonParser             parser  = new NonParser();
+		ByteArrayOutputStream records = new ByteArrayOutputStream();
+		ByteArrayOutputStream pool    = new ByteArrayOutputStream();
+		DataOutputStream      rec     = new DataOutputStream(records);
+		long                  offset  = 0;
+		try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(archive))) {
+			for (Path file : files) {
+				byte[] bytes = Files.readAllBytes(file);
+				PuzzleDefinition def;
+				try {
+					def = parser.parse(ByteBuffer.wrap(bytes));
+				} catch (NonogramException e) {
+					throw new NonogramException(file + ": " + e.getMessage());
+				}
+				int technique = -1;
+				int level     = 0;
+				if (gradeMillis >= 0) {
+					DifficultyGrade grade = DifficultyGrader.grade(new Nonogram(def), file.toString(), gradeMillis);
+					technique = grade.getTechnique();
+					level     = levelCode(grade.getLevel());
+				}
+				String title = def.getMetadata("title");
+				byte[] utf   = (title == null) ? null : title.getBytes(StandardCharsets.UTF_8);
+
+				rec.writeLong(offset);
+				rec.writeInt(bytes.length);
+				rec.writeInt(def.getNumRows());
+				rec.writeInt(def.getNumCols());
+				rec.writeByte(technique);
+				rec.writeByte(level);
+				rec.writeShort(0);
+				rec.writeInt((utf == null) ? 0 : pool.size());
+				rec.writeInt((utf == null) ? -1 : utf.length);
+				if (utf != null)
+					pool.write(utf);
+
+				out.write(bytes);
+				offset += bytes.length;
+				// keep the data file readable as text, one puzzle after another
+				if ((bytes.length > 0) && (bytes[bytes.length-1] != '\n')) {
+					out.write('\n');
+					offset++;
+				}
+			}
+		}
+		if (offset > Integer.MAX_VALUE)
+			throw new NonogramException(archive + " is too large to map (" + offset + " bytes)");
+
+		try (DataOutputStream idx = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexPath(archive))))) {
+			idx.writeInt(MAGIC);
+			idx.writeInt(VERSION);
+			idx.writeInt(files.size());
+			idx.writeLong(offset);
+			records.writeTo(idx);
+			pool.writeTo(idx);
+		}
+	}
+
+	/**
+	 * Build an archive from every .non file under a directory (including
+	 * subdirectories), in the order of their paths
+	 *
+	 * @param archive the data file to write (the index is written to archive + ".idx")
+	 * @param dir the directory
+	 * @param gradeMillis the time allowed to grade each puzzle in milliseconds (0 for no limit), or negative not to grade
+	 * @throws IOException if a file cannot be read or the archive cannot be written
+	 */
+	public static void create(Path archive, Path dir, long gradeMillis) throws IOException {
+		if (dir == null)
+			throw new IllegalArgumentException("dir cannot be null");
+		ArrayList<Path> files;
+		try (Stream<Path> walk = Files.walk(dir)) {
+			files = walk.filter(p -> p.toString().endsWith(".non") && Files.isRegularFile(p))
+					.sorted()
+					.collect(Collectors.toCollection(ArrayList::new));
+		}
+		create(archive, files, gradeMillis);
+	}
+
+	/**
+	 * Is a location a puzzle in an archive, such as "puzzles.nar#12"?
+	 *
+	 * @param location the location
+	 * @return true if it ends with '#' and a puzzle number, otherwise false
+	 */
+	public static boolean isArchiveLocation(String location) {
+		if (location == null)
+			return false;
+		int hash = location.lastIndexOf('#');
+		if ((hash <= 0) || (hash == location.length()-1))
+			return false;
+		for (int i=hash+1; i<location.length(); i++)
+			if (!Character.isDigit(location.charAt(i)))
+				return false;
+		return true;
+	}
+
+	/**
+	 * Load a puzzle by its location: a puzzle in an archive, such as "puzzles.nar#12",
+	 * or else a .non file
+	 *
+	 * @param location the location
+	 * @return the definition
+	 * @throws IOException if the archive or file cannot be read
+	 */
+	public static PuzzleDefinition load(String location) throws IOException {
+		if (location == null)
+			throw new IllegalArgumentException("location cannot be null");
+		if (!isArchiveLocation(location))
+			return new NonParser().parse(Paths.get(location));
+		int hash = location.lastIndexOf('#');
+		int id;
+		try {
+			id = Integer.parseInt(location.substring(hash+1));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("invalid puzzle number (" + location + ")");
+		}
+		return open(Paths.get(location.substring(0, hash))).getDefinition(id);
+	}
+
+	/**
+	 * Retrieve the number of puzzles
+	 *
+	 * @return the number of puzzles
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Load a puzzle
+	 *
+	 * @param id the puzzle number
+	 * @return the definition
+	 * @throws NonogramException if the puzzle's index entry lies outside the data file
+	 */
+	public PuzzleDefinition getDefinition(int id) {
+		int  at     = record(id);
+		long offset = index.getLong(at);
+		int  length = index.getInt(at+8);
+		if ((offset < 0) || (length < 0) || (offset + length > data.capacity()))
+			throw new NonogramException("archive index entry " + id + " out of range (" + offset + "+" + length + " bytes)");
+		return new NonParser().parse(data.slice((int) offset, length));
+	}
+
+	/**
+	 * Retrieve the offset of a puzzle in the data file
+	 *
+	 * @param id the puzzle number
+	 * @return the offset in bytes
+	 */
+	public long getOffset(int id) {
+		return index.getLong(record(id));
+	}
+
+	/**
+	 * Retrieve the length of a puzzle in the data file
+	 *
+	 * @param id the puzzle number
+	 * @return the length in bytes
+	 */
+	public int getLength(int id) {
+		return index.getInt(record(id)+8);
+	}
+
+	/**
+	 * Retrieve the number of rows of a puzzle (without loading it)
+	 *
+	 * @param id the puzzle number
+	 * @return the number of rows
+	 */
+	public int getNumRows(int id) {
+		return index.getInt(record(id)+12);
+	}
+
+	/**
+	 * Retrieve the number of columns of a puzzle (without loading it)
+	 *
+	 * @param id the puzzle number
+	 * @return the number of columns
+	 */
+	public int getNumCols(int id) {
+		return index.getInt(record(id)+16);
+	}
+
+	/**
+	 * Retrieve the technique needed to solve a puzzle, as graded when the archive was built
+	 *
+	 * @param id the puzzle number
+	 * @return the technique (see DifficultyGrade), or -1 if the puzzle was not graded
+	 */
+	public int getTechnique(int id) {
+		return index.get(record(id)+20);
+	}
+
+	/**
+	 * Retrieve the difficulty level of a puzzle, as graded when the archive was built
+	 *
+	 * @param id the puzzle number
+	 * @return "easy", "medium" or "hard" (or null if the puzzle was not graded or could not be solved)
+	 */
+	public String getLevel(int id) {
+		int level = index.get(record(id)+21);
+		return ((level > 0) && (level < LEVELS.length)) ? LEVELS[level] : null;
+	}
+
+	/**
+	 * Retrieve the title of a puzzle (without loading it)
+	 *
+	 * @param id the puzzle number
+	 * @return the title, or null if it has none
+	 */
+	public String getTitle(int id) {
+		int at    = record(id);
+		int start = index.getInt(at+24);
+		int len   = index.getInt(at+28);
+		if (len < 0)
+			return null;
+		if ((start < 0) || ((long) poolStart + start + len > index.capacity()))
+			throw new NonogramException("archive index entry " + id + " has its title out of range");
+		byte[] utf = new byte[len];
+		index.get(poolStart + start, utf);
+		return new String(utf, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Find the index record of a puzzle
+	 *
+	 * @param id the puzzle number
+	 * @return the position of its record in the index
+	 */
+	private int record(int id) {
+		if ((id < 0) || (id >= count))
+			throw new IllegalArgumentException("id must be between 0 and " + (count-1) + " (" + id + ")");
+		return HEADER_SIZE + id*RECORD_SIZE;
+	}
+
+	/**
+	 * Convert a difficulty level to its code in the index
+	 *
+	 * @param level the level (or null)
+	 * @return the code (0 for none)
+	 */
+	private static int levelCode(String level) {
+		for (int i=1; i<LEVELS.length; i++)
+			if (LEVELS[i].equals(level))
+				return i;
+		return 0;
+	}
+
+	/**
+	 * Build or list an archive from the command line
+	 *
+	 * @param args [-grade ms] archive dir, or archive
+	 */
+	public static void main(String[] args) {
+		long   grade   = -1;
+		String archive = null;
+		String dir     = null;
+		try {
+			for (int i=0; i<args.length; i++) {
+				if (args[i].equals("-grade"))
+					grade = Long.parseLong(args[++i]);
+				else if (args[i].startsWith("-"))
+					throw new IllegalArgumentException("unknown option " + args[i]);
+				else if (archive == null)
+					archive = args[i];
+				else if (dir == null)
+					dir = args[i];
+				else
+					throw new IllegalArgumentException("too many arguments");
+			}
+			if (archive == null)
+				throw new IllegalArgumentException("no archive");
+		} catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+			System.err.println("usage: java nonogram.PuzzleArchive [-grade ms] archive dir | archive");
+			System.exit(2);
+		}
+		try {
+			if (dir != null) {
+				create(new File(archive).toPath(), new File(dir).toPath(), grade);
+				System.err.println("wrote " + archive + " and " + archive + INDEX_SUFFIX);
+			}
+			PuzzleArchive pa = open(new File(archive).toPath());
+			System.out.println("id,rows,cols,level,title");
+			for (int id=0; id<pa.size(); id++) {
+				String level = pa.getLevel(id);
+				String title = pa.getTitle(id);
+				System.out.println(id + "," + pa.getNumRows(id) + "," + pa.getNumCols(id) + ","
+						+ ((level == null) ? "" : level) + "," + ((title == null) ? "" : title));
+			}
+		} catch (IOException | NonogramException e) {
+			System.err.println("cannot build or read " + archive + ": " + e.getMessage());
+			System.exit(1);
+		}
+	}
+
+	private final MappedByteBuffer data;        // the puzzles' .non bytes
+	private final MappedByteBuffer index;       // header, records, then the title pool
+	private final int              count;       // the number of puzzles
+	private final int              poolStart;   // the position of the title pool in the index
+
+	public static final String INDEX_SUFFIX = ".idx";
+
+	// index layout (big-endian): header of magic, version, count and data size, then per
+	// puzzle a record of offset (long), length, rows, cols (ints), technique, level (bytes),
+	// 2 bytes padding, title offset in the pool and title length (ints, -1 length for none)
+	private static final int      MAGIC       = 0x4E494458;   // "NIDX"
+	private static final int      VERSION     = 1;
+	private static final int      HEADER_SIZE = 20;
+	private static final int      RECORD_SIZE = 32;
+	private static final String[] LEVELS      = {null, "easy", "medium", "hard"};
+}
@@ -0,0 +1,147 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The test class PuzzleArchiveTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class PuzzleArchiveTest
+{
+    Path       dir     = null;
+    Path       archive = null;
+    List<Path> files   = null;
+
+    /**
+     * Default constructor for test class PuzzleArchiveTest
+     */
+    public PuzzleArchiveTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws IOException
+    {
+        dir     = Files.createTempDirectory("archive");
+        archive = dir.resolve("puzzles.nar");
+        files   = Arrays.asList(Paths.get("nons", "tiny.non"), Paths.get("nons", "6.non"), Paths.get("nons", "test15.non"));
+        PuzzleArchive.create(archive, files, 10000);
+    }
+
+    @Test
+    public void testDefinitionsMatchFiles() throws IOException {
+        PuzzleArchive pa = PuzzleArchive.open(archive);
+        assertEquals(3, pa.size());
+        NonParser parser = new NonParser();
+        long offset = 0;
+        for (int id=0; id<pa.size(); id++) {
+            PuzzleDefinition expected = parser.parse(files.get(id));
+            PuzzleDefinition actual   = pa.getDefinition(id);
+            assertEquals(offset, pa.getOffset(id));
+            assertEquals(Files.size(files.get(id)), pa.getLength(id));
+            assertEquals(expected.getNumRows(), pa.getNumRows(id));
+            assertEquals(expected.getNumCols(), pa.getNumCols(id));
+            assertEquals(expected.getNumRows(), actual.getNumRows());
+            for (int row=0; row<expected.getNumRows(); row++)
+                assertArrayEquals(expected.getRowPattern(row).getNums(), actual.getRowPattern(row).getNums());
+            for (int col=0; col<expected.getNumCols(); col++)
+                assertArrayEquals(expected.getColPattern(col).getNums(), actual.getColPattern(col).getNums());
+            assertEquals(expected.getGoal(), actual.getGoal());
+            assertEquals(expected.getMetadata(), actual.getMetadata());
+            assertEquals(expected.getMetadata("title"), pa.getTitle(id));
+            offset = pa.getOffset(id) + pa.getLength(id);
+        }
+        assertEquals("Scardy Cat", pa.getTitle(1));
+        assertThrows(IllegalArgumentException.class, () -> pa.getDefinition(3));
+        assertThrows(IllegalArgumentException.class, () -> pa.getDefinition(-1));
+    }
+
+    @Test
+    public void testDifficulty() throws IOException {
+        PuzzleArchive pa = PuzzleArchive.open(archive);
+        for (int id=0; id<pa.size(); id++) {
+            DifficultyGrade grade = DifficultyGrader.grade(new Nonogram(pa.getDefinition(id)), "", 10000);
+            assertEquals(grade.getTechnique(), pa.getTechnique(id));
+            assertEquals(grade.getLevel(), pa.getLevel(id));
+        }
+
+        // not graded
+        Path other = dir.resolve("ungraded.nar");
+        PuzzleArchive.create(other, files, -1);
+        PuzzleArchive ungraded = PuzzleArchive.open(other);
+        assertEquals(-1, ungraded.getTechnique(0));
+        assertNull(ungraded.getLevel(0));
+    }
+
+    @Test
+    public void testLoadByLocation() throws IOException {
+        assertTrue(PuzzleArchive.isArchiveLocation(archive + "#2"));
+        assertFalse(PuzzleArchive.isArchiveLocation("nons/tiny.non"));
+        assertFalse(PuzzleArchive.isArchiveLocation(archive + "#"));
+        assertFalse(PuzzleArchive.isArchiveLocation(archive + "#x"));
+
+        Nonogram ng = new Nonogram(PuzzleArchive.load(archive + "#0"));
+        assertEquals("1001111011110001010100001", ng.getGoal());
+        assertEquals(15, PuzzleArchive.load(archive + "#2").getNumRows());
+        assertEquals(5, PuzzleArchive.load("nons/tiny.non").getNumRows());
+        assertThrows(IllegalArgumentException.class, () -> PuzzleArchive.load(archive + "#3"));
+        assertThrows(IllegalArgumentException.class, () -> PuzzleArchive.load(archive + "#99999999999"));
+    }
+
+    @Test
+    public void testMismatchedIndex() throws IOException {
+        Files.write(archive, "width 5\n".getBytes(), StandardOpenOption.APPEND);
+        assertThrows(NonogramException.class, () -> PuzzleArchive.open(archive));
+        Files.write(PuzzleArchive.indexPath(archive), new byte[] {1, 2, 3});
+        assertThrows(NonogramException.class, () -> PuzzleArchive.open(archive));
+    }
+
+    @Test
+    public void testCorruptIndexEntry() throws IOException {
+        // point the second puzzle past the end of the data, and the third puzzle's title past the end of the index
+        Path idx = PuzzleArchive.indexPath(archive);
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(idx));
+        bytes.putLong(20 + 32, Files.size(archive) - 10);
+        bytes.putInt(20 + 2*32 + 24, 1 << 20);
+        bytes.putInt(20 + 2*32 + 28, 5);
+        Files.write(idx, bytes.array());
+        PuzzleArchive pa = PuzzleArchive.open(archive);
+        assertEquals(5, pa.getDefinition(0).getNumRows());
+        assertThrows(NonogramException.class, () -> pa.getDefinition(1));
+        assertThrows(NonogramException.class, () -> PuzzleArchive.load(archive + "#1"));
+        assertThrows(NonogramException.class, () -> pa.getTitle(2));
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown() throws IOException
+    {
+        for (String name : new String[] {"puzzles.nar", "ungraded.nar"}) {
+            Files.deleteIfExists(PuzzleArchive.indexPath(dir.resolve(name)));
+            Files.deleteIfExists(dir.resolve(name));
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,248 @@
+package nonogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Scanner;
+
+/**
+ * The fixed part of a Nonogram puzzle: its size, clues, goal and metadata, without any
+ * cell states.
+ *
+ * A definition is immutable, and so thread-safe: it is parsed once and can then be
+ * shared by any number of Nonogram games (for example one per player of the same
+ * puzzle), each of which holds only its own cell states.  The clue patterns, with their
+ * checking automata, are built once per definition rather than once per game.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public final class PuzzleDefinition {
+	/**
+	 * Constructor from the clues (the patterns of contiguous full cells for each row and column)
+	 *
+	 * @param rowNums the pattern for each row
+	 * @param colNums the pattern for each column
+	 * @param goal the solution as a string of cell states, row by row (or null if not known)
+	 */
+	public PuzzleDefinition(int[][] rowNums, int[][] colNums, String goal) {
+		if (rowNums == null)
+			throw new IllegalArgumentException("rowNums cannot be null");
+		if (colNums == null)
+			throw new IllegalArgumentException("colNums cannot be null");
+		int numRows = rowNums.length;
+		int numCols = colNums.length;
+		if (numRows < Nonogram.MIN_SIZE)
+			throw new IllegalArgumentException("height cannot be shorter than " + Nonogram.MIN_SIZE);
+		if (numCols < Nonogram.MIN_SIZE)
+			throw new IllegalArgumentException("width cannot be shorter than " + Nonogram.MIN_SIZE);
+		if ((goal != null) && (goal.length() != numRows*numCols))
+			throw new IllegalArgumentException("goal must be " + numRows*numCols + " chars long (" + goal.length() + ")");
+		this.rows = new NGPattern[numRows];
+		this.cols = new NGPattern[numCols];
+		for (int row=0; row<numRows; row++)
+			rows[row] = new NGPattern(rowNums[row], numCols);
+		for (int col=0; col<numCols; col++)
+			cols[col] = new NGPattern(colNums[col], numRows);
+		this.goal     = goal;
+		this.metadata = Collections.emptyMap();
+	}
+
+	/**
+	 * Constructor from patterns already built (by a parser)
+	 *
+	 * @param rows the pattern for each row
+	 * @param cols the pattern for each column
+	 * @param goal the solution (or null if not known)
+	 * @param metadata the metadata (copied)
+	 */
+	PuzzleDefinition(NGPattern[] rows, NGPattern[] cols, String goal, Map<String, String> metadata) {
+		this.rows     = rows;
+		this.cols     = cols;
+		this.goal     = goal;
+		this.metadata = Collections.unmodifiableMap(new LinkedHashMap<>(metadata));
+	}
+
+	/**
+	 * Parse a puzzle from a scanner (.non file format)
+	 * see https://github.com/mikix/nonogram-db/blob/master/FORMAT.md
+	 * (NonParser reads the same format from bytes, faster)
+	 *
+	 * Header lines other than width, height, rows, columns and goal (such as catalogue,
+	 * title, by, copyright and license) are kept as metadata, keyed by their first word.
+	 *
+	 * @param scnr the scanner
+	 * @return the definition
+	 */
+	public static PuzzleDefinition parse(Scanner scnr) {
+		if (scnr == null)
+			throw new IllegalArgumentException("scnr cannot be null");
+		ArrayList<NGPattern> rowNGPatterns = new ArrayList<>();
+		ArrayList<NGPattern> colNGPatterns = new ArrayList<>();
+		LinkedHashMap<String, String> metadata = new LinkedHashMap<>();
+		int     numRows = -1;
+		int     numCols = -1;
+		String  goal    = null;
+		boolean onRows  = false;
+		boolean onCols  = false;
+		while (scnr.hasNextLine()) {
+			String line = scnr.nextLine();
+			if (line.startsWith("width")) {
+				numCols = parseSize(line, "width");
+			} else if (line.startsWith("height")) {
+				numRows = parseSize(line, "height");
+			} else if (line.startsWith("goal")) {
+				int first = line.indexOf('"');
+				int last  = line.lastIndexOf('"');
+				if ((first < 0) || (last <= first))
+					throw new NonogramException("goal must be quoted (" + line + ")");
+				goal = line.substring(first+1, last);
+			} else if (line.startsWith("rows")) {
+				onRows = true;
+				onCols = false;
+			} else if (line.startsWith("columns")) {
+				onCols = true;
+				onRows = false;
+			} else if (onRows && (rowNGPatterns.size() < numRows)) {
+				rowNGPatterns.add(new NGPattern(parseNums(line), numCols));
+			} else if (onCols && (colNGPatterns.size() < numCols)) {
+				colNGPatterns.add(new NGPattern(parseNums(line), numRows));
+			} else if (!onRows && !onCols && !line.isEmpty() && Character.isLetter(line.charAt(0))) {
+				int    space = line.indexOf(' ');
+				String key   = (space < 0) ? line : line.substring(0, space);
+				String value = (space < 0) ? "" : line.substring(space+1).trim();
+				if ((value.length() >= 2) && value.startsWith("\"") && value.endsWith("\""))
+					value = value.substring(1, value.length()-1);
+				metadata.put(key, value);
+			}
+		}
+
+		if (rowNGPatterns.size() != numRows)
+			throw new NonogramException("incorrect number of rows ("+rowNGPatterns.size()+")");
+		if (colNGPatterns.size() != numCols)
+			throw new NonogramException("incorrect number of cols ("+colNGPatterns.size()+")");
+
+		if ((goal != null) && (goal.length() != numRows*numCols))
+			throw new NonogramException("goal must be " + numRows*numCols + " chars long (" + goal.length() + ")");
+
+		return new PuzzleDefinition(rowNGPatterns.toArray(new NGPattern[0]),
+				colNGPatterns.toArray(new NGPattern[0]), goal, metadata);
+	}
+
+	/**
+	 * Parse a width or height line
+	 *
+	 * @param line the line
+	 * @param name "width" or "height"
+	 * @return the size
+	 */
+	private static int parseSize(String line, String name) {
+		String[] fields = line.split("\\W");
+		int size;
+		try {
+			size = Integer.parseInt(fields[1]);
+		} catch (NumberFormatException e) {
+			throw new NonogramException("non-integer " + name + " (" +fields[1]+ ")");
+		}
+		if (size < Nonogram.MIN_SIZE)
+			throw new NonogramException(name + " cannot be shorter than " + Nonogram.MIN_SIZE);
+		return size;
+	}
+
+	/**
+	 * Parse a line of clue numbers
+	 *
+	 * @param line the comma separated numbers
+	 * @return the numbers
+	 */
+	private static int[] parseNums(String line) {
+		String[]  fields = line.split(",");
+		int[]     nums   = new int[fields.length];
+		int       i      = 0;
+		try {
+			for (i=0; i<fields.length; i++)
+				nums[i] = Integer.parseInt(fields[i].trim());
+		} catch (NumberFormatException e) {
+			throw new NonogramException("non-integer num (" +fields[i]+ ")");
+		}
+		if (!NGPattern.checkNums(nums))
+			throw new NonogramException("nums invalid");
+		return nums;
+	}
+
+	/**
+	 * Retrieve the number of rows
+	 *
+	 * @return the number of rows
+	 */
+	public int getNumRows() {
+		return rows.length;
+	}
+
+	/**
+	 * Retrieve the number of columns
+	 *
+	 * @return the number of columns
+	 */
+	public int getNumCols() {
+		return cols.length;
+	}
+
+	/**
+	 * Retrieve the pattern for a given row
+	 *
+	 * @param row the desired row
+	 * @return the row pattern
+	 */
+	public NGPattern getRowPattern(int row) {
+		if ((row < 0)  || (row >= rows.length))
+			throw new IllegalArgumentException("row invalid, must be 0 <= row < " + rows.length);
+		return rows[row];
+	}
+
+	/**
+	 * Retrieve the pattern for a given column
+	 *
+	 * @param col the desired column
+	 * @return the column pattern
+	 */
+	public NGPattern getColPattern(int col) {
+		if ((col < 0)  || (col >= cols.length))
+			throw new IllegalArgumentException("col invalid, must be 0 <= col < " + cols.length);
+		return cols[col];
+	}
+
+	/**
+	 * Retrieve the goal (solution)
+	 *
+	 * @return the goal as a string of cell states, row by row, or null if not known
+	 */
+	public String getGoal() {
+		return goal;
+	}
+
+	/**
+	 * Retrieve a metadata value
+	 *
+	 * @param key the metadata key (e.g. "title")
+	 * @return the value, or null if the puzzle has none
+	 */
+	public String getMetadata(String key) {
+		return metadata.get(key);
+	}
+
+	/**
+	 * Retrieve all the metadata, in file order
+	 *
+	 * @return the metadata (unmodifiable)
+	 */
+	public Map<String, String> getMetadata() {
+		return metadata;
+	}
+
+	private final NGPattern[]         rows;
+	private final NGPattern[]         cols;
+	private final String              goal;       // null if not known
+	private final Map<String, String> metadata;
+}
@@ -0,0 +1,71 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class PuzzleDefinitionTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class PuzzleDefinitionTest
+{
+    Nonogram tiny = null;
+
+    /**
+     * Default constructor for test class PuzzleDefinitionTest
+     */
+    public PuzzleDefinitionTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp() throws FileNotFoundException
+    {
+        tiny = new Nonogram(new Scanner(new File("nons/tiny.non")));
+    }
+
+    @Test
+    public void testSharedDefinition() throws IOException {
+        PuzzleDefinition def = PuzzleDefinition.parse(new Scanner(new File("nons/6.non"), "UTF-8"));
+        assertEquals("Scardy Cat", def.getMetadata("title"));
+        assertEquals("CC-BY-3.0", def.getMetadata("license"));
+        assertNull(def.getMetadata("width"));
+        assertThrows(UnsupportedOperationException.class, () -> def.getMetadata().put("title", "x"));
+
+        // games on one definition share its patterns but not their cell states
+        Nonogram first  = new Nonogram(def);
+        Nonogram second = new Nonogram(def);
+        assertSame(def, first.getDefinition());
+        assertSame(first.getDefinition(), second.getDefinition());
+        assertEquals(20, first.getNumRows());
+        first.setState(0, 0, Nonogram.FULL);
+        assertEquals(Nonogram.UNKNOWN, second.getState(0, 0));
+        assertFalse(first.sameStates(second));
+
+        // the other constructors build their own definition
+        assertNotSame(tiny.getDefinition(), new Nonogram(new Scanner(new File("nons/tiny.non"))).getDefinition());
+        assertEquals(tiny.getGoal(), tiny.getDefinition().getGoal());
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
@@ -0,0 +1,121 @@
+package nonogram;
+
+/**
+ * The outcome of counting the solutions of a Nonogram puzzle up to a limit.
+ *
+ * The count stops at the limit (so a count equal to the limit means "at least that
+ * many"), and is UNKNOWN if the time budget ran out before the count was settled.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class SolutionCount {
+	/**
+	 * Constructor
+	 *
+	 * @param count the number of solutions found (0 to limit), or UNKNOWN
+	 * @param limit the limit the count was stopped at
+	 * @param solution the first solution found as a goal string, or null if none was found
+	 * @param nodes the number of search nodes explored
+	 * @param elapsedMillis the time taken in milliseconds
+	 */
+	public SolutionCount(int count, int limit, String solution, long nodes, long elapsedMillis) {
+		if ((count < UNKNOWN) || (count > limit))
+			throw new IllegalArgumentException("count invalid, must be UNKNOWN or 0 <= count <= " + limit);
+		this.count         = count;
+		this.limit         = limit;
+		this.solution      = solution;
+		this.nodes         = nodes;
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/**
+	 * Retrieve the number of solutions found
+	 *
+	 * @return the count (0 to limit), or UNKNOWN if the time budget ran out
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Retrieve the limit the count was stopped at
+	 *
+	 * @return the limit
+	 */
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Did the time budget run out before the count was settled?
+	 *
+	 * @return true if the count is unknown, otherwise false
+	 */
+	public boolean isUnknown() {
+		return count == UNKNOWN;
+	}
+
+	/**
+	 * Does the puzzle have exactly one solution? (Only meaningful for a limit of at least 2.)
+	 *
+	 * @return true if exactly one solution was found and the search finished, otherwise false
+	 */
+	public boolean isUnique() {
+		return (count == 1) && (limit >= 2);
+	}
+
+	/**
+	 * Retrieve the first solution found
+	 *
+	 * @return the solution as a goal string (row by row cell states), or null if none was found
+	 */
+	public String getSolution() {
+		return solution;
+	}
+
+	/**
+	 * Retrieve the number of search nodes explored
+	 *
+	 * @return the number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Retrieve the time taken
+	 *
+	 * @return the time in milliseconds
+	 */
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * String representation of the count (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer("SolutionCount(");
+		sb.append(isUnknown() ? "UNKNOWN" : ("" + count));
+		sb.append(",limit=");
+		sb.append(limit);
+		sb.append(",nodes=");
+		sb.append(nodes);
+		sb.append(",ms=");
+		sb.append(elapsedMillis);
+		sb.append(")");
+		return sb.toString();
+	}
+
+	public static final int UNKNOWN = -1;
+
+	private int    count         = UNKNOWN;
+	private int    limit         = 0;
+	private String solution      = null;
+	private long   nodes         = 0;
+	private long   elapsedMillis = 0;
+}
@@ -0,0 +1,216 @@
+package nonogram;
+
+import java.util.Arrays;
+
+/**
+ * The outcome of running a NonogramSolver: a status, the (possibly partial) grid of
+ * cell states and some statistics on the effort taken.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class SolverResult {
+	/**
+	 * Constructor
+	 *
+	 * @param status the outcome (SOLVED, STUCK, CONTRADICTION or STOPPED)
+	 * @param grid the cell states, indexed [row][col]
+	 * @param lineSolves the number of line solves performed
+	 */
+	public SolverResult(int status, int[][] grid, long lineSolves) {
+		this(status, grid, lineSolves, 0, 0, 0);
+	}
+
+	/**
+	 * Constructor, with search statistics
+	 *
+	 * @param status the outcome (SOLVED, STUCK, CONTRADICTION or STOPPED)
+	 * @param grid the cell states, indexed [row][col]
+	 * @param lineSolves the number of line solves performed
+	 * @param nodes the number of search nodes (guesses) explored
+	 * @param maxDepth the maximum search depth reached
+	 * @param backtracks the number of guesses that were undone
+	 */
+	public SolverResult(int status, int[][] grid, long lineSolves, long nodes, int maxDepth, long backtracks) {
+		if (!isValidStatus(status))
+			throw new IllegalArgumentException("invalid status (" + status + ")");
+		if (grid == null)
+			throw new IllegalArgumentException("grid cannot be null");
+		this.status     = status;
+		this.grid       = new int[grid.length][];
+		for (int row=0; row<grid.length; row++)
+			this.grid[row] = Arrays.copyOf(grid[row], grid[row].length);
+		this.lineSolves = lineSolves;
+		this.nodes      = nodes;
+		this.maxDepth   = maxDepth;
+		this.backtracks = backtracks;
+	}
+
+	/**
+	 * Retrieve the outcome
+	 *
+	 * @return the status (SOLVED, STUCK, CONTRADICTION or STOPPED)
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * Was the puzzle solved?
+	 *
+	 * @return true if every cell was determined, otherwise false
+	 */
+	public boolean isSolved() {
+		return status == SOLVED;
+	}
+
+	/**
+	 * Retrieve the state of an individual cell
+	 *
+	 * @param row the cell row
+	 * @param col the cell column
+	 * @return the cell state (FULL, EMPTY or UNKNOWN)
+	 */
+	public int getState(int row, int col) {
+		return grid[row][col];
+	}
+
+	/**
+	 * Retrieve a copy of the grid of cell states
+	 *
+	 * @return the cell states, indexed [row][col]
+	 */
+	public int[][] getGrid() {
+		int[][] copy = new int[grid.length][];
+		for (int row=0; row<grid.length; row++)
+			copy[row] = Arrays.copyOf(grid[row], grid[row].length);
+		return copy;
+	}
+
+	/**
+	 * Retrieve the number of line solves performed
+	 *
+	 * @return the number of line solves
+	 */
+	public long getLineSolves() {
+		return lineSolves;
+	}
+
+	/**
+	 * Retrieve the number of search nodes (guesses) explored
+	 *
+	 * @return the number of nodes
+	 */
+	public long getNodes() {
+		return nodes;
+	}
+
+	/**
+	 * Retrieve the maximum search depth reached
+	 *
+	 * @return the maximum depth (0 if no guesses were needed)
+	 */
+	public int getMaxDepth() {
+		return maxDepth;
+	}
+
+	/**
+	 * Retrieve the number of guesses that were undone
+	 *
+	 * @return the number of backtracks
+	 */
+	public long getBacktracks() {
+		return backtracks;
+	}
+
+	/**
+	 * Copy the known cells of the result into a puzzle (UNKNOWN cells are left alone)
+	 *
+	 * @param ng the puzzle to update
+	 */
+	public void applyTo(Nonogram ng) {
+		if (ng == null)
+			throw new IllegalArgumentException("ng cannot be null");
+		if ((ng.getNumRows() != grid.length) || (ng.getNumCols() != grid[0].length))
+			throw new IllegalArgumentException("ng size does not match the result");
+		for (int row=0; row<grid.length; row++)
+			for (int col=0; col<grid[row].length; col++)
+				if (grid[row][col] != Nonogram.UNKNOWN)
+					ng.setState(row, col, grid[row][col]);
+	}
+
+	/**
+	 * The grid of cell states as a single string (the form of the goal in a .non file)
+	 *
+	 * @return the cell states, row by row
+	 */
+	public String toGoalString() {
+		StringBuffer sb = new StringBuffer();
+		for (int row=0; row<grid.length; row++)
+			for (int col=0; col<grid[row].length; col++)
+				sb.append(grid[row][col]);
+		return sb.toString();
+	}
+
+	/**
+	 * String representation of the result (useful for debugging)
+	 *
+	 * @return the string representation
+	 */
+	@Override
+	public String toString() {
+		StringBuffer sb = new StringBuffer("SolverResult(");
+		sb.append(statusName(status));
+		sb.append(",lineSolves=");
+		sb.append(lineSolves);
+		sb.append(",nodes=");
+		sb.append(nodes);
+		sb.append(",maxDepth=");
+		sb.append(maxDepth);
+		sb.append(",backtracks=");
+		sb.append(backtracks);
+		sb.append(")");
+		return sb.toString();
+	}
+
+	/**
+	 * Check if an integer is a valid solver status
+	 *
+	 * @param status the integer to check
+	 * @return true if the status is valid, otherwise false
+	 */
+	public static boolean isValidStatus(int status) {
+		return (status == SOLVED) || (status == STUCK) || (status == CONTRADICTION) || (status == STOPPED);
+	}
+
+	/**
+	 * Retrieve a readable name for a solver status
+	 *
+	 * @param status the status
+	 * @return the name of the status
+	 */
+	public static String statusName(int status) {
+		if (status == SOLVED)
+			return "SOLVED";
+		else if (status == STUCK)
+			return "STUCK";
+		else if (status == CONTRADICTION)
+			return "CONTRADICTION";
+		else if (status == STOPPED)
+			return "STOPPED";
+		else
+			return "INVALID";
+	}
+
+	public static final int SOLVED        = 0; // every cell determined
+	public static final int STUCK         = 1; // no further deductions possible
+	public static final int CONTRADICTION = 2; // the clues (and any set cells) have no solution
+	public static final int STOPPED       = 3; // the deadline passed or the work was cancelled
+
+	private int     status     = STUCK;
+	private int[][] grid       = null;
+	private long    lineSolves = 0;
+	private long    nodes      = 0;
+	private int     maxDepth   = 0;
+	private long    backtracks = 0;
+}
@@ -0,0 +1,107 @@
+package nonogram;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size table of grid hashes (see Zobrist) known to lead to no solution, used by
+ * the search to skip a state it has already explored.
+ *
+ * Each hash has one slot, chosen by its low bits, and a new entry simply replaces the
+ * old one, so the table never grows and lookups are a single array read.  Entries are
+ * plain longs: the table can be shared by the tasks of a parallel search without
+ * locking, as a lost or overwritten entry only costs a repeated search.
+ *
+ * The solver mixes a fingerprint of the clues into each hash it stores, so one table
+ * can be shared by searches of different puzzles of the same size.
+ *
+ * Note that one depth-first search never reaches the same state twice (its two branches
+ * differ in the guessed cell), so the table pays off when several searches cover the
+ * same clues: repeated searches by one solver, its copies, or the tasks of a
+ * ParallelSolver.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class TranspositionTable {
+	/**
+	 * Constructor
+	 *
+	 * @param capacity the number of slots (rounded up to a power of two)
+	 */
+	public TranspositionTable(int capacity) {
+		if ((capacity < 1) || (capacity > MAX_CAPACITY))
+			throw new IllegalArgumentException("capacity must be 1 <= capacity <= " + MAX_CAPACITY);
+		int size = Integer.highestOneBit(capacity);
+		if (size < capacity)
+			size <<= 1;
+		this.slots = new long[size];
+		this.mask  = size - 1;
+	}
+
+	/**
+	 * Is a state recorded as leading to no solution?
+	 *
+	 * @param hash the state's key (its hash, mixed with its clues)
+	 * @return true if the state is recorded, otherwise false
+	 */
+	public boolean contains(long hash) {
+		long entry = hash | 1L;   // 0 marks an empty slot
+		if (slots[(int) (hash >>> 1) & mask] == entry) {
+			hits.increment();
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Record a state as leading to no solution
+	 *
+	 * @param hash the state's key (its hash, mixed with its clues)
+	 */
+	public void add(long hash) {
+		slots[(int) (hash >>> 1) & mask] = hash | 1L;
+		stores.increment();
+	}
+
+	/**
+	 * Remove every entry
+	 */
+	public void clear() {
+		Arrays.fill(slots, 0L);
+	}
+
+	/**
+	 * Retrieve the number of slots
+	 *
+	 * @return the capacity
+	 */
+	public int getCapacity() {
+		return slots.length;
+	}
+
+	/**
+	 * Retrieve the number of lookups that found their state
+	 *
+	 * @return the hit count
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Retrieve the number of states recorded
+	 *
+	 * @return the store count
+	 */
+	public long getStores() {
+		return stores.sum();
+	}
+
+	public static final int MAX_CAPACITY = 1 << 28;
+
+	private long[]          slots  = null;
+	private int             mask   = 0;
+	private final LongAdder hits   = new LongAdder();   // counted without locking, as tasks share the table
+	private final LongAdder stores = new LongAdder();
+}
@@ -0,0 +1,100 @@
+package nonogram;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.util.*;
+
+/**
+ * The test class TranspositionTableTest.
+ *
+ * @author  Ayangade Adeoluwa
+ * @version October 2026
+ */
+public class TranspositionTableTest
+{
+    /**
+     * Default constructor for test class TranspositionTableTest
+     */
+    public TranspositionTableTest()
+    {
+    }
+
+    /**
+     * Sets up the test fixture.
+     *
+     * Called before every test case method.
+     */
+    @BeforeEach
+    public void setUp()
+    {
+    }
+
+    @Test
+    public void testTranspositionTableSkipsDeadStates() {
+        Nonogram ng = NonogramBenchmark.randomPuzzle(25, 25, 1);
+        TranspositionTable table = new TranspositionTable(1000);
+        assertEquals(1024, table.getCapacity());
+        NonogramSolver first = new NonogramSolver(ng);
+        first.setTranspositionTable(table);
+        SolutionCount count = first.countSolutions(2, 0);
+        assertEquals(0, first.getTableHits());
+        assertTrue(table.getStores() > 0);
+        NonogramSolver second = new NonogramSolver(ng);
+        second.setTranspositionTable(table);
+        SolutionCount again = second.countSolutions(2, 0);
+        assertEquals(count.getCount(), again.getCount());
+        assertTrue(second.getTableHits() > 0);
+        assertTrue(second.getNodes() < first.getNodes());
+    }
+
+    @Test
+    public void testSharedTableKeepsPuzzlesApart() {
+        // neither puzzle fixes a cell before guessing, so both searches start from the same grid hash
+        Nonogram none = new Nonogram(new Scanner("width 5\nheight 5\nrows\n2\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        Nonogram many = new Nonogram(new Scanner("width 5\nheight 5\nrows\n1\n1\n1\n1\n1\ncolumns\n1\n1\n1\n1\n1\n"));
+        assertEquals(none.getHash(), many.getHash());
+        TranspositionTable table = new TranspositionTable(1024);
+        NonogramSolver first = new NonogramSolver(none);
+        first.setTranspositionTable(table);
+        assertEquals(0, first.countSolutions(2, 0).getCount());
+        assertTrue(table.getStores() > 0);
+        NonogramSolver second = new NonogramSolver(many);
+        second.setTranspositionTable(table);
+        assertEquals(2, second.countSolutions(2, 0).getCount());
+        assertEquals(0, second.getTableHits());
+    }
+
+    @Test
+    public void testCountersAreExactWhenShared() throws InterruptedException {
+        TranspositionTable table = new TranspositionTable(1024);
+        Thread[] threads = new Thread[4];
+        for (int t=0; t<threads.length; t++) {
+            long base = t * 100000L;
+            threads[t] = new Thread(() -> {
+                for (long i=0; i<10000; i++) {
+                    table.add((base + i) << 1);
+                    table.contains((base + i) << 1);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(40000, table.getStores());
+        assertTrue(table.getHits() <= 40000);
+    }
+
+    /**
+     * Tears down the test fixture.
+     *
+     * Called after every test case method.
+     */
+    @AfterEach
+    public void tearDown()
+    {
+    }
+}
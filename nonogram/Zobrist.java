@@ -0,0 +1,53 @@
+package nonogram;
+
+/**
+ * Zobrist keys for hashing the cell states of a Nonogram grid.
+ *
+ * The hash of a grid is the exclusive or of key(cell, state) over its FULL and EMPTY
+ * cells (UNKNOWN cells contribute nothing, so a blank grid hashes to 0).  Changing one
+ * cell changes the hash by the exclusive or of the old key and the new one, so a hash
+ * can be kept up to date in constant time per change.
+ *
+ * The keys are not held in a table: each is a SplitMix64 mix of the cell index and
+ * state, which is as good as a random table and costs no memory however large the grid.
+ *
+ * @author Ayangade Adeoluwa
+ * @version October 2026
+ */
+public final class Zobrist {
+	/**
+	 * No instances, static methods only
+	 */
+	private Zobrist() {
+	}
+
+	/**
+	 * Retrieve the key of a cell in a state
+	 *
+	 * @param cell the cell index (row major)
+	 * @param state the cell state (FULL, EMPTY or UNKNOWN)
+	 * @return the key (0 for UNKNOWN)
+	 */
+	public static long key(int cell, int state) {
+		if (state == Nonogram.UNKNOWN)
+			return 0L;
+		long z = SEED + (2L*cell + state + 1) * 0x9e3779b97f4a7c15L;
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Retrieve the change to a hash when a cell changes state
+	 *
+	 * @param cell the cell index (row major)
+	 * @param from the old state
+	 * @param to the new state
+	 * @return the value to exclusive or into the hash
+	 */
+	public static long change(int cell, int from, int to) {
+		return key(cell, from) ^ key(cell, to);
+	}
+
+	private static final long SEED = 0x5deece66dL;
+}